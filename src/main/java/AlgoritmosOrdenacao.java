@@ -1,5 +1,15 @@
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+import java.util.stream.IntStream;
+
 public class AlgoritmosOrdenacao {
 
+    // abaixo destes tamanhos as tarefas paralelas caem para a versão sequencial
+    static final int LIMIAR_SEQUENCIAL_SORT = 1 << 13;
+    static final int LIMIAR_SEQUENCIAL_MERGE = 1 << 14;
+    static final int LIMIAR_CONTAGEM_PARALELA = 1 << 18;
+
     // ---------- MERGE SORT ----------
     public static void mergeSort(Registro[] arr) {
         if (arr.length <= 1) return;
@@ -39,69 +49,542 @@ public class AlgoritmosOrdenacao {
         // Se j até fim já estiverem no lugar, não precisa copiar
     }
 
+    // ---------- MERGE SORT PARALELO ----------
+    // Mesma ordenação (estável) do mergeSort, usando todos os núcleos do pool comum.
+    public static void mergeSortParalelo(Registro[] arr) {
+        mergeSortParalelo(arr, ForkJoinPool.commonPool());
+    }
+
+    public static void mergeSortParalelo(Registro[] arr, int paralelismo) {
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            mergeSortParalelo(arr, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static void mergeSortParalelo(Registro[] arr, ForkJoinPool pool) {
+        if (arr.length <= 1) return;
+        // aux começa como cópia de arr: cada nível ordena de um vetor para o outro
+        // (ping-pong), então não é preciso copiar de volta antes de cada intercalação
+        Registro[] aux = arr.clone();
+        pool.invoke(new TarefaMergeSort(aux, arr, 0, arr.length - 1));
+    }
+
+    // Ordena origem[inicio..fim] deixando o resultado em destino[inicio..fim].
+    // Pré-condição: os dois vetores têm o mesmo conteúdo nesse intervalo.
+    @SuppressWarnings("serial") // tarefa de ForkJoin, nunca serializada
+    private static final class TarefaMergeSort extends RecursiveAction {
+        private final Registro[] origem, destino;
+        private final int inicio, fim;
+
+        TarefaMergeSort(Registro[] origem, Registro[] destino, int inicio, int fim) {
+            this.origem = origem;
+            this.destino = destino;
+            this.inicio = inicio;
+            this.fim = fim;
+        }
+
+        @Override
+        protected void compute() {
+            if (fim - inicio < LIMIAR_SEQUENCIAL_SORT) {
+                // o trecho de origem vira o aux da versão sequencial
+                mergeSortRec(destino, origem, inicio, fim);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            // as metades são ordenadas para dentro de origem e intercaladas em destino
+            invokeAll(new TarefaMergeSort(destino, origem, inicio, meio),
+                    new TarefaMergeSort(destino, origem, meio + 1, fim));
+            new TarefaIntercalar(origem, destino, inicio, meio, meio + 1, fim, inicio).compute();
+        }
+    }
+
+    // Intercala origem[iniA..fimA] e origem[iniB..fimB] em destino a partir de inicioDestino.
+    // Divide pelo elemento do meio da maior sequência e acha o corte na outra por
+    // busca binária; empates sempre ficam do lado de A, preservando a estabilidade.
+    @SuppressWarnings("serial") // tarefa de ForkJoin, nunca serializada
+    private static final class TarefaIntercalar extends RecursiveAction {
+        private final Registro[] origem, destino;
+        private final int iniA, fimA, iniB, fimB, inicioDestino;
+
+        TarefaIntercalar(Registro[] origem, Registro[] destino,
+                         int iniA, int fimA, int iniB, int fimB, int inicioDestino) {
+            this.origem = origem;
+            this.destino = destino;
+            this.iniA = iniA;
+            this.fimA = fimA;
+            this.iniB = iniB;
+            this.fimB = fimB;
+            this.inicioDestino = inicioDestino;
+        }
+
+        @Override
+        protected void compute() {
+            int tamA = fimA - iniA + 1;
+            int tamB = fimB - iniB + 1;
+            if (tamA + tamB <= LIMIAR_SEQUENCIAL_MERGE) {
+                intercalarSequencial(origem, destino, iniA, fimA, iniB, fimB, inicioDestino);
+                return;
+            }
+            int corteA, corteB;
+            if (tamA >= tamB) {
+                corteA = (iniA + fimA) >>> 1;
+                // elementos de B estritamente menores que o pivô vão para a esquerda
+                corteB = primeiroNaoMenor(origem, iniB, fimB + 1, origem[corteA]);
+            } else {
+                corteB = (iniB + fimB) >>> 1;
+                // elementos de A menores ou iguais ao pivô vão para a esquerda
+                corteA = primeiroMaior(origem, iniA, fimA + 1, origem[corteB]);
+            }
+            int meioDestino = inicioDestino + (corteA - iniA) + (corteB - iniB);
+            invokeAll(new TarefaIntercalar(origem, destino, iniA, corteA - 1, iniB, corteB - 1, inicioDestino),
+                    new TarefaIntercalar(origem, destino, corteA, fimA, corteB, fimB, meioDestino));
+        }
+    }
+
+    private static void intercalarSequencial(Registro[] origem, Registro[] destino,
+                                             int i, int fimA, int j, int fimB, int k) {
+        while (i <= fimA && j <= fimB) {
+            if (Registro.compararPorPrioridade(origem[i], origem[j]) <= 0) {
+                destino[k++] = origem[i++];
+            } else {
+                destino[k++] = origem[j++];
+            }
+        }
+        if (i <= fimA) System.arraycopy(origem, i, destino, k, fimA - i + 1);
+        if (j <= fimB) System.arraycopy(origem, j, destino, k, fimB - j + 1);
+    }
+
+    // primeiro índice em [de, ate) cujo elemento não é menor que o pivô
+    private static int primeiroNaoMenor(Registro[] arr, int de, int ate, Registro pivo) {
+        while (de < ate) {
+            int meio = (de + ate) >>> 1;
+            if (Registro.compararPorPrioridade(arr[meio], pivo) < 0) de = meio + 1;
+            else ate = meio;
+        }
+        return de;
+    }
+
+    // primeiro índice em [de, ate) cujo elemento é maior que o pivô
+    private static int primeiroMaior(Registro[] arr, int de, int ate, Registro pivo) {
+        while (de < ate) {
+            int meio = (de + ate) >>> 1;
+            if (Registro.compararPorPrioridade(arr[meio], pivo) <= 0) de = meio + 1;
+            else ate = meio;
+        }
+        return de;
+    }
+
     // ---------- QUICK SORT ----------
+    // Introsort: partição em três vias (menores | iguais ao pivô | maiores), pivô por
+    // mediana de três ou ninther, insertion sort nos trechos pequenos e heap sort
+    // quando a recursão passa de 2*log2(n) níveis. Com prioridade só de 1 a 5 os
+    // blocos de iguais saem inteiros de uma vez e a recursão fica rasa.
+    static final int LIMIAR_INSERCAO = 16;
+    static final int LIMIAR_NINTHER = 128;
+
     public static void quickSort(Registro[] arr) {
-        quickSortRec(arr, 0, arr.length - 1);
+        if (arr.length <= 1) return;
+        int limiteProfundidade = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        quickSortRec(arr, 0, arr.length - 1, limiteProfundidade);
+    }
+
+    private static void quickSortRec(Registro[] arr, int inicio, int fim, int profundidade) {
+        while (fim - inicio >= LIMIAR_INSERCAO) {
+            if (profundidade-- == 0) {
+                heapSort(arr, inicio, fim);
+                return;
+            }
+            Registro pivot = arr[escolherPivo(arr, inicio, fim)];
+
+            // Dijkstra: arr[inicio..lt-1] < pivot, arr[lt..i-1] == pivot, arr[gt+1..fim] > pivot
+            int lt = inicio, i = inicio, gt = fim;
+            while (i <= gt) {
+                int c = Registro.compararPorPrioridade(arr[i], pivot);
+                if (c < 0) {
+                    trocar(arr, lt++, i++);
+                } else if (c > 0) {
+                    trocar(arr, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            // recursão no lado menor e laço no maior: pilha limitada a O(log n)
+            if (lt - inicio < fim - gt) {
+                quickSortRec(arr, inicio, lt - 1, profundidade);
+                inicio = gt + 1;
+            } else {
+                quickSortRec(arr, gt + 1, fim, profundidade);
+                fim = lt - 1;
+            }
+        }
+        insertionSort(arr, inicio, fim);
     }
 
-    private static void quickSortRec(Registro[] arr, int inicio, int fim) {
-        if (inicio < fim) {
-            int p = particiona(arr, inicio, fim);
-            quickSortRec(arr, inicio, p - 1);
-            quickSortRec(arr, p + 1, fim);
+    private static int escolherPivo(Registro[] arr, int inicio, int fim) {
+        int meio = (inicio + fim) >>> 1;
+        if (fim - inicio < LIMIAR_NINTHER) {
+            return medianaDeTres(arr, inicio, meio, fim);
         }
+        // ninther de Tukey: mediana das medianas de três trios espalhados
+        int passo = (fim - inicio) / 8;
+        int a = medianaDeTres(arr, inicio, inicio + passo, inicio + 2 * passo);
+        int b = medianaDeTres(arr, meio - passo, meio, meio + passo);
+        int c = medianaDeTres(arr, fim - 2 * passo, fim - passo, fim);
+        return medianaDeTres(arr, a, b, c);
     }
 
-    private static int particiona(Registro[] arr, int inicio, int fim) {
-        Registro pivot = arr[fim];
-        int i = inicio - 1;
+    private static int medianaDeTres(Registro[] arr, int a, int b, int c) {
+        if (Registro.compararPorPrioridade(arr[a], arr[b]) < 0) {
+            if (Registro.compararPorPrioridade(arr[b], arr[c]) < 0) return b;
+            return Registro.compararPorPrioridade(arr[a], arr[c]) < 0 ? c : a;
+        }
+        if (Registro.compararPorPrioridade(arr[a], arr[c]) < 0) return a;
+        return Registro.compararPorPrioridade(arr[b], arr[c]) < 0 ? c : b;
+    }
 
-        for (int j = inicio; j < fim; j++) {
-            if (Registro.compararPorPrioridade(arr[j], pivot) <= 0) {
-                i++;
-                trocar(arr, i, j);
+    private static void insertionSort(Registro[] arr, int inicio, int fim) {
+        for (int i = inicio + 1; i <= fim; i++) {
+            Registro atual = arr[i];
+            int j = i - 1;
+            while (j >= inicio && Registro.compararPorPrioridade(arr[j], atual) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
             }
+            arr[j + 1] = atual;
         }
-        trocar(arr, i + 1, fim);
-        return i + 1;
     }
 
     // ---------- HEAP SORT ----------
     public static void heapSort(Registro[] arr) {
-        int n = arr.length;
+        heapSort(arr, 0, arr.length - 1);
+    }
+
+    // Ordena só arr[inicio..fim]; o heap usa índices relativos a inicio.
+    private static void heapSort(Registro[] arr, int inicio, int fim) {
+        int n = fim - inicio + 1;
 
         // Constroi o heap (max-heap, mas vamos inverter a comparação)
         for (int i = n / 2 - 1; i >= 0; i--) {
-            heapify(arr, n, i);
+            heapify(arr, inicio, n, i);
         }
 
         // Extrai um por um do heap
         for (int i = n - 1; i >= 0; i--) {
-            trocar(arr, 0, i);
-            heapify(arr, i, 0);
+            trocar(arr, inicio, inicio + i);
+            heapify(arr, inicio, i, 0);
         }
     }
 
-    private static void heapify(Registro[] arr, int n, int i) {
+    private static void heapify(Registro[] arr, int base, int n, int i) {
         int maior = i;
         int esq = 2 * i + 1;
         int dir = 2 * i + 2;
 
         // Para ordenar em ordem CRESCENTE de prioridade,
         // o heap deve ser max-heap baseado na prioridade:
-        if (esq < n && Registro.compararPorPrioridade(arr[esq], arr[maior]) > 0) {
+        if (esq < n && Registro.compararPorPrioridade(arr[base + esq], arr[base + maior]) > 0) {
             maior = esq;
         }
-        if (dir < n && Registro.compararPorPrioridade(arr[dir], arr[maior]) > 0) {
+        if (dir < n && Registro.compararPorPrioridade(arr[base + dir], arr[base + maior]) > 0) {
             maior = dir;
         }
 
         if (maior != i) {
-            trocar(arr, i, maior);
-            heapify(arr, n, maior);
+            trocar(arr, base + i, base + maior);
+            heapify(arr, base, n, maior);
         }
     }
 
+    // ---------- COUNTING SORT ----------
+    // Ordenação estável em O(n + k) para chaves inteiras em [min, max]. Não compara
+    // elementos, então para prioridade (1..5) é bem mais rápida que os O(n log n).
+    public static void countingSortPorPrioridade(Registro[] arr) {
+        countingSort(arr, r -> r.prioridade, 1, 5);
+    }
+
+    public static void countingSort(Registro[] arr, ToIntFunction<Registro> chave, int min, int max) {
+        if (max < min) throw new IllegalArgumentException("Faixa inválida: [" + min + ", " + max + "]");
+        long faixa = (long) max - min + 1;
+        if (faixa > Integer.MAX_VALUE - 8) throw new IllegalArgumentException("Faixa de chaves grande demais: " + faixa);
+        if (arr.length <= 1) return;
+        int blocos = blocosContagem(arr.length);
+        // um histograma de 'faixa' posições por bloco: só compensa se eles juntos não
+        // forem maiores que o próprio vetor
+        if (blocos > 1 && (long) blocos * faixa <= arr.length) {
+            countingSortParalelo(arr, chave, min, (int) faixa, blocos);
+        } else {
+            countingSortSequencial(arr, chave, min, (int) faixa);
+        }
+    }
+
+    private static void countingSortSequencial(Registro[] arr, ToIntFunction<Registro> chave, int min, int faixa) {
+        int[] posicoes = new int[faixa + 1];
+        for (Registro r : arr) {
+            posicoes[indiceChave(chave, r, min, faixa) + 1]++;
+        }
+        for (int v = 0; v < faixa; v++) {
+            posicoes[v + 1] += posicoes[v];
+        }
+        Registro[] aux = new Registro[arr.length];
+        for (Registro r : arr) {
+            aux[posicoes[chave.applyAsInt(r) - min]++] = r;
+        }
+        System.arraycopy(aux, 0, arr, 0, arr.length);
+    }
+
+    // quantos blocos contam em paralelo (1: sequencial)
+    private static int blocosContagem(int n) {
+        if (n < LIMIAR_CONTAGEM_PARALELA || ForkJoinPool.getCommonPoolParallelism() < 2) return 1;
+        return Math.min(ForkJoinPool.getCommonPoolParallelism() * 4, n / (LIMIAR_CONTAGEM_PARALELA / 4));
+    }
+
+    // Cada bloco conta o próprio histograma em paralelo; a soma de prefixos percorre
+    // (chave, bloco) nessa ordem, então dentro de uma chave os blocos anteriores
+    // escrevem primeiro e a estabilidade é mantida na distribuição paralela.
+    private static void countingSortParalelo(Registro[] arr, ToIntFunction<Registro> chave, int min, int faixa,
+                                             int blocos) {
+        int n = arr.length;
+        int tamBloco = (n + blocos - 1) / blocos;
+        int[][] histogramas = new int[blocos][];
+
+        IntStream.range(0, blocos).parallel().forEach(b -> {
+            int[] h = new int[faixa];
+            for (int i = b * tamBloco, fim = Math.min(n, i + tamBloco); i < fim; i++) {
+                h[indiceChave(chave, arr[i], min, faixa)]++;
+            }
+            histogramas[b] = h;
+        });
+
+        prefixoContagem(histogramas, faixa, blocos);
+
+        Registro[] aux = new Registro[n];
+        IntStream.range(0, blocos).parallel().forEach(b -> {
+            int[] posicoes = histogramas[b];
+            for (int i = b * tamBloco, fim = Math.min(n, i + tamBloco); i < fim; i++) {
+                Registro r = arr[i];
+                aux[posicoes[chave.applyAsInt(r) - min]++] = r;
+            }
+        });
+        IntStream.range(0, blocos).parallel().forEach(b -> {
+            int inicio = b * tamBloco;
+            if (inicio < n) System.arraycopy(aux, inicio, arr, inicio, Math.min(tamBloco, n - inicio));
+        });
+    }
+
+    // Soma de prefixos na ordem (chave, bloco). Poucas chaves (prioridade 1..5): um
+    // laço simples. Muitas: a faixa é cortada em trechos; cada trecho soma seu total
+    // em paralelo, os totais viram deslocamentos (um por trecho, sequencial) e cada
+    // trecho escreve as próprias posições em paralelo a partir do seu deslocamento.
+    private static void prefixoContagem(int[][] histogramas, int faixa, int blocos) {
+        int trechos = Math.min(ForkJoinPool.getCommonPoolParallelism() * 4,
+                (int) ((long) faixa * blocos / LIMIAR_SEQUENCIAL_SORT));
+        if (trechos < 2) {
+            prefixoContagem(histogramas, 0, faixa, blocos, 0);
+            return;
+        }
+        int tamTrecho = (faixa + trechos - 1) / trechos;
+        int[] inicioTrecho = new int[trechos];
+        IntStream.range(0, trechos).parallel().forEach(t -> {
+            int soma = 0;
+            for (int v = t * tamTrecho, fim = Math.min(faixa, v + tamTrecho); v < fim; v++) {
+                for (int b = 0; b < blocos; b++) soma += histogramas[b][v];
+            }
+            inicioTrecho[t] = soma;
+        });
+        int acumulado = 0;
+        for (int t = 0; t < trechos; t++) {
+            int qtd = inicioTrecho[t];
+            inicioTrecho[t] = acumulado;
+            acumulado += qtd;
+        }
+        IntStream.range(0, trechos).parallel().forEach(t -> {
+            int de = Math.min(faixa, t * tamTrecho);
+            prefixoContagem(histogramas, de, Math.min(faixa, de + tamTrecho), blocos, inicioTrecho[t]);
+        });
+    }
+
+    private static void prefixoContagem(int[][] histogramas, int de, int ate, int blocos, int acumulado) {
+        for (int v = de; v < ate; v++) {
+            for (int b = 0; b < blocos; b++) {
+                int qtd = histogramas[b][v];
+                histogramas[b][v] = acumulado;
+                acumulado += qtd;
+            }
+        }
+    }
+
+    private static int indiceChave(ToIntFunction<Registro> chave, Registro r, int min, int faixa) {
+        long k = (long) chave.applyAsInt(r) - min;
+        if (k < 0 || k >= faixa) {
+            throw new IllegalArgumentException("Chave fora da faixa no registro id=" + r.id + ": " + (k + min));
+        }
+        return (int) k;
+    }
+
+    // ---------- ORDENAÇÃO POR ESPECIFICAÇÃO ----------
+    // Mesmos motores, mas ordenando por qualquer combinação de campos. As chaves são
+    // extraídas uma vez por registro; os laços ordenam índices comparando só long
+    // (EspecificacaoOrdenacao.Chaves) e no final os registros são reposicionados.
+    public static void mergeSort(Registro[] arr, EspecificacaoOrdenacao spec) {
+        if (arr.length <= 1) return;
+        EspecificacaoOrdenacao.Chaves chaves = spec.extrair(arr);
+        int[] idx = identidade(arr.length);
+        mergeSortIdx(idx, new int[idx.length], 0, idx.length - 1, chaves);
+        aplicarPermutacao(arr, idx);
+    }
+
+    public static void quickSort(Registro[] arr, EspecificacaoOrdenacao spec) {
+        if (arr.length <= 1) return;
+        EspecificacaoOrdenacao.Chaves chaves = spec.extrair(arr);
+        int[] idx = identidade(arr.length);
+        int limiteProfundidade = 2 * (31 - Integer.numberOfLeadingZeros(arr.length));
+        quickSortIdx(idx, 0, idx.length - 1, limiteProfundidade, chaves);
+        aplicarPermutacao(arr, idx);
+    }
+
+    public static void heapSort(Registro[] arr, EspecificacaoOrdenacao spec) {
+        if (arr.length <= 1) return;
+        EspecificacaoOrdenacao.Chaves chaves = spec.extrair(arr);
+        int[] idx = identidade(arr.length);
+        heapSortIdx(idx, 0, idx.length - 1, chaves);
+        aplicarPermutacao(arr, idx);
+    }
+
+    // Só a permutação estável (merge sort de índices), para quem guarda os registros
+    // em outra forma (ex: RegistrosCompactos) e não tem um Registro[] para reposicionar
+    public static int[] mergeSortIndices(EspecificacaoOrdenacao.Chaves chaves) {
+        int[] idx = identidade(chaves.tamanho());
+        if (idx.length > 1) mergeSortIdx(idx, new int[idx.length], 0, idx.length - 1, chaves);
+        return idx;
+    }
+
+    private static void mergeSortIdx(int[] idx, int[] aux, int inicio, int fim,
+                                     EspecificacaoOrdenacao.Chaves chaves) {
+        if (fim - inicio < LIMIAR_INSERCAO) {
+            insertionSortIdx(idx, inicio, fim, chaves);
+            return;
+        }
+        int meio = (inicio + fim) >>> 1;
+        mergeSortIdx(idx, aux, inicio, meio, chaves);
+        mergeSortIdx(idx, aux, meio + 1, fim, chaves);
+        // metades já em ordem: nada a intercalar
+        if (chaves.comparar(idx[meio], idx[meio + 1]) <= 0) return;
+
+        System.arraycopy(idx, inicio, aux, inicio, fim - inicio + 1);
+        int i = inicio, j = meio + 1, k = inicio;
+        while (i <= meio && j <= fim) {
+            if (chaves.comparar(aux[i], aux[j]) <= 0) {
+                idx[k++] = aux[i++];
+            } else {
+                idx[k++] = aux[j++];
+            }
+        }
+        while (i <= meio) {
+            idx[k++] = aux[i++];
+        }
+    }
+
+    private static void quickSortIdx(int[] idx, int inicio, int fim, int profundidade,
+                                     EspecificacaoOrdenacao.Chaves chaves) {
+        while (fim - inicio >= LIMIAR_INSERCAO) {
+            if (profundidade-- == 0) {
+                heapSortIdx(idx, inicio, fim, chaves);
+                return;
+            }
+            int meio = (inicio + fim) >>> 1;
+            int pivot = idx[medianaDeTresIdx(idx, inicio, meio, fim, chaves)];
+
+            int lt = inicio, i = inicio, gt = fim;
+            while (i <= gt) {
+                int c = chaves.comparar(idx[i], pivot);
+                if (c < 0) {
+                    trocar(idx, lt++, i++);
+                } else if (c > 0) {
+                    trocar(idx, i, gt--);
+                } else {
+                    i++;
+                }
+            }
+
+            if (lt - inicio < fim - gt) {
+                quickSortIdx(idx, inicio, lt - 1, profundidade, chaves);
+                inicio = gt + 1;
+            } else {
+                quickSortIdx(idx, gt + 1, fim, profundidade, chaves);
+                fim = lt - 1;
+            }
+        }
+        insertionSortIdx(idx, inicio, fim, chaves);
+    }
+
+    private static int medianaDeTresIdx(int[] idx, int a, int b, int c, EspecificacaoOrdenacao.Chaves chaves) {
+        if (chaves.comparar(idx[a], idx[b]) < 0) {
+            if (chaves.comparar(idx[b], idx[c]) < 0) return b;
+            return chaves.comparar(idx[a], idx[c]) < 0 ? c : a;
+        }
+        if (chaves.comparar(idx[a], idx[c]) < 0) return a;
+        return chaves.comparar(idx[b], idx[c]) < 0 ? c : b;
+    }
+
+    private static void heapSortIdx(int[] idx, int inicio, int fim, EspecificacaoOrdenacao.Chaves chaves) {
+        int n = fim - inicio + 1;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            descerIdx(idx, inicio, n, i, chaves);
+        }
+        for (int i = n - 1; i > 0; i--) {
+            trocar(idx, inicio, inicio + i);
+            descerIdx(idx, inicio, i, 0, chaves);
+        }
+    }
+
+    // sift-down iterativo do max-heap guardado em idx[base..base+n-1]
+    private static void descerIdx(int[] idx, int base, int n, int i, EspecificacaoOrdenacao.Chaves chaves) {
+        int valor = idx[base + i];
+        int filho;
+        while ((filho = 2 * i + 1) < n) {
+            if (filho + 1 < n && chaves.comparar(idx[base + filho + 1], idx[base + filho]) > 0) filho++;
+            if (chaves.comparar(idx[base + filho], valor) <= 0) break;
+            idx[base + i] = idx[base + filho];
+            i = filho;
+        }
+        idx[base + i] = valor;
+    }
+
+    private static void insertionSortIdx(int[] idx, int inicio, int fim, EspecificacaoOrdenacao.Chaves chaves) {
+        for (int i = inicio + 1; i <= fim; i++) {
+            int atual = idx[i];
+            int j = i - 1;
+            while (j >= inicio && chaves.comparar(idx[j], atual) > 0) {
+                idx[j + 1] = idx[j];
+                j--;
+            }
+            idx[j + 1] = atual;
+        }
+    }
+
+    private static int[] identidade(int n) {
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        return idx;
+    }
+
+    private static void aplicarPermutacao(Registro[] arr, int[] idx) {
+        Registro[] original = arr.clone();
+        for (int i = 0; i < idx.length; i++) {
+            arr[i] = original[idx[i]];
+        }
+    }
+
+    private static void trocar(int[] arr, int i, int j) {
+        int temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+
     private static void trocar(Registro[] arr, int i, int j) {
         Registro temp = arr[i];
         arr[i] = arr[j];
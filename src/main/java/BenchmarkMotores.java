@@ -0,0 +1,940 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Micro-benchmarks dos motores de ordenação sobre dados sintéticos (reprodutíveis).
+// Uso: java BenchmarkMotores <suite> [tamanhos separados por vírgula, ex: 1K,1M,10M]
+public class BenchmarkMotores {
+
+    static final int AQUECIMENTO = 3;
+    static final int REPETICOES = 5;
+    static final long SEMENTE = 42L;
+
+    // perfil de entrada da rodada atual (--perfis=... repete a suite para cada um)
+    static PerfilDistribuicao perfil = PerfilDistribuicao.UNIFORME;
+    // true quando os perfis vêm da linha de comando (as suites não varrem por conta própria)
+    static boolean varrendoPerfis;
+
+    public static void main(String[] args) {
+        List<String> posicionais = new ArrayList<>();
+        String listaPerfis = null;
+        for (String a : args) {
+            if (a.startsWith("--perfis=")) listaPerfis = a.substring("--perfis=".length());
+            else posicionais.add(a);
+        }
+        args = posicionais.toArray(new String[0]);
+        String suite = args.length > 0 ? args[0] : "radix";
+        int[] tamanhos = args.length > 1 ? lerTamanhos(args[1]) : new int[]{1_000_000, 10_000_000};
+
+        // a suite "perfis" existe para varrer as distribuições: todas, se nada for pedido
+        PerfilDistribuicao[] perfis;
+        try {
+            perfis = listaPerfis != null ? PerfilDistribuicao.lerLista(listaPerfis)
+                    : suite.equals("perfis") ? PerfilDistribuicao.values()
+                    : new PerfilDistribuicao[]{PerfilDistribuicao.UNIFORME};
+        } catch (IllegalArgumentException e) {
+            System.err.println("✗ " + e.getMessage());
+            return;
+        }
+        varrendoPerfis = listaPerfis != null;
+        for (PerfilDistribuicao p : perfis) {
+            perfil = p;
+            if (perfis.length > 1) System.out.println("\n▶ Perfil de entrada: " + p + "\n");
+            if (!executar(suite, args, tamanhos)) return;
+        }
+    }
+
+    static boolean executar(String suite, String[] args, int[] tamanhos) {
+        switch (suite) {
+            case "radix":
+                benchmarkRadix(tamanhos);
+                break;
+            case "chave":
+                benchmarkChaveComposta(tamanhos);
+                break;
+            case "multichave":
+                benchmarkMultiChave(tamanhos);
+                break;
+            case "merge":
+                benchmarkMergeAdaptativo(tamanhos);
+                break;
+            case "topk":
+                benchmarkTopK(tamanhos, args.length > 2 ? Integer.parseInt(args[2]) : 100);
+                break;
+            case "amostra":
+                benchmarkSampleSort(tamanhos);
+                break;
+            case "simd":
+                benchmarkVetorial(args.length > 1 ? tamanhos : new int[]{1_000, 100_000, 10_000_000});
+                break;
+            case "foraheap":
+                benchmarkForaDoHeap(tamanhos);
+                break;
+            case "fila":
+                benchmarkFila(args.length > 1 ? tamanhos : new int[]{1_000_000});
+                break;
+            case "incremental":
+                benchmarkIncremental(tamanhos);
+                break;
+            case "csv":
+                benchmarkLeituraCSV(args.length > 1 ? tamanhos : new int[]{1_000_000});
+                break;
+            case "pipeline":
+                benchmarkPipeline(args.length > 1 ? tamanhos : new int[]{1_000_000});
+                break;
+            case "compacto":
+                benchmarkCompacto(args.length > 1 ? tamanhos : new int[]{1_000_000});
+                break;
+            case "perfis":
+                benchmarkPerfis(args.length > 1 ? tamanhos : new int[]{10_000, 1_000_000});
+                break;
+            case "gerar":
+                benchmarkGeracao(args.length > 1 ? tamanhos : new int[]{10_000_000});
+                break;
+            case "heap":
+                benchmarkHeap(args.length > 1 ? tamanhos : new int[]{1_000, 100_000, 10_000_000});
+                break;
+            default:
+                System.err.println("✗ Suite desconhecida: " + suite);
+                System.err.println("  Disponíveis: radix, chave, multichave, merge, heap, topk, amostra, simd, foraheap, fila, incremental, csv, pipeline, compacto, gerar, perfis");
+                System.err.println("  Perfis (--perfis=a,b ou --perfis=todos): " + PerfilDistribuicao.nomes());
+                return false;
+        }
+        return true;
+    }
+
+    // ========== SUITES ==========
+
+    static void benchmarkRadix(int[] tamanhos) {
+        cabecalho("RADIX SORT LSD x Arrays.sort (entrada " + perfil + ")");
+        for (int n : tamanhos) {
+            int[] inteiros = entrada(n);
+            System.out.println("\nint[] com " + n + " elementos (32 bits, " + perfil + "):");
+            medir("Java Arrays.sort", inteiros, Arrays::sort);
+            medir("Radix Sort LSD (8 bits)", inteiros, new RadixSort(8)::ordenar);
+            medir("Radix Sort LSD (11 bits)", inteiros, new RadixSort(11)::ordenar);
+            medir("Radix Sort LSD (16 bits)", inteiros, new RadixSort(16)::ordenar);
+
+            long[] longos = entradaLong(n);
+            System.out.println("\nlong[] com " + n + " elementos (64 bits, " + perfil + "):");
+            medirLong("Java Arrays.sort", longos, Arrays::sort);
+            medirLong("Radix Sort LSD (8 bits)", longos, new RadixSort(8)::ordenar);
+            medirLong("Radix Sort LSD (11 bits)", longos, new RadixSort(11)::ordenar);
+            medirLong("Radix Sort LSD (16 bits)", longos, new RadixSort(16)::ordenar);
+        }
+    }
+
+    static void benchmarkChaveComposta(int[] tamanhos) {
+        cabecalho("ORDENAÇÃO POR (prioridade, data, id)");
+        Comparator<Registro> encadeado = Comparator
+                .comparingInt((Registro r) -> r.prioridade)
+                .thenComparing(r -> r.data)
+                .thenComparingInt(r -> r.id);
+        for (int n : tamanhos) {
+            Registro[] registros = gerarRegistros(n, SEMENTE);
+            System.out.println("\n" + n + " registros:");
+            Registro[][] resultado = new Registro[2][];
+            medirRegistros("Comparator encadeado (TimSort)", registros, arr -> {
+                Arrays.sort(arr, encadeado);
+                resultado[0] = arr;
+            });
+            medirRegistros("Chave composta long + radix", registros, arr -> {
+                resultado[1] = ChaveComposta.ordenar(arr);
+            });
+            System.out.println("  Mesma ordem? " + (Arrays.equals(resultado[0], resultado[1]) ? "SIM" : "NÃO"));
+        }
+    }
+
+    static void benchmarkMultiChave(int[] tamanhos) {
+        EspecificacaoOrdenacao spec = EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                .depoisPorDecrescente(EspecificacaoOrdenacao.Campo.DATA)
+                .depoisPor(EspecificacaoOrdenacao.Campo.NOME);
+        cabecalho("ORDENAÇÃO POR (" + spec + ")");
+        Comparator<Registro> comparador = spec.comparador();
+        for (int n : tamanhos) {
+            Registro[] registros = gerarRegistros(n, SEMENTE);
+            System.out.println("\n" + n + " registros:");
+            Registro[][] resultado = new Registro[2][];
+            medirRegistros("Comparator (chave por comparação)", registros, arr -> {
+                Arrays.sort(arr, comparador);
+                resultado[0] = arr;
+            });
+            medirRegistros("Merge Sort (chaves precomputadas)", registros, arr -> {
+                AlgoritmosOrdenacao.mergeSort(arr, spec);
+                resultado[1] = arr;
+            });
+            System.out.println("  Mesma ordem? " + (Arrays.equals(resultado[0], resultado[1]) ? "SIM" : "NÃO"));
+            medirRegistros("Quick Sort (chaves precomputadas)", registros, arr -> AlgoritmosOrdenacao.quickSort(arr, spec));
+            medirRegistros("Heap Sort (chaves precomputadas)", registros, arr -> AlgoritmosOrdenacao.heapSort(arr, spec));
+        }
+    }
+
+    static void benchmarkMergeAdaptativo(int[] tamanhos) {
+        cabecalho("MERGE SORT ADAPTATIVO x RECURSIVO");
+        for (int n : tamanhos) {
+            PerfilDistribuicao[] perfis = varrendoPerfis ? new PerfilDistribuicao[]{perfil}
+                    : new PerfilDistribuicao[]{PerfilDistribuicao.UNIFORME, PerfilDistribuicao.ORDENADO,
+                    PerfilDistribuicao.QUASE_ORDENADO, PerfilDistribuicao.DECRESCENTE,
+                    PerfilDistribuicao.SERRA, PerfilDistribuicao.ORGAO};
+            for (PerfilDistribuicao p : perfis) {
+                int[] entrada = p.gerar(n, SEMENTE);
+                System.out.println("\n" + n + " elementos, " + p + ":");
+                medir("Merge Sort (recursivo)", entrada, Main::mergeSort);
+                medir("Merge Sort Adaptativo", entrada, Main::mergeSortAdaptativo);
+                medir("Java Arrays.sort", entrada, Arrays::sort);
+            }
+        }
+    }
+    // Para 100M use: java -Xmx4g BenchmarkMotores heap 1K,100K,10M,100M
+    static void benchmarkHeap(int[] tamanhos) {
+        cabecalho("HEAP SORT: RECURSIVO x ITERATIVO x FLOYD x D-ÁRIO");
+        for (int n : tamanhos) {
+            int[] entrada = entrada(n);
+            System.out.println("\n" + n + " elementos (" + (n * 4L / 1024) + " KB):");
+            medir("Heap Sort atual (recursivo)", entrada, Main::heapSort);
+            medir("Binário iterativo (buraco)", entrada, HeapSortOtimizado::ordenar);
+            medir("Binário Floyd (bottom-up)", entrada, HeapSortOtimizado::ordenarBottomUp);
+            medir("4-ário", entrada, arr -> HeapSortOtimizado.ordenarDAria(arr, 4));
+            medir("8-ário", entrada, arr -> HeapSortOtimizado.ordenarDAria(arr, 8));
+            medir("4-ário alinhado", entrada, arr -> HeapSortOtimizado.ordenarDAriaAlinhado(arr, 4));
+            medir("16-ário alinhado (64 bytes)", entrada, arr -> HeapSortOtimizado.ordenarDAriaAlinhado(arr, 16));
+        }
+    }
+
+    static void benchmarkTopK(int[] tamanhos, int k) {
+        EspecificacaoOrdenacao spec = EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                .depoisPor(EspecificacaoOrdenacao.Campo.DATA);
+        Comparator<Registro> cmp = spec.comparador();
+        cabecalho("TOP-" + k + " POR (" + spec + ")");
+        for (int n : tamanhos) {
+            Registro[] registros = gerarRegistros(n, SEMENTE);
+            System.out.println("\n" + n + " registros:");
+            Registro[] completo = registros.clone();
+            AlgoritmosOrdenacao.mergeSort(completo, spec);
+            Registro[] esperado = Arrays.copyOf(completo, Math.min(k, n));
+
+            medirRegistros("Ordenação completa (merge)", registros, arr -> AlgoritmosOrdenacao.mergeSort(arr, spec));
+            Object[][] top = new Object[1][];
+            medirRegistros("Top-K com heap limitado", registros, arr -> {
+                top[0] = OrdenacaoParcial.topK(arr, k, cmp).toArray();
+            });
+            System.out.println("  Igual à ordenação completa? " + (Arrays.equals(esperado, top[0]) ? "SIM" : "NÃO"));
+            medirRegistros("Partial quicksort", registros, arr -> OrdenacaoParcial.partialSort(arr, k, cmp));
+            medirRegistros("nth_element + ordenar K", registros, arr -> {
+                if (k < arr.length) OrdenacaoParcial.nthElement(arr, k, cmp);
+                Arrays.sort(arr, 0, Math.min(k, arr.length), cmp);
+            });
+        }
+    }
+
+    // Escala de threads: 1, 2, 4, ... até o número de núcleos.
+    // Para 500M: java -Xmx8g BenchmarkMotores amostra 10M,100M,500M
+    static void benchmarkSampleSort(int[] tamanhos) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        cabecalho("SAMPLE SORT PARALELO (" + nucleos + " núcleos)");
+        for (int n : tamanhos) {
+            int[] inteiros = entrada(n);
+            System.out.println("\nint[] com " + n + " elementos:");
+            medir("Java Arrays.sort", inteiros, Arrays::sort);
+            medir("Radix Sort LSD (11 bits)", inteiros, new RadixSort(11)::ordenar);
+            medir("Java Arrays.parallelSort", inteiros, Arrays::parallelSort);
+            for (int threads = 1; threads <= nucleos; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                medir("Sample Sort (" + threads + " threads)", inteiros, new SampleSortParalelo(pool)::ordenar);
+                pool.shutdown();
+            }
+
+            long[] longos = entradaLong(n);
+            System.out.println("\nlong[] com " + n + " elementos:");
+            medirLong("Java Arrays.sort", longos, Arrays::sort);
+            medirLong("Java Arrays.parallelSort", longos, Arrays::parallelSort);
+            medirLong("Sample Sort (" + nucleos + " threads)", longos, new SampleSortParalelo()::ordenar);
+        }
+    }
+
+    // Escalar contra cada largura de vetor até a preferida da CPU.
+    // Precisa de: java --add-modules jdk.incubator.vector BenchmarkMotores simd
+    static void benchmarkVetorial(int[] tamanhos) {
+        boolean vetor = QuickSortVetorizado.vetorDisponivel();
+        int bitsMax = vetor ? ParticaoVetorial.bitsPreferidos() : 0;
+        cabecalho("QUICKSORT VETORIZADO (" + (vetor ? "vetor preferido: " + bitsMax + " bits" : "sem jdk.incubator.vector") + ")");
+        for (int n : tamanhos) {
+            int[] entrada = entrada(n);
+            System.out.println("\n" + n + " elementos:");
+            medir("Java Arrays.sort", entrada, Arrays::sort);
+            medir("Quicksort escalar", entrada, QuickSortVetorizado.escalar()::ordenar);
+            for (int bits = 128; bits <= bitsMax; bits *= 2) {
+                medir("Quicksort vetorial " + bits + " bits", entrada, QuickSortVetorizado.vetorial(bits)::ordenar);
+            }
+            int[] poucos = new SplittableRandom(SEMENTE).ints(n, 0, 16).toArray();
+            medir("Quicksort escalar (16 valores distintos)", poucos, QuickSortVetorizado.escalar()::ordenar);
+            if (vetor) {
+                medir("Quicksort vetorial (16 valores distintos)", poucos, QuickSortVetorizado.vetorial(0)::ordenar);
+            }
+        }
+    }
+
+    // Mesmos dados em int[]/long[] e em colunas fora do heap (Arena)
+    static void benchmarkForaDoHeap(int[] tamanhos) {
+        cabecalho("ORDENAÇÃO FORA DO HEAP (MemorySegment)");
+        for (int n : tamanhos) {
+            int[] inteiros = entrada(n);
+            long[] longos = entradaLong(n);
+            System.out.println("\nint com " + n + " elementos:");
+            medir("Java Arrays.sort (int[])", inteiros, Arrays::sort);
+            medir("Radix Sort LSD 8 bits (int[])", inteiros, new RadixSort(8)::ordenar);
+            medir("Introsort (segmento)", inteiros, arr -> foraDoHeap(arr, OrdenacaoForaDoHeap::ordenarInts));
+            medir("Radix LSD 8 bits (segmento)", inteiros, arr -> foraDoHeap(arr, null));
+            System.out.println("\nlong com " + n + " elementos:");
+            medirLong("Java Arrays.sort (long[])", longos, Arrays::sort);
+            medirLong("Introsort (segmento)", longos, arr -> foraDoHeapLong(arr, OrdenacaoForaDoHeap::ordenarLongs));
+            medirLong("Radix LSD 8 bits (segmento)", longos, arr -> foraDoHeapLong(arr, null));
+        }
+    }
+
+    // Copia para um segmento, ordena (radix se motor for null) e copia de volta para a
+    // verificação; as cópias entram no tempo medido
+    private static void foraDoHeap(int[] arr, Consumer<MemorySegment> motor) {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment seg = arena.allocate((long) arr.length * Integer.BYTES, Integer.BYTES);
+            MemorySegment.copy(arr, 0, seg, ValueLayout.JAVA_INT, 0, arr.length);
+            if (motor != null) motor.accept(seg);
+            else OrdenacaoForaDoHeap.radixInts(seg, arena);
+            MemorySegment.copy(seg, ValueLayout.JAVA_INT, 0, arr, 0, arr.length);
+        }
+    }
+
+    private static void foraDoHeapLong(long[] arr, Consumer<MemorySegment> motor) {
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment seg = arena.allocate((long) arr.length * Long.BYTES, Long.BYTES);
+            MemorySegment.copy(arr, 0, seg, ValueLayout.JAVA_LONG, 0, arr.length);
+            if (motor != null) motor.accept(seg);
+            else OrdenacaoForaDoHeap.radixLongs(seg, arena);
+            MemorySegment.copy(seg, ValueLayout.JAVA_LONG, 0, arr, 0, arr.length);
+        }
+    }
+
+    // Produtores e consumidores ao mesmo tempo: cada produtor oferece uma fatia dos
+    // registros e os consumidores retiram até esvaziar. Vazão em operações (offer + poll).
+    static void benchmarkFila(int[] tamanhos) {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        cabecalho("FILA DE PRIORIDADE CONCORRENTE (" + nucleos + " núcleos)");
+        for (int n : tamanhos) {
+            Registro[] registros = gerarRegistros(n, SEMENTE);
+            System.out.println("\n" + n + " registros:");
+            System.out.println("  Ordem de saída com 1 produtor/1 consumidor (prioridade, depois chegada): "
+                    + (saidaEstavel(registros) ? "SIM" : "NÃO"));
+            for (int threads = 1; threads <= Math.max(2, nucleos); threads *= 2) {
+                String sufixo = " (" + threads + "P/" + threads + "C)";
+                medirFila("PriorityBlockingQueue" + sufixo, registros, threads, () -> {
+                    PriorityBlockingQueue<Registro> fila = new PriorityBlockingQueue<>(11, Registro::compararPorPrioridade);
+                    return new FilaMedida() {
+                        public void ofertar(Registro r) { fila.offer(r); }
+                        public Registro retirar() { return fila.poll(); }
+                    };
+                });
+                medirFila("Fila por níveis + bitmap" + sufixo, registros, threads, () -> {
+                    FilaPrioridadeConcorrente<Registro> fila = FilaPrioridadeConcorrente.paraRegistros();
+                    return new FilaMedida() {
+                        public void ofertar(Registro r) { fila.offer(r); }
+                        public Registro retirar() { return fila.poll(); }
+                    };
+                });
+            }
+        }
+    }
+
+    // tudo entra e depois sai: prioridade crescente e, no empate, ordem de chegada
+    private static boolean saidaEstavel(Registro[] registros) {
+        FilaPrioridadeConcorrente<Registro> fila = FilaPrioridadeConcorrente.paraRegistros();
+        for (Registro r : registros) fila.offer(r);
+        Registro anterior = null;
+        int retirados = 0;
+        for (Registro r; (r = fila.poll()) != null; retirados++) {
+            if (anterior != null && (anterior.prioridade > r.prioridade
+                    || (anterior.prioridade == r.prioridade && anterior.id > r.id))) {
+                return false;
+            }
+            anterior = r;
+        }
+        return retirados == registros.length;
+    }
+
+    interface FilaMedida {
+        void ofertar(Registro r);
+
+        Registro retirar();
+    }
+
+    static double medirFila(String nome, Registro[] registros, int threads, Supplier<FilaMedida> nova) {
+        int n = registros.length;
+        double[] tempos = new double[REPETICOES];
+        boolean correto = true;
+        for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+            FilaMedida fila = nova.get();
+            AtomicInteger retirados = new AtomicInteger();
+            CountDownLatch largada = new CountDownLatch(1);
+            Thread[] trabalhadores = new Thread[2 * threads];
+            for (int t = 0; t < threads; t++) {
+                int de = (int) ((long) n * t / threads), ate = (int) ((long) n * (t + 1) / threads);
+                trabalhadores[t] = new Thread(() -> {
+                    aguardar(largada);
+                    for (int i = de; i < ate; i++) fila.ofertar(registros[i]);
+                });
+                trabalhadores[threads + t] = new Thread(() -> {
+                    aguardar(largada);
+                    while (retirados.get() < n) {
+                        if (fila.retirar() != null) retirados.incrementAndGet();
+                        else Thread.onSpinWait();
+                    }
+                });
+            }
+            for (Thread t : trabalhadores) t.start();
+            long inicio = System.nanoTime();
+            largada.countDown();
+            for (Thread t : trabalhadores) {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return 0;
+                }
+            }
+            long fim = System.nanoTime();
+            if (r >= 0) {
+                tempos[r] = (fim - inicio) / 1_000_000.0;
+                correto &= retirados.get() == n && fila.retirar() == null;
+            }
+        }
+        return imprimir(nome, tempos, 2L * n, correto);
+    }
+
+    private static void aguardar(CountDownLatch largada) {
+        try {
+            largada.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Lote com k/3 inserções, k/3 mudanças de prioridade e k/3 remoções sobre n registros:
+    // reordenar tudo contra aplicar só o delta no ConjuntoOrdenado
+    static void benchmarkIncremental(int[] tamanhos) {
+        EspecificacaoOrdenacao spec = EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE);
+        cabecalho("REORDENAÇÃO INCREMENTAL POR (" + spec + ")");
+        for (int n : tamanhos) {
+            Registro[] registros = gerarRegistros(n, SEMENTE);
+            for (int k : new int[]{30, n / 1000, n / 10}) {
+                if (k < 3) continue;
+                System.out.println("\n" + n + " registros, lote de " + k + ":");
+                SplittableRandom rand = new SplittableRandom(SEMENTE + k);
+                Registro[] novos = gerarRegistros(k / 3, SEMENTE + 1);
+                ConjuntoOrdenado.Lote lote = ConjuntoOrdenado.lote();
+                // depois do lote, na ordem do arquivo: alterados no lugar, removidos fora,
+                // inseridos no fim
+                Registro[] arquivo = registros.clone();
+                boolean[] mexido = new boolean[n];
+                for (int i = 0; i < k / 3; i++) {
+                    lote.inserir(new Registro(n + 1 + i, novos[i].nome, novos[i].cpf, novos[i].prioridade, novos[i].data));
+                }
+                for (int i = 0; i < 2 * (k / 3); i++) {
+                    int pos = rand.nextInt(n);
+                    if (mexido[pos]) continue;
+                    mexido[pos] = true;
+                    Registro r = registros[pos];
+                    if (i % 2 == 0) {
+                        arquivo[pos] = new Registro(r.id, r.nome, r.cpf, 1 + rand.nextInt(5), r.data);
+                        lote.alterar(arquivo[pos]);
+                    } else {
+                        arquivo[pos] = null;
+                        lote.remover(r.id);
+                    }
+                }
+                List<Registro> depois = new ArrayList<>(n + k);
+                for (Registro r : arquivo) if (r != null) depois.add(r);
+                for (int i = 0; i < k / 3; i++) depois.add(lote.insercao(i));
+                Registro[] completo = depois.toArray(new Registro[0]);
+
+                medirRegistros("Reordenar tudo (merge por spec)", completo, arr -> AlgoritmosOrdenacao.mergeSort(arr, spec));
+                double[] tempos = new double[REPETICOES];
+                Registro[] resultado = null;
+                for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+                    ConjuntoOrdenado conjunto = new ConjuntoOrdenado(registros, spec);
+                    long inicio = System.nanoTime();
+                    conjunto.aplicar(lote);
+                    long fim = System.nanoTime();
+                    if (r >= 0) tempos[r] = (fim - inicio) / 1_000_000.0;
+                    resultado = conjunto.emOrdem();
+                }
+                AlgoritmosOrdenacao.mergeSort(completo, spec);
+                imprimir("Aplicar só o lote", tempos, completo.length, Arrays.equals(completo, resultado));
+            }
+        }
+    }
+
+    // Vazão de leitura (MB/s) de um CSV sintético no formato do GerarCSV
+    static void benchmarkLeituraCSV(int[] tamanhos) {
+        cabecalho("LEITURA DE CSV (MB/s)");
+        for (int n : tamanhos) {
+            Path arquivo;
+            try {
+                arquivo = gerarCSVTemporario(n);
+            } catch (IOException e) {
+                System.err.println("✗ Erro ao gerar CSV: " + e.getMessage());
+                return;
+            }
+            try {
+                long bytes = Files.size(arquivo);
+                String caminho = arquivo.toString();
+                System.out.printf("%n%d linhas (%.1f MB):%n", n, bytes / (1024.0 * 1024.0));
+                medirLeitura("BufferedReader + split (CompararSorts)", bytes, n,
+                        () -> CompararSorts.lerRegistros(caminho).length);
+                medirLeitura("Esquema do Main (Main.lerCSV)", bytes, n, () -> Main.lerCSV(caminho).size());
+                // projeção: o custo acompanha as colunas decodificadas, não a largura da linha
+                medirLeitura("Esquema → todas as colunas", bytes, n,
+                        () -> LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV).tamanho());
+                medirLeitura("Esquema → id, prioridade", bytes, n,
+                        () -> LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV, "id", "prioridade").tamanho());
+                medirLeitura("Esquema → prioridade", bytes, n,
+                        () -> LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV, "prioridade").tamanho());
+                medirLeitura("Mapeado → Registro[]", bytes, n,
+                        () -> LeitorCSVMapeado.lerRegistros(arquivo).length);
+                medirLeitura("Mapeado → colunas (sem String)", bytes, n, () -> {
+                    try (LeitorCSVMapeado.Colunas c = LeitorCSVMapeado.ler(arquivo)) {
+                        return c.tamanho();
+                    }
+                });
+                // blocos de 4 MB; a vazão deve crescer com as threads até o limite do disco
+                long bloco = 4L << 20;
+                int nucleos = Runtime.getRuntime().availableProcessors();
+                for (int threads = 1; threads <= nucleos; threads *= 2) {
+                    int t = threads;
+                    medirLeitura("Paralelo → colunas (" + t + " threads)", bytes, n, () -> {
+                        try (LeitorCSVMapeado.Colunas c = LeitorCSVMapeado.lerParalelo(arquivo, bloco, t)) {
+                            return c.tamanho();
+                        }
+                    });
+                    medirLeitura("Paralelo → Registro[] (" + t + " threads)", bytes, n,
+                            () -> LeitorCSVMapeado.lerRegistrosParalelo(arquivo, bloco, t).length);
+                }
+                try (ExecutorService virtuais = Executors.newVirtualThreadPerTaskExecutor()) {
+                    medirLeitura("Paralelo → colunas (threads virtuais)", bytes, n, () -> {
+                        try (LeitorCSVMapeado.Colunas c = LeitorCSVMapeado.lerParalelo(arquivo, bloco, virtuais)) {
+                            return c.tamanho();
+                        }
+                    });
+                }
+            } catch (IOException e) {
+                System.err.println("✗ Erro na leitura: " + e.getMessage());
+            } finally {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException e) {
+                    System.err.println("✗ Não apagou " + arquivo + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // CSV sintético no formato do GerarCSV, num arquivo temporário
+    static Path gerarCSVTemporario(int n) throws IOException {
+        Path arquivo = Files.createTempFile("benchmark-", ".csv");
+        try (BufferedWriter w = Files.newBufferedWriter(arquivo, StandardCharsets.UTF_8)) {
+            w.write("id,nome,cpf,prioridade,data\n");
+            for (Registro r : gerarRegistros(n, SEMENTE)) {
+                w.write(r.id + "," + r.nome + "," + r.cpf + "," + r.prioridade + "," + r.data + "\n");
+            }
+        }
+        return arquivo;
+    }
+
+    // Arquivo → arquivo ordenado: a cópia pura dá o piso de E/S; o sequencial lê tudo,
+    // ordena tudo e só então grava; o pipeline sobrepõe os três estágios
+    static void benchmarkPipeline(int[] tamanhos) {
+        cabecalho("ORDENAÇÃO ARQUIVO → ARQUIVO (PIPELINE)");
+        EspecificacaoOrdenacao spec = EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                .depoisPor(EspecificacaoOrdenacao.Campo.DATA);
+        for (int n : tamanhos) {
+            Path arquivo, copia, sequencial, pipeline;
+            try {
+                arquivo = gerarCSVTemporario(n);
+                copia = Files.createTempFile("benchmark-copia-", ".csv");
+                sequencial = Files.createTempFile("benchmark-seq-", ".csv");
+                pipeline = Files.createTempFile("benchmark-pipe-", ".csv");
+            } catch (IOException e) {
+                System.err.println("✗ Erro ao gerar CSV: " + e.getMessage());
+                return;
+            }
+            try {
+                long bytes = Files.size(arquivo);
+                System.out.printf("%n%d linhas (%.1f MB), ordem %s:%n", n, bytes / (1024.0 * 1024.0), spec);
+                medirLeitura("Cópia do arquivo (piso de E/S)", bytes, n, () -> {
+                    Files.copy(arquivo, copia, StandardCopyOption.REPLACE_EXISTING);
+                    return n;
+                });
+                medirLeitura("Sequencial: ler, ordenar, gravar", bytes, n, () -> {
+                    Registro[] registros = LeitorCSVMapeado.lerRegistros(arquivo);
+                    AlgoritmosOrdenacao.mergeSort(registros, spec);
+                    try (BufferedWriter w = Files.newBufferedWriter(sequencial, StandardCharsets.UTF_8)) {
+                        w.write(OrdenacaoExterna.CABECALHO + "\n");
+                        for (Registro r : registros) {
+                            w.write(r.id + "," + r.nome + "," + r.cpf + "," + r.prioridade + "," + r.data + "\n");
+                        }
+                    }
+                    return registros.length;
+                });
+                int nucleos = Runtime.getRuntime().availableProcessors();
+                for (int analisadores = 1; analisadores <= nucleos; analisadores *= 2) {
+                    OrdenacaoPipeline motor = new OrdenacaoPipeline(spec, OrdenacaoPipeline.TAMANHO_BLOCO_PADRAO, analisadores);
+                    medirLeitura("Pipeline (" + analisadores + " analisadores)", bytes, n,
+                            () -> (int) motor.ordenar(arquivo, pipeline).linhas);
+                }
+                System.out.println("  Saída do pipeline idêntica à sequencial? "
+                        + (Files.mismatch(sequencial, pipeline) == -1 ? "✓" : "✗"));
+            } catch (IOException e) {
+                System.err.println("✗ Erro na ordenação: " + e.getMessage());
+            } finally {
+                for (Path p : new Path[]{arquivo, copia, sequencial, pipeline}) {
+                    try {
+                        Files.deleteIfExists(p);
+                    } catch (IOException e) {
+                        System.err.println("✗ Não apagou " + p + ": " + e.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    // Os mesmos motores em cada perfil de entrada: o Quick Sort de Main (Lomuto, pivô no
+    // fim) degrada no ordenado e nos repetidos, os adaptativos ganham nos quase ordenados.
+    // O Lomuto só roda até LIMITE_LOMUTO, e estouro de pilha vira "PULADO".
+    static final int LIMITE_LOMUTO = 20_000;
+
+    static void benchmarkPerfis(int[] tamanhos) {
+        cabecalho("MOTORES POR PERFIL (" + perfil + ")");
+        for (int n : tamanhos) {
+            int[] entrada = entrada(n);
+            System.out.println("\n" + n + " elementos, " + perfil + ":");
+            medir("Java Arrays.sort", entrada, Arrays::sort);
+            medir("Merge Sort Adaptativo", entrada, Main::mergeSortAdaptativo);
+            if (n <= LIMITE_LOMUTO) {
+                try {
+                    medir("Quick Sort (Lomuto)", entrada, Main::quickSort);
+                } catch (StackOverflowError e) {
+                    System.out.printf("  %-40s PULADO (estouro de pilha)\n", "Quick Sort (Lomuto):");
+                }
+            } else {
+                System.out.printf("  %-40s PULADO (n > %d)\n", "Quick Sort (Lomuto):", LIMITE_LOMUTO);
+            }
+            medir("Quicksort escalar (ninther)", entrada, QuickSortVetorizado.escalar()::ordenar);
+            medir("Heap Sort Floyd (bottom-up)", entrada, HeapSortOtimizado::ordenarBottomUp);
+            medir("Radix Sort LSD (11 bits)", entrada, new RadixSort(11)::ordenar);
+            medir("Seletor (" + Main.SELETOR.escolher(SeletorAlgoritmo.perfilar(entrada)) + ")",
+                    entrada, Main.SELETOR::ordenar);
+        }
+    }
+
+    // Vazão de geração do CSV: o caminho antigo (uma String por linha, um escritor) contra
+    // o GerarCSV por blocos. O arquivo tem que sair idêntico com qualquer número de threads.
+    static void benchmarkGeracao(int[] tamanhos) {
+        cabecalho("GERAÇÃO DE CSV (MB/s)");
+        LocalDate base = LocalDate.of(2025, 1, 1);
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        for (int n : tamanhos) {
+            Path arquivo;
+            try {
+                arquivo = Files.createTempFile("benchmark-gerar-", ".csv");
+            } catch (IOException e) {
+                System.err.println("✗ Erro ao criar arquivo: " + e.getMessage());
+                return;
+            }
+            try {
+                long bytes = GerarCSV.gerar(arquivo, n, SEMENTE, 1, base, perfil);
+                long referencia = SnapshotColunar.hash(arquivo);
+                System.out.printf("%n%d linhas (%.1f MB):%n", n, bytes / (1024.0 * 1024.0));
+                medirGeracao("Registro + BufferedWriter", () -> {
+                    Path temporario = gerarCSVTemporario(n);
+                    long tamanho = Files.size(temporario);
+                    Files.delete(temporario);
+                    return tamanho;
+                }, null, 0);
+                for (int threads = 1; threads <= nucleos; threads *= 2) {
+                    int t = threads;
+                    medirGeracao("GerarCSV (" + t + " threads)",
+                            () -> GerarCSV.gerar(arquivo, n, SEMENTE, t, base, perfil), arquivo, referencia);
+                }
+            } catch (IOException e) {
+                System.err.println("✗ Erro na geração: " + e.getMessage());
+            } finally {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException e) {
+                    System.err.println("✗ Não apagou " + arquivo + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Memória por registro (heap medido depois de GC) de cada forma de guardar o CSV, e
+    // o custo de ordenar e de voltar a Registro a partir da forma compacta
+    static void benchmarkCompacto(int[] tamanhos) {
+        cabecalho("REGISTROS COMPACTOS (BYTES POR REGISTRO)");
+        EspecificacaoOrdenacao spec = EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                .depoisPor(EspecificacaoOrdenacao.Campo.NOME);
+        for (int n : tamanhos) {
+            Path arquivo;
+            try {
+                arquivo = gerarCSVTemporario(n);
+            } catch (IOException e) {
+                System.err.println("✗ Erro ao gerar CSV: " + e.getMessage());
+                return;
+            }
+            try {
+                System.out.printf("%n%d registros:%n", n);
+                Registro[] porLinha = CompararSorts.lerRegistros(arquivo.toString());
+                long antes = medirHeap(() -> CompararSorts.lerRegistros(arquivo.toString()), n,
+                        "Registro[] (uma String por campo)");
+                medirHeap(() -> LeitorCSVMapeado.lerRegistros(arquivo), n, "Registro[] (datas compartilhadas)");
+                long depois = medirHeap(() -> RegistrosCompactos.ler(arquivo), n, "RegistrosCompactos");
+                RegistrosCompactos compactos = RegistrosCompactos.ler(arquivo);
+                System.out.printf("  %-40s %10.1f bytes/registro%n", "RegistrosCompactos (estimado):",
+                        (double) compactos.bytesEstimados() / n);
+                System.out.printf("  Redução: %.1fx%n", (double) antes / Math.max(1, depois));
+
+                Registro[] esperado = porLinha.clone();
+                AlgoritmosOrdenacao.mergeSort(esperado, spec);
+                medirRegistros("Merge sort de Registro[] por " + spec, porLinha,
+                        arr -> AlgoritmosOrdenacao.mergeSort(arr, spec));
+                double[] tempos = new double[REPETICOES];
+                Registro[] resultado = null;
+                for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+                    long inicio = System.nanoTime();
+                    int[] perm = compactos.argsort(spec);
+                    long fim = System.nanoTime();
+                    if (r >= 0) tempos[r] = (fim - inicio) / 1_000_000.0;
+                    if (r == REPETICOES - 1) resultado = compactos.paraRegistros(perm);
+                }
+                boolean correto = true;
+                for (int i = 0; i < n && correto; i++) {
+                    correto = esperado[i].id == resultado[i].id && esperado[i].cpf.equals(resultado[i].cpf)
+                            && esperado[i].data.equals(resultado[i].data) && esperado[i].nome.equals(resultado[i].nome);
+                }
+                imprimir("argsort compacto por " + spec, tempos, n, correto);
+                medirRegistros("Vistas: paraRegistros()", porLinha, arr -> compactos.paraRegistros());
+            } catch (IOException e) {
+                System.err.println("✗ Erro na leitura: " + e.getMessage());
+            } finally {
+                try {
+                    Files.deleteIfExists(arquivo);
+                } catch (IOException e) {
+                    System.err.println("✗ Não apagou " + arquivo + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Heap ocupado pelo que a leitura devolve (diferença medida depois de GC). O
+    // resultado fica vivo até a segunda medição.
+    static long medirHeap(Carga carga, int n, String nome) throws IOException {
+        long base = heapUsado();
+        Object vivo = carga.carregar();
+        long bytes = heapUsado() - base;
+        Reference.reachabilityFence(vivo);
+        System.out.printf("  %-40s %10.1f bytes/registro%n", nome + ":", (double) bytes / n);
+        return bytes;
+    }
+
+    static long heapUsado() {
+        Runtime rt = Runtime.getRuntime();
+        long usado = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            usado = Math.min(usado, rt.totalMemory() - rt.freeMemory());
+        }
+        return usado;
+    }
+
+    interface Leitura {
+        int ler() throws IOException;
+    }
+
+    // Mediana da geração em MB/s; com arquivo, confere se a última geração tem o hash
+    // esperado (sem arquivo não há o que conferir)
+    static void medirGeracao(String nome, Geracao geracao, Path arquivo, long hashEsperado) throws IOException {
+        double[] tempos = new double[REPETICOES];
+        long bytes = 0;
+        for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+            long inicio = System.nanoTime();
+            bytes = geracao.gerar();
+            long fim = System.nanoTime();
+            if (r >= 0) tempos[r] = (fim - inicio) / 1_000_000.0;
+        }
+        Arrays.sort(tempos);
+        double mediana = tempos[tempos.length / 2];
+        String conferido = arquivo == null ? "" : SnapshotColunar.hash(arquivo) == hashEsperado ? "✓" : "✗";
+        System.out.printf("  %-40s %10.2f ms  %8.1f MB/s  %s\n",
+                nome + ":", mediana, bytes / (1024.0 * 1024.0) / (mediana / 1000.0), conferido);
+    }
+
+    interface Geracao {
+        long gerar() throws IOException;
+    }
+
+    interface Carga {
+        Object carregar() throws IOException;
+    }
+
+    static void medirLeitura(String nome, long bytes, int linhasEsperadas, Leitura leitura) throws IOException {
+        double[] tempos = new double[REPETICOES];
+        boolean correto = true;
+        for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+            long inicio = System.nanoTime();
+            int linhas = leitura.ler();
+            long fim = System.nanoTime();
+            if (r >= 0) {
+                tempos[r] = (fim - inicio) / 1_000_000.0;
+                correto &= linhas == linhasEsperadas;
+            }
+        }
+        Arrays.sort(tempos);
+        double mediana = tempos[tempos.length / 2];
+        System.out.printf("  %-40s %10.2f ms  %8.1f MB/s  %s\n",
+                nome + ":", mediana, bytes / (1024.0 * 1024.0) / (mediana / 1000.0), correto ? "✓" : "✗");
+    }
+
+    // ========== MEDIÇÃO ==========
+
+    // Roda o motor sobre cópias do vetor original e imprime a mediana das repetições.
+    static double medir(String nome, int[] original, Main.SortFunction sortFunc) {
+        double[] tempos = new double[REPETICOES];
+        boolean correto = true;
+        for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+            int[] arr = Arrays.copyOf(original, original.length);
+            long inicio = System.nanoTime();
+            sortFunc.sort(arr);
+            long fim = System.nanoTime();
+            if (r >= 0) {
+                tempos[r] = (fim - inicio) / 1_000_000.0;
+                correto &= Main.verificarOrdenado(arr);
+            }
+        }
+        return imprimir(nome, tempos, original.length, correto);
+    }
+
+    static double medirLong(String nome, long[] original, Main.SortFunctionLong sortFunc) {
+        double[] tempos = new double[REPETICOES];
+        boolean correto = true;
+        for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+            long[] arr = Arrays.copyOf(original, original.length);
+            long inicio = System.nanoTime();
+            sortFunc.sort(arr);
+            long fim = System.nanoTime();
+            if (r >= 0) {
+                tempos[r] = (fim - inicio) / 1_000_000.0;
+                correto &= Main.verificarOrdenado(arr);
+            }
+        }
+        return imprimir(nome, tempos, original.length, correto);
+    }
+
+    interface SortFunctionRegistro {
+        void sort(Registro[] arr);
+    }
+
+    // Como medir(), mas para Registro[]; a conferência fica por conta da suite
+    static double medirRegistros(String nome, Registro[] original, SortFunctionRegistro sortFunc) {
+        double[] tempos = new double[REPETICOES];
+        for (int r = -AQUECIMENTO; r < REPETICOES; r++) {
+            Registro[] arr = original.clone();
+            long inicio = System.nanoTime();
+            sortFunc.sort(arr);
+            long fim = System.nanoTime();
+            if (r >= 0) tempos[r] = (fim - inicio) / 1_000_000.0;
+        }
+        return imprimir(nome, tempos, original.length, true);
+    }
+
+    static double imprimir(String nome, double[] tempos, long n, boolean correto) {
+        Arrays.sort(tempos);
+        double mediana = tempos[tempos.length / 2];
+        double milhoesPorSegundo = mediana == 0 ? 0 : n / (mediana * 1_000.0);
+        System.out.printf("  %-34s %10.2f ms  %8.1f M elem/s  %s\n",
+                nome + ":", mediana, milhoesPorSegundo, correto ? "✓" : "✗");
+        return mediana;
+    }
+
+    static void cabecalho(String titulo) {
+        System.out.println("╔════════════════════════════════════════════════════════╗");
+        System.out.printf("║ %-54s ║\n", titulo);
+        System.out.println("╚════════════════════════════════════════════════════════╝");
+    }
+
+    // Entradas da rodada, no perfil atual (UNIFORME é o ints(n)/longs(n) de sempre)
+    static int[] entrada(int n) {
+        return perfil.gerar(n, SEMENTE);
+    }
+
+    static long[] entradaLong(int n) {
+        if (perfil == PerfilDistribuicao.UNIFORME) return new SplittableRandom(SEMENTE).longs(n).toArray();
+        // a forma do perfil nos 32 bits altos
+        int[] base = perfil.gerar(n, SEMENTE);
+        long[] saida = new long[n];
+        for (int i = 0; i < n; i++) saida[i] = (long) base[i] << 32;
+        return saida;
+    }
+
+    // Registros sintéticos com a mesma distribuição do GerarCSV (prioridade 1..5,
+    // data nos últimos 5 anos), mas reprodutíveis pela semente. Como no GerarCSV, o
+    // perfil atual decide a chave (prioridade, data).
+    static Registro[] gerarRegistros(int n, long semente) {
+        SplittableRandom rand = new SplittableRandom(semente);
+        LocalDate hoje = LocalDate.of(2025, 1, 1);
+        String[] datas = new String[GerarCSV.DIAS];
+        for (int d = 0; d < datas.length; d++) datas[d] = hoje.minusDays(d).toString();
+        int[] chaves = perfil.gerar(n, GerarCSV.PRIORIDADES * GerarCSV.DIAS, semente + 1);
+        Registro[] registros = new Registro[n];
+        for (int i = 0; i < n; i++) {
+            String cpf = String.format("%011d", rand.nextLong(100_000_000_000L));
+            registros[i] = new Registro(i + 1, "Nome " + rand.nextInt(280), cpf,
+                    1 + chaves[i] / GerarCSV.DIAS, datas[GerarCSV.DIAS - 1 - chaves[i] % GerarCSV.DIAS]);
+        }
+        return registros;
+    }
+
+    // aceita sufixos K/M/G: "1K,100K,10M"
+    static int[] lerTamanhos(String arg) {
+        String[] partes = arg.split(",");
+        int[] tamanhos = new int[partes.length];
+        for (int i = 0; i < partes.length; i++) {
+            String p = partes[i].trim().toUpperCase().replace("_", "");
+            long mult = 1;
+            if (p.endsWith("K")) mult = 1_000;
+            else if (p.endsWith("M")) mult = 1_000_000;
+            else if (p.endsWith("G")) mult = 1_000_000_000;
+            if (mult > 1) p = p.substring(0, p.length() - 1);
+            tamanhos[i] = Math.toIntExact(Long.parseLong(p) * mult);
+        }
+        return tamanhos;
+    }
+}
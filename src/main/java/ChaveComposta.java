@@ -0,0 +1,158 @@
+// Compacta (prioridade, data, id) num único long para ordenar registros por vários
+// campos com ordenação primitiva, sem Comparator nem comparação de String.
+//
+// Cada campo é gravado relativo ao seu mínimo, com só os bits que a faixa exige
+// (prioridade 1..5 -> 3 bits). Se ainda sobrar espaço nos 63 bits positivos, o
+// índice do registro vai nos bits de baixo: basta ordenar o long[] e decodificar.
+// Se não couber, o índice segue junto pelo argsort estável do RadixSort.
+public final class ChaveComposta {
+
+    private final int minPrioridade, minData, minId;
+    private final int bitsPrioridade, bitsData, bitsId, bitsIndice;
+
+    private ChaveComposta(int minPrioridade, int bitsPrioridade, int minData, int bitsData,
+                          int minId, int bitsId, int bitsIndice) {
+        this.minPrioridade = minPrioridade;
+        this.bitsPrioridade = bitsPrioridade;
+        this.minData = minData;
+        this.bitsData = bitsData;
+        this.minId = minId;
+        this.bitsId = bitsId;
+        this.bitsIndice = bitsIndice;
+    }
+
+    // Mede a faixa de cada coluna e decide quantos bits cada campo ocupa
+    public static ChaveComposta calcular(int[] prioridade, int[] data, int[] id) {
+        int n = prioridade.length;
+        if (data.length != n || id.length != n) {
+            throw new IllegalArgumentException("Colunas com tamanhos diferentes");
+        }
+        int[] faixaP = faixa(prioridade), faixaD = faixa(data), faixaI = faixa(id);
+        return new ChaveComposta(
+                faixaP[0], bits((long) faixaP[1] - faixaP[0]),
+                faixaD[0], bits((long) faixaD[1] - faixaD[0]),
+                faixaI[0], bits((long) faixaI[1] - faixaI[0]),
+                bits(Math.max(0, n - 1)));
+    }
+
+    public int bitsCampos() {
+        return bitsPrioridade + bitsData + bitsId;
+    }
+
+    // true quando prioridade+data+id+índice cabem em 63 bits (long sempre positivo)
+    public boolean cabeIndice() {
+        return bitsCampos() + bitsIndice <= 63;
+    }
+
+    // ========== CODIFICAÇÃO ==========
+
+    // Só os campos, alinhados à direita; cabe em 64 bits se bitsCampos() <= 64
+    public long compactar(int prioridade, int data, int id) {
+        long p = (long) prioridade - minPrioridade;
+        long d = (long) data - minData;
+        long i = (long) id - minId;
+        return (((p << bitsData) | d) << bitsId) | i;
+    }
+
+    public int prioridade(long chave) {
+        return (int) (campo(chave, bitsData + bitsId, bitsPrioridade) + minPrioridade);
+    }
+
+    public int data(long chave) {
+        return (int) (campo(chave, bitsId, bitsData) + minData);
+    }
+
+    public int id(long chave) {
+        return (int) (campo(chave, 0, bitsId) + minId);
+    }
+
+    private static long campo(long chave, int desloc, int bits) {
+        return bits == 0 ? 0 : (chave >>> desloc) & ((1L << bits) - 1);
+    }
+
+    // ========== ORDENAÇÃO ==========
+
+    public static int[] argsort(Registro[] registros) {
+        int n = registros.length;
+        int[] prioridade = new int[n], data = new int[n], id = new int[n];
+        for (int i = 0; i < n; i++) {
+            prioridade[i] = registros[i].prioridade;
+            // a data é convertida uma vez por registro, não uma vez por comparação
+            data[i] = Registro.diaEpoch(registros[i].data);
+            id[i] = registros[i].id;
+        }
+        return calcular(prioridade, data, id).argsort(prioridade, data, id);
+    }
+
+    public static int[] argsort(TabelaColunar tabela) {
+        int[] prioridade = tabela.colunaInt("prioridade");
+        int[] data = tabela.colunaInt("data");
+        int[] id = tabela.colunaInt("id");
+        return calcular(prioridade, data, id).argsort(prioridade, data, id);
+    }
+
+    // Permutação que ordena por (prioridade, data, id), estável nos empates
+    public int[] argsort(int[] prioridade, int[] data, int[] id) {
+        int n = prioridade.length;
+        if (cabeIndice()) {
+            long[] chaves = new long[n];
+            for (int i = 0; i < n; i++) {
+                chaves[i] = (compactar(prioridade[i], data[i], id[i]) << bitsIndice) | i;
+            }
+            // os bits altos sem uso são zero em todas as chaves e o radix pula essas passadas
+            new RadixSort(16).ordenar(chaves);
+            int[] perm = new int[n];
+            long mascaraIndice = (1L << bitsIndice) - 1;
+            for (int i = 0; i < n; i++) perm[i] = (int) (chaves[i] & mascaraIndice);
+            return perm;
+        }
+        if (bitsCampos() <= 64) {
+            long[] chaves = new long[n];
+            for (int i = 0; i < n; i++) {
+                // com 64 bits usados a ordem tem de ser sem sinal: desloca para a faixa com sinal
+                chaves[i] = compactar(prioridade[i], data[i], id[i]) ^ Long.MIN_VALUE;
+            }
+            return new RadixSort(16).argsort(chaves);
+        }
+        // Não cabe nem sem o índice: LSD por campos. Ordena por id e depois, de forma
+        // estável, por (prioridade, data) já na ordem obtida.
+        RadixSort radix = new RadixSort(16);
+        int[] porId = radix.argsort(id);
+        long[] chavesAltas = new long[n];
+        for (int i = 0; i < n; i++) {
+            int j = porId[i];
+            long alta = (((long) prioridade[j] - minPrioridade) << bitsData) | ((long) data[j] - minData);
+            chavesAltas[i] = alta ^ Long.MIN_VALUE;
+        }
+        int[] perm = radix.argsort(chavesAltas);
+        for (int i = 0; i < n; i++) perm[i] = porId[perm[i]];
+        return perm;
+    }
+
+    public static Registro[] ordenar(Registro[] registros) {
+        return TabelaColunar.reunir(registros, argsort(registros));
+    }
+
+    // ========== AUXILIARES ==========
+
+    private static int[] faixa(int[] coluna) {
+        if (coluna.length == 0) return new int[]{0, 0};
+        int min = coluna[0], max = coluna[0];
+        for (int v : coluna) {
+            if (v < min) min = v;
+            if (v > max) max = v;
+        }
+        return new int[]{min, max};
+    }
+
+    // bits necessários para representar valores em [0, maximo]
+    private static int bits(long maximo) {
+        return 64 - Long.numberOfLeadingZeros(maximo);
+    }
+
+    @Override
+    public String toString() {
+        return "ChaveComposta[prioridade=" + bitsPrioridade + " bits, data=" + bitsData
+                + " bits, id=" + bitsId + " bits, índice=" + (cabeIndice() ? bitsIndice + " bits" : "separado") + "]";
+    }
+}
@@ -1,4 +1,6 @@
 import java.io.*;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -6,8 +8,12 @@ public class CompararSorts {
     public static void main(String[] args) {
         String caminhoCSV = "data/dados.csv";
         try {
-            // 1. Ler registros do CSV
-            Registro[] registros = lerRegistros(caminhoCSV);
+            // 1. Ler só id e prioridade (o que a comparação usa) do CSV, ou do snapshot
+            //    binário se o CSV não mudou
+            Path csv = Paths.get(caminhoCSV);
+            SnapshotColunar snapshot = SnapshotColunar.abrir(csv, SnapshotColunar.caminhoPadrao(csv),
+                    SnapshotColunar.Validacao.TAMANHO_E_DATA, LeitorEsquema.GERAR_CSV, "id", "prioridade");
+            Registro[] registros = snapshot.registros();
             int n = registros.length;
             if (n == 0) {
                 System.out.println("Nenhum registro encontrado no CSV.");
@@ -17,6 +23,9 @@ public class CompararSorts {
             Registro[] paraMerge = copiarArray(registros);
             Registro[] paraQuick = copiarArray(registros);
             Registro[] paraHeap = copiarArray(registros);
+            Registro[] paraMergeParalelo = copiarArray(registros);
+            Registro[] paraCounting = copiarArray(registros);
+            Registro[] paraSeletor = copiarArray(registros);
             // 3. Merge Sort
             long inicioMerge = System.nanoTime();
             AlgoritmosOrdenacao.mergeSort(paraMerge);
@@ -32,38 +41,66 @@ public class CompararSorts {
             AlgoritmosOrdenacao.heapSort(paraHeap);
             long fimHeap = System.nanoTime();
             long tempoHeap = fimHeap - inicioHeap;
+            // 5.1 Merge Sort Paralelo (fork-join)
+            long inicioMergeParalelo = System.nanoTime();
+            AlgoritmosOrdenacao.mergeSortParalelo(paraMergeParalelo);
+            long fimMergeParalelo = System.nanoTime();
+            long tempoMergeParalelo = fimMergeParalelo - inicioMergeParalelo;
+            // 5.2 Counting Sort (prioridade só vai de 1 a 5)
+            long inicioCounting = System.nanoTime();
+            AlgoritmosOrdenacao.countingSortPorPrioridade(paraCounting);
+            long fimCounting = System.nanoTime();
+            long tempoCounting = fimCounting - inicioCounting;
+            // 5.3 Seletor adaptativo (escolhe o motor pela amostra da entrada)
+            long inicioSeletor = System.nanoTime();
+            SeletorAlgoritmo.Motor motorSeletor = SeletorAlgoritmo.padrao().ordenar(paraSeletor);
+            long fimSeletor = System.nanoTime();
+            long tempoSeletor = fimSeletor - inicioSeletor;
+            // 5.4 Permutação guardada no snapshot (só o gather, sem ordenar)
+            long inicioSnapshot = System.nanoTime();
+            Registro[] doSnapshot = snapshot.registrosOrdenadosPor("prioridade");
+            long fimSnapshot = System.nanoTime();
+            long tempoSnapshot = fimSnapshot - inicioSnapshot;
             // 6. Validar se todos produziram a mesma ordenação por prioridade
             boolean mergeVsQuick = mesmaOrdenacao(paraMerge, paraQuick);
             boolean mergeVsHeap = mesmaOrdenacao(paraMerge, paraHeap);
+            // as duas versões do merge são estáveis: precisam bater registro a registro
+            boolean mergeVsParalelo = mesmaOrdenacao(paraMerge, paraMergeParalelo);
+            boolean mergeVsCounting = mesmaOrdenacao(paraMerge, paraCounting);
+            boolean mergeVsSeletor = mesmaOrdenacao(paraMerge, paraSeletor);
+            boolean mergeVsSnapshot = mesmaOrdenacao(paraMerge, doSnapshot);
             // 7. Gerar relatório
-            gerarRelatorio(tempoMerge, tempoQuick, tempoHeap,
-                    mergeVsQuick && mergeVsHeap, n);
-            System.out.println("✓ Comparação concluída. Relatório gerado em data/relatorio_sorts.txt");
+            gerarRelatorio(tempoMerge, tempoQuick, tempoHeap, tempoMergeParalelo, tempoCounting,
+                    tempoSeletor, motorSeletor, tempoSnapshot, snapshot.doCache(),
+                    mergeVsQuick && mergeVsHeap, mergeVsParalelo, mergeVsCounting, mergeVsSeletor,
+                    mergeVsSnapshot, n);
+            System.out.println("✓ Comparação concluída. Relatório gerado em data/relatorio_sorts.txt"
+                    + (snapshot.doCache() ? " (dados do snapshot binário)" : ""));
         } catch (IOException e) {
             System.err.println("Erro: " + e.getMessage());
             e.printStackTrace();
         }
     }
 
-    private static Registro[] lerRegistros(String caminho) throws IOException {
+    static Registro[] lerRegistros(String caminho) throws IOException {
         List<Registro> lista = new ArrayList<>();
         try (BufferedReader br = new BufferedReader(new FileReader(caminho))) {
             String linha = br.readLine(); // cabeçalho
             if (linha == null) return new Registro[0];
             while ((linha = br.readLine()) != null) {
-                String[] partes = linha.split(",");
-                if (partes.length < 5) continue;
-                int id = Integer.parseInt(partes[0]);
-                String nome = partes[1];
-                String cpf = partes[2];
-                int prioridade = Integer.parseInt(partes[3]);
-                String data = partes[4];
-                lista.add(new Registro(id, nome, cpf, prioridade, data));
+                Registro r = Registro.deLinhaCSV(linha);
+                if (r != null) lista.add(r);
             }
         }
         return lista.toArray(new Registro[0]);
     }
 
+    private static String linhaTempo(String algoritmo, long tempoNs, int qtdRegistros) {
+        double ms = tempoNs / 1_000_000.0;
+        double milhoesPorSegundo = tempoNs == 0 ? 0 : qtdRegistros / (tempoNs / 1_000.0);
+        return String.format("%-36s %10.3f ms  %10.2f M reg/s%n", algoritmo + ":", ms, milhoesPorSegundo);
+    }
+
     private static Registro[] copiarArray(Registro[] origem) {
         Registro[] copia = new Registro[origem.length];
         System.arraycopy(origem, 0, copia, 0, origem.length);
@@ -84,32 +121,57 @@ public class CompararSorts {
     }
 
     private static void gerarRelatorio(long tempoMerge, long tempoQuick, long tempoHeap,
-                                       boolean mesmaOrdenacao, int qtdRegistros) throws IOException {
+                                       long tempoMergeParalelo, long tempoCounting,
+                                       long tempoSeletor, SeletorAlgoritmo.Motor motorSeletor,
+                                       long tempoSnapshot, boolean snapshotDoCache,
+                                       boolean mesmaOrdenacao, boolean mergeParaleloIdentico,
+                                       boolean countingIdentico, boolean seletorIdentico,
+                                       boolean snapshotIdentico, int qtdRegistros) throws IOException {
         String caminhoRelatorio = "data/relatorio_sorts.txt";
         try (FileWriter writer = new FileWriter(caminhoRelatorio)) {
             writer.write("RELATÓRIO DE COMPARAÇÃO DE ALGORITMOS DE ORDENAÇÃO\n");
             writer.write("==================================================\n\n");
             writer.write("Quantidade de registros: " + qtdRegistros + "\n");
             writer.write("Campo utilizado para ordenação: prioridade (1 = mais)\n\n");
-            writer.write("TEMPOS (em milissegundos aproximados)\n");
-            writer.write("-------------------------------------\n");
-            writer.write(String.format("Merge Sort: %.3f ms%n", tempoMerge / 1_000_000.0));
-            writer.write(String.format("Quick Sort: %.3f ms%n", tempoQuick / 1_000_000.0));
-            writer.write(String.format("Heap Sort:  %.3f ms%n", tempoHeap /  1_000_000.0));
+            writer.write("TEMPOS (em milissegundos aproximados) E VAZÃO (milhões de registros/s)\n");
+            writer.write("----------------------------------------------------------------------\n");
+            writer.write(linhaTempo("Merge Sort", tempoMerge, qtdRegistros));
+            writer.write(linhaTempo("Quick Sort", tempoQuick, qtdRegistros));
+            writer.write(linhaTempo("Heap Sort", tempoHeap, qtdRegistros));
+            writer.write(linhaTempo("Merge Sort Paralelo (" + Runtime.getRuntime().availableProcessors() + " núcleos)",
+                    tempoMergeParalelo, qtdRegistros));
+            writer.write(linhaTempo("Counting Sort", tempoCounting, qtdRegistros));
+            writer.write(linhaTempo("Seletor Adaptativo (" + motorSeletor + ")", tempoSeletor, qtdRegistros));
+            writer.write(linhaTempo("Snapshot (" + (snapshotDoCache ? "permutação em cache" : "recém-gravado") + ")",
+                    tempoSnapshot, qtdRegistros));
             writer.write("\n");
-            writer.write("Ordenações idênticas entre si? " + (mesmaOrdenacao ? "SIM" : "NÃO") + "\n\n");
+            writer.write("Ordenações idênticas entre si? " + (mesmaOrdenacao ? "SIM" : "NÃO") + "\n");
+            writer.write("Merge Sort Paralelo idêntico ao Merge Sort? " + (mergeParaleloIdentico ? "SIM" : "NÃO") + "\n");
+            writer.write("Counting Sort idêntico ao Merge Sort? " + (countingIdentico ? "SIM" : "NÃO") + "\n");
+            writer.write("Seletor Adaptativo idêntico ao Merge Sort? " + (seletorIdentico ? "SIM" : "NÃO") + "\n");
+            writer.write("Permutação do snapshot idêntica ao Merge Sort? " + (snapshotIdentico ? "SIM" : "NÃO") + "\n\n");
             writer.write("ANÁLISE TEÓRICA\n");
             writer.write("----------------\n");
             writer.write("- Merge Sort:\n");
             writer.write("  • Complexidade: O(n log n) no melhor, médio e pior caso.\n");
             writer.write("  • Estável (mantém a ordem relativa de elementos com a mesma prioridade).\n");
-            writer.write("  • Usa memória extra proporcional ao tamanho do vetor (não é in-place).\n\n");
-            writer.write("- Quick Sort:\n");
-            writer.write("  • Complexidade média: O(n log n), mas pior caso O(n^2).\n");
+            writer.write("  • Usa memória extra proporcional ao tamanho do vetor (não é in-place).\n");
+            writer.write("  • A versão paralela divide o vetor em tarefas fork-join e também\n");
+            writer.write("    intercala em paralelo, mantendo exatamente a mesma ordem estável.\n\n");
+            writer.write("- Quick Sort (introsort):\n");
+            writer.write("  • Complexidade média: O(n log n); o limite de profundidade troca para\n");
+            writer.write("    Heap Sort, então o pior caso também fica em O(n log n).\n");
+            writer.write("  • Partição em três vias: chaves repetidas (prioridade 1..5) não\n");
+            writer.write("    desequilibram a recursão.\n");
             writer.write("  • Geralmente é o mais rápido na prática para dados em RAM,\n");
             writer.write("    devido a melhor localidade de cache e poucas operações extras.\n");
             writer.write("  • Não é estável na forma clássica.\n");
             writer.write("  • É in-place (usa pouca memória extra).\n\n");
+            writer.write("- Counting Sort:\n");
+            writer.write("  • Complexidade: O(n + k), onde k é a quantidade de chaves possíveis\n");
+            writer.write("    (prioridade vai de 1 a 5, então k = 5).\n");
+            writer.write("  • Não compara elementos: só conta e distribui. Estável.\n");
+            writer.write("  • Em entradas grandes o histograma e a distribuição rodam em paralelo.\n\n");
             writer.write("- Heap Sort:\n");
             writer.write("  • Complexidade: O(n log n) em qualquer caso.\n");
             writer.write("  • In-place (não usa memória extra relevante).\n");
@@ -0,0 +1,267 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Conjunto de Registro mantido em ordem, atualizado por lotes de inserções, alterações
+// e remoções sem reordenar tudo de novo.
+//
+// Cada registro guarda um número de sequência: a posição de chegada (o índice no vetor
+// inicial, e depois um contador para as inserções). A ordem é (spec, sequência), ou
+// seja, exatamente a de uma ordenação estável completa dos registros atuais na ordem
+// do arquivo. Uma alteração mantém a sequência do registro, como uma linha editada no
+// lugar dentro do CSV.
+//
+// aplicar(lote) ordena só o delta (k log k) e o intercala com a ordem atual:
+//  - k pequeno (k·log2(n) < n): cada posição de inserção e de remoção é achada por
+//    busca binária (k log n comparações) e o resto é copiado em blocos com arraycopy;
+//  - k grande: intercalação linear, O(k log k + n) comparações.
+// Os dois caminhos dão o mesmo resultado. Como as comparações aqui usam o Comparator
+// da especificação (sem chaves pré-calculadas), com lotes da ordem de 10% de n
+// reordenar tudo com AlgoritmosOrdenacao.mergeSort(arr, spec) já sai mais barato.
+//
+// Os registros são identificados pelo id; um id aparece no máximo uma vez por lote.
+// Não é thread-safe.
+public class ConjuntoOrdenado {
+
+    private final EspecificacaoOrdenacao spec;
+    private final Comparator<Registro> cmp;
+    private Registro[] ordenados;
+    private long[] sequencias;
+    private int tamanho;
+    private final Map<Integer, Entrada> porId;
+    private long proximaSequencia;
+
+    private static final class Entrada {
+        final Registro registro;
+        final long sequencia;
+
+        Entrada(Registro registro, long sequencia) {
+            this.registro = registro;
+            this.sequencia = sequencia;
+        }
+    }
+
+    // Ordena os registros iniciais uma vez (merge sort por especificação, estável)
+    public ConjuntoOrdenado(Registro[] iniciais, EspecificacaoOrdenacao spec) {
+        this.spec = spec;
+        this.cmp = spec.comparador();
+        this.porId = new HashMap<>(iniciais.length * 2);
+        for (int i = 0; i < iniciais.length; i++) {
+            if (porId.put(iniciais[i].id, new Entrada(iniciais[i], i)) != null) {
+                throw new IllegalArgumentException("id repetido: " + iniciais[i].id);
+            }
+        }
+        this.proximaSequencia = iniciais.length;
+        this.ordenados = iniciais.clone();
+        AlgoritmosOrdenacao.mergeSort(ordenados, spec);
+        this.tamanho = ordenados.length;
+        this.sequencias = new long[tamanho];
+        for (int i = 0; i < tamanho; i++) sequencias[i] = porId.get(ordenados[i].id).sequencia;
+    }
+
+    public ConjuntoOrdenado(Registro[] iniciais) {
+        this(iniciais, EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE));
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    public EspecificacaoOrdenacao getEspecificacao() {
+        return spec;
+    }
+
+    public Registro[] emOrdem() {
+        return Arrays.copyOf(ordenados, tamanho);
+    }
+
+    public Registro get(int posicao) {
+        if (posicao < 0 || posicao >= tamanho) throw new IndexOutOfBoundsException("posição " + posicao + ", tamanho " + tamanho);
+        return ordenados[posicao];
+    }
+
+    // ========== LOTE ==========
+
+    public static Lote lote() {
+        return new Lote();
+    }
+
+    public static final class Lote {
+        private final List<Registro> insercoes = new ArrayList<>();
+        private final List<Registro> alteracoes = new ArrayList<>();
+        private final List<Integer> remocoes = new ArrayList<>();
+
+        public Lote inserir(Registro r) {
+            insercoes.add(r);
+            return this;
+        }
+
+        // substitui o registro de mesmo id, mantendo a posição de chegada dele
+        public Lote alterar(Registro r) {
+            alteracoes.add(r);
+            return this;
+        }
+
+        public Lote remover(int id) {
+            remocoes.add(id);
+            return this;
+        }
+
+        public int tamanho() {
+            return insercoes.size() + alteracoes.size() + remocoes.size();
+        }
+
+        Registro insercao(int i) {
+            return insercoes.get(i);
+        }
+    }
+
+    // ========== APLICAÇÃO ==========
+
+    public void aplicar(Lote lote) {
+        // 1. valida o lote inteiro antes de mexer em qualquer coisa
+        Map<Integer, Boolean> vistos = new HashMap<>(lote.tamanho() * 2);
+        for (Registro r : lote.insercoes) {
+            marcar(vistos, r.id);
+            if (porId.containsKey(r.id)) throw new IllegalArgumentException("id já existe: " + r.id);
+        }
+        for (Registro r : lote.alteracoes) {
+            marcar(vistos, r.id);
+            existente(r.id);
+        }
+        for (int id : lote.remocoes) {
+            marcar(vistos, id);
+            existente(id);
+        }
+
+        // delta: os que saem (versão atual) e os que entram, com as sequências
+        int kSai = lote.alteracoes.size() + lote.remocoes.size();
+        int kEntra = lote.insercoes.size() + lote.alteracoes.size();
+        Entrada[] saem = new Entrada[kSai];
+        Entrada[] entram = new Entrada[kEntra];
+        int s = 0, e = 0;
+        for (Registro r : lote.insercoes) entram[e++] = new Entrada(r, proximaSequencia++);
+        for (Registro r : lote.alteracoes) {
+            Entrada antiga = porId.get(r.id);
+            saem[s++] = antiga;
+            entram[e++] = new Entrada(r, antiga.sequencia);
+        }
+        for (int id : lote.remocoes) saem[s++] = porId.get(id);
+
+        // 2. ordena só o delta
+        Comparator<Entrada> ordem = (a, b) -> comparar(a.registro, a.sequencia, b.registro, b.sequencia);
+        Arrays.sort(entram, ordem);
+        Arrays.sort(saem, ordem);
+
+        // 3. intercala com a ordem atual
+        int k = kSai + kEntra;
+        int novoTamanho = tamanho - kSai + kEntra;
+        Registro[] novos = new Registro[novoTamanho];
+        long[] novasSeq = new long[novos.length];
+        if ((long) k * (32 - Integer.numberOfLeadingZeros(tamanho)) < tamanho) {
+            intercalarPorBusca(saem, entram, novos, novasSeq);
+        } else {
+            intercalarLinear(saem, entram, novos, novasSeq);
+        }
+        ordenados = novos;
+        sequencias = novasSeq;
+        tamanho = novoTamanho;
+
+        for (Entrada x : saem) porId.remove(x.registro.id);
+        for (Entrada x : entram) porId.put(x.registro.id, x);
+    }
+
+    private static void marcar(Map<Integer, Boolean> vistos, int id) {
+        if (vistos.put(id, Boolean.TRUE) != null) throw new IllegalArgumentException("id repetido no lote: " + id);
+    }
+
+    private Entrada existente(int id) {
+        Entrada x = porId.get(id);
+        if (x == null) throw new IllegalArgumentException("id não existe: " + id);
+        return x;
+    }
+
+    private int comparar(Registro a, long seqA, Registro b, long seqB) {
+        int c = cmp.compare(a, b);
+        return c != 0 ? c : Long.compare(seqA, seqB);
+    }
+
+    // Percorre o vetor atual uma vez: pula os que saem (estão na mesma ordem, então a
+    // próxima saída é sempre a próxima a aparecer; a sequência identifica o registro)
+    // e encaixa os que entram antes do primeiro maior.
+    private void intercalarLinear(Entrada[] saem, Entrada[] entram, Registro[] novos, long[] novasSeq) {
+        int s = 0, e = 0, d = 0;
+        for (int i = 0; i < tamanho; i++) {
+            if (s < saem.length && saem[s].sequencia == sequencias[i]) {
+                s++;
+                continue;
+            }
+            while (e < entram.length && comparar(entram[e].registro, entram[e].sequencia, ordenados[i], sequencias[i]) < 0) {
+                novos[d] = entram[e].registro;
+                novasSeq[d++] = entram[e++].sequencia;
+            }
+            novos[d] = ordenados[i];
+            novasSeq[d++] = sequencias[i];
+        }
+        while (e < entram.length) {
+            novos[d] = entram[e].registro;
+            novasSeq[d++] = entram[e++].sequencia;
+        }
+    }
+
+    // Acha por busca binária a posição de cada saída e o ponto de inserção de cada
+    // entrada; entre esses pontos, o vetor atual é copiado em blocos.
+    private void intercalarPorBusca(Entrada[] saem, Entrada[] entram, Registro[] novos, long[] novasSeq) {
+        int[] posSai = new int[saem.length];
+        int de = 0;
+        for (int i = 0; i < saem.length; i++) {
+            // (registro, sequência) é único: a busca cai exatamente nele
+            posSai[i] = primeiroNaoMenor(saem[i].registro, saem[i].sequencia, de);
+            de = posSai[i] + 1;
+        }
+        int[] posEntra = new int[entram.length];
+        de = 0;
+        for (int i = 0; i < entram.length; i++) {
+            posEntra[i] = primeiroNaoMenor(entram[i].registro, entram[i].sequencia, de);
+            de = posEntra[i];
+        }
+
+        int origem = 0, d = 0, s = 0, e = 0;
+        while (s < posSai.length || e < posEntra.length) {
+            // próximo evento: uma entrada vai antes de uma saída na mesma posição
+            boolean entra = s == posSai.length || (e < posEntra.length && posEntra[e] <= posSai[s]);
+            int ate = entra ? posEntra[e] : posSai[s];
+            d = copiar(origem, ate, novos, novasSeq, d);
+            origem = ate;
+            if (entra) {
+                novos[d] = entram[e].registro;
+                novasSeq[d++] = entram[e++].sequencia;
+            } else {
+                origem++; // pula o registro que sai
+                s++;
+            }
+        }
+        copiar(origem, tamanho, novos, novasSeq, d);
+    }
+
+    private int copiar(int de, int ate, Registro[] novos, long[] novasSeq, int d) {
+        int qtd = ate - de;
+        System.arraycopy(ordenados, de, novos, d, qtd);
+        System.arraycopy(sequencias, de, novasSeq, d, qtd);
+        return d + qtd;
+    }
+
+    // primeira posição em [de, tamanho) cujo (registro, sequência) não é menor que o dado
+    private int primeiroNaoMenor(Registro r, long seq, int de) {
+        int lo = de, hi = tamanho;
+        while (lo < hi) {
+            int meio = (lo + hi) >>> 1;
+            if (comparar(ordenados[meio], sequencias[meio], r, seq) < 0) lo = meio + 1;
+            else hi = meio;
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,247 @@
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Descreve por quais campos ordenar, em que sentido e com quais desempates:
+//
+//   EspecificacaoOrdenacao.por(Campo.PRIORIDADE)
+//           .depoisPorDecrescente(Campo.DATA)
+//           .depoisPor(Campo.NOME);
+//
+// Os motores não comparam Registro diretamente: extrair() calcula as chaves de
+// cada registro uma única vez (transformada de Schwartz) e a ordenação só compara
+// long. Nomes são normalizados (sem acento, minúsculos) e viram posições num
+// dicionário ordenado; datas viram dias desde 1970; CPF vira número.
+public final class EspecificacaoOrdenacao {
+
+    public enum Campo { ID, NOME, CPF, PRIORIDADE, DATA }
+
+    private final List<Campo> campos = new ArrayList<>();
+    private final List<Boolean> decrescente = new ArrayList<>();
+
+    private EspecificacaoOrdenacao() {
+    }
+
+    public static EspecificacaoOrdenacao por(Campo campo) {
+        return new EspecificacaoOrdenacao().depoisPor(campo);
+    }
+
+    public static EspecificacaoOrdenacao porDecrescente(Campo campo) {
+        return new EspecificacaoOrdenacao().depoisPorDecrescente(campo);
+    }
+
+    public EspecificacaoOrdenacao depoisPor(Campo campo) {
+        campos.add(campo);
+        decrescente.add(false);
+        return this;
+    }
+
+    public EspecificacaoOrdenacao depoisPorDecrescente(Campo campo) {
+        campos.add(campo);
+        decrescente.add(true);
+        return this;
+    }
+
+    // ========== CHAVES PRECOMPUTADAS ==========
+
+    public Chaves extrair(Registro[] registros) {
+        long[][] colunas = new long[campos.size()][];
+        for (int c = 0; c < campos.size(); c++) colunas[c] = extrairCampo(campos.get(c), registros);
+        return montar(colunas, registros.length);
+    }
+
+    // Mesmas chaves, lidas direto das colunas compactas (nenhuma String por registro)
+    public Chaves extrair(RegistrosCompactos registros) {
+        long[][] colunas = new long[campos.size()][];
+        for (int c = 0; c < campos.size(); c++) colunas[c] = extrairCampo(campos.get(c), registros);
+        return montar(colunas, registros.tamanho());
+    }
+
+    private Chaves montar(long[][] colunas, int n) {
+        for (int c = 0; c < colunas.length; c++) {
+            long[] col = colunas[c];
+            if (decrescente.get(c)) {
+                // ~v inverte a ordem sem estourar como aconteceria com -v em Long.MIN_VALUE
+                for (int i = 0; i < n; i++) col[i] = ~col[i];
+            }
+        }
+        return new Chaves(compactarSeCouber(colunas, n));
+    }
+
+    private static long[] extrairCampo(Campo campo, Registro[] registros) {
+        int n = registros.length;
+        long[] col = new long[n];
+        switch (campo) {
+            case ID:
+                for (int i = 0; i < n; i++) col[i] = registros[i].id;
+                break;
+            case PRIORIDADE:
+                for (int i = 0; i < n; i++) col[i] = registros[i].prioridade;
+                break;
+            case DATA:
+                for (int i = 0; i < n; i++) col[i] = Registro.diaEpoch(registros[i].data);
+                break;
+            case CPF:
+                for (int i = 0; i < n; i++) col[i] = cpfNumerico(registros[i].cpf);
+                break;
+            case NOME:
+                // poucos nomes distintos: normaliza cada um só uma vez
+                Map<String, String> cache = new HashMap<>();
+                String[] normalizados = new String[n];
+                for (int i = 0; i < n; i++) {
+                    normalizados[i] = cache.computeIfAbsent(registros[i].nome, EspecificacaoOrdenacao::normalizarNome);
+                }
+                int[] rank = TabelaColunar.rankDenso(normalizados);
+                for (int i = 0; i < n; i++) col[i] = rank[i];
+                break;
+        }
+        return col;
+    }
+
+    private static long[] extrairCampo(Campo campo, RegistrosCompactos r) {
+        int n = r.tamanho();
+        long[] col = new long[n];
+        switch (campo) {
+            case ID:
+                for (int i = 0; i < n; i++) col[i] = r.id[i];
+                break;
+            case PRIORIDADE:
+                for (int i = 0; i < n; i++) col[i] = r.prioridade[i];
+                break;
+            case DATA:
+                for (int i = 0; i < n; i++) col[i] = r.data[i];
+                break;
+            case CPF:
+                for (int i = 0; i < n; i++) col[i] = r.cpf[i];
+                break;
+            case NOME:
+                // normaliza e ordena só os nomes distintos do dicionário
+                RegistrosCompactos.Dicionario d = r.dicionarioNomes();
+                String[] normalizados = new String[d.tamanho()];
+                for (int c = 0; c < normalizados.length; c++) normalizados[c] = normalizarNome(d.texto(c));
+                int[] rank = TabelaColunar.rankDenso(normalizados);
+                for (int i = 0; i < n; i++) col[i] = rank[r.nome[i]];
+                break;
+        }
+        return col;
+    }
+
+    // Junta todas as colunas num único long quando as faixas somadas cabem em 63
+    // bits; aí cada comparação vira um único Long.compare.
+    private static long[][] compactarSeCouber(long[][] colunas, int n) {
+        if (colunas.length < 2 || n == 0) return colunas;
+        long[] minimos = new long[colunas.length];
+        int[] bits = new int[colunas.length];
+        int total = 0;
+        for (int c = 0; c < colunas.length; c++) {
+            long min = Long.MAX_VALUE, max = Long.MIN_VALUE;
+            for (long v : colunas[c]) {
+                if (v < min) min = v;
+                if (v > max) max = v;
+            }
+            long faixa = max - min;
+            if (faixa < 0) return colunas; // a diferença estourou: faixa maior que 63 bits
+            minimos[c] = min;
+            bits[c] = 64 - Long.numberOfLeadingZeros(faixa);
+            total += bits[c];
+        }
+        if (total > 63) return colunas;
+        long[] unica = new long[n];
+        for (int c = 0; c < colunas.length; c++) {
+            long[] col = colunas[c];
+            long min = minimos[c];
+            int b = bits[c];
+            for (int i = 0; i < n; i++) unica[i] = (unica[i] << b) | (col[i] - min);
+        }
+        return new long[][]{unica};
+    }
+
+    // Chaves de cada registro, indexadas pela posição no vetor original. Classe final
+    // e sem interface: a chamada de comparar() nos laços dos motores é monomórfica.
+    public static final class Chaves {
+        private final long[][] colunas;
+        private final long[] primeira;
+
+        Chaves(long[][] colunas) {
+            this.colunas = colunas;
+            this.primeira = colunas[0];
+        }
+
+        public int comparar(int a, int b) {
+            int r = Long.compare(primeira[a], primeira[b]);
+            for (int c = 1; r == 0 && c < colunas.length; c++) {
+                r = Long.compare(colunas[c][a], colunas[c][b]);
+            }
+            return r;
+        }
+
+        public int tamanho() {
+            return primeira.length;
+        }
+
+        public int quantidadeColunas() {
+            return colunas.length;
+        }
+    }
+
+    // ========== COMPARATOR ==========
+
+    // Mesma ordem de extrair(), mas calculando as chaves a cada comparação. Serve
+    // para quando não há um vetor para preprocessar (ex: registros chegando em fluxo).
+    public Comparator<Registro> comparador() {
+        Comparator<Registro> resultado = null;
+        for (int c = 0; c < campos.size(); c++) {
+            Comparator<Registro> cmp = comparadorCampo(campos.get(c));
+            if (decrescente.get(c)) cmp = cmp.reversed();
+            resultado = resultado == null ? cmp : resultado.thenComparing(cmp);
+        }
+        return resultado;
+    }
+
+    private static Comparator<Registro> comparadorCampo(Campo campo) {
+        switch (campo) {
+            case ID:
+                return Comparator.comparingInt(r -> r.id);
+            case PRIORIDADE:
+                return Comparator.comparingInt(r -> r.prioridade);
+            case DATA:
+                // ISO yyyy-MM-dd: a ordem do texto é a ordem cronológica
+                return Comparator.comparing(r -> r.data);
+            case CPF:
+                return Comparator.comparingLong(r -> cpfNumerico(r.cpf));
+            default:
+                return Comparator.comparing(r -> normalizarNome(r.nome));
+        }
+    }
+
+    // ========== NORMALIZAÇÃO ==========
+
+    static String normalizarNome(String nome) {
+        String semAcento = Normalizer.normalize(nome, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return semAcento.toLowerCase(Locale.ROOT);
+    }
+
+    static long cpfNumerico(String cpf) {
+        long v = 0;
+        for (int i = 0; i < cpf.length(); i++) {
+            char ch = cpf.charAt(i);
+            if (ch >= '0' && ch <= '9') v = v * 10 + (ch - '0');
+        }
+        return v;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int c = 0; c < campos.size(); c++) {
+            if (c > 0) sb.append(", ");
+            sb.append(campos.get(c).name().toLowerCase(Locale.ROOT));
+            if (decrescente.get(c)) sb.append(" desc");
+        }
+        return sb.toString();
+    }
+}
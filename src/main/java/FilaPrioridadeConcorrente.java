@@ -0,0 +1,148 @@
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+// Fila de prioridade concorrente para prioridades inteiras pequenas (até 64 níveis),
+// pensada para ingestão contínua de Registro: produtores chegam com registros a
+// qualquer momento e consumidores tiram sempre o de menor prioridade (1 = mais urgente).
+//
+// Um ConcurrentLinkedQueue (sem trava) por nível mantém a ordem de chegada dentro do
+// nível; um bitmap atômico marca os níveis não vazios, e poll() vai direto ao bit mais
+// baixo com numberOfTrailingZeros em vez de percorrer os níveis.
+//
+// Protocolo do bitmap: o produtor enfileira e só depois liga o bit. O consumidor que
+// encontra o nível vazio desliga o bit e confere o nível de novo; se algo chegou nesse
+// meio tempo, religa. Assim um bit nunca fica desligado com elementos no nível.
+// Como no ConcurrentLinkedQueue, poll() pode não ver um elemento que está sendo
+// enfileirado no mesmo instante, e size() é aproximado sob concorrência.
+public class FilaPrioridadeConcorrente<T> {
+
+    static final int MAX_NIVEIS = Long.SIZE;
+
+    private final ConcurrentLinkedQueue<T>[] niveis;
+    private final AtomicLong naoVazios = new AtomicLong();
+    private final LongAdder tamanho = new LongAdder();
+    private final ToIntFunction<? super T> prioridade;
+    private final int minimo;
+
+    public FilaPrioridadeConcorrente(ToIntFunction<? super T> prioridade, int minimo, int maximo) {
+        if (maximo < minimo || (long) maximo - minimo >= MAX_NIVEIS) {
+            throw new IllegalArgumentException("Faixa de prioridade deve ter de 1 a " + MAX_NIVEIS
+                    + " níveis: [" + minimo + ", " + maximo + "]");
+        }
+        this.prioridade = prioridade;
+        this.minimo = minimo;
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ConcurrentLinkedQueue<T>[] filas = new ConcurrentLinkedQueue[maximo - minimo + 1];
+        for (int i = 0; i < filas.length; i++) filas[i] = new ConcurrentLinkedQueue<>();
+        this.niveis = filas;
+    }
+
+    // prioridade de 1 (mais urgente) a 5, como em GerarCSV
+    public static FilaPrioridadeConcorrente<Registro> paraRegistros() {
+        return paraRegistros(1, 5);
+    }
+
+    public static FilaPrioridadeConcorrente<Registro> paraRegistros(int minimo, int maximo) {
+        return new FilaPrioridadeConcorrente<>(r -> r.prioridade, minimo, maximo);
+    }
+
+    // ========== PRODUTORES ==========
+
+    public boolean offer(T item) {
+        int nivel = nivel(item);
+        niveis[nivel].offer(item);
+        tamanho.increment();
+        long bit = 1L << nivel;
+        // evita o CAS quando o bit já está ligado (caso comum com fila cheia)
+        if ((naoVazios.get() & bit) == 0) naoVazios.getAndUpdate(m -> m | bit);
+        return true;
+    }
+
+    private int nivel(T item) {
+        int p = prioridade.applyAsInt(item);
+        int nivel = p - minimo;
+        if (nivel < 0 || nivel >= niveis.length) {
+            throw new IllegalArgumentException("Prioridade fora da faixa [" + minimo + ", "
+                    + (minimo + niveis.length - 1) + "]: " + p);
+        }
+        return nivel;
+    }
+
+    // ========== CONSUMIDORES ==========
+
+    // o mais urgente disponível, ou null se a fila estiver vazia
+    public T poll() {
+        long mapa;
+        while ((mapa = naoVazios.get()) != 0) {
+            int nivel = Long.numberOfTrailingZeros(mapa);
+            T item = niveis[nivel].poll();
+            if (item != null) {
+                tamanho.decrement();
+                return item;
+            }
+            esvaziou(nivel);
+        }
+        return null;
+    }
+
+    // Move até 'maximo' itens, em ordem de prioridade, para 'destino'. Devolve quantos.
+    public int drainTo(Collection<? super T> destino, int maximo) {
+        if (destino == null) throw new NullPointerException();
+        int movidos = 0;
+        long mapa;
+        while (movidos < maximo && (mapa = naoVazios.get()) != 0) {
+            int nivel = Long.numberOfTrailingZeros(mapa);
+            ConcurrentLinkedQueue<T> fila = niveis[nivel];
+            T item;
+            while (movidos < maximo && (item = fila.poll()) != null) {
+                destino.add(item);
+                tamanho.decrement();
+                movidos++;
+            }
+            if (movidos < maximo) esvaziou(nivel);
+        }
+        return movidos;
+    }
+
+    public int drainTo(Collection<? super T> destino) {
+        return drainTo(destino, Integer.MAX_VALUE);
+    }
+
+    // desliga o bit do nível e religa se um produtor enfileirou enquanto isso
+    private void esvaziou(int nivel) {
+        long bit = 1L << nivel;
+        naoVazios.getAndUpdate(m -> m & ~bit);
+        if (!niveis[nivel].isEmpty()) naoVazios.getAndUpdate(m -> m | bit);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public T peek() {
+        long mapa = naoVazios.get();
+        while (mapa != 0) {
+            int nivel = Long.numberOfTrailingZeros(mapa);
+            T item = niveis[nivel].peek();
+            if (item != null) return item;
+            mapa &= mapa - 1;
+        }
+        return null;
+    }
+
+    public int size() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, tamanho.sum()));
+    }
+
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    // quantos itens há em um nível de prioridade (O(itens do nível))
+    public int tamanhoNivel(int p) {
+        int nivel = p - minimo;
+        if (nivel < 0 || nivel >= niveis.length) return 0;
+        return niveis[nivel].size();
+    }
+}
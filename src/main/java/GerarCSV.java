@@ -1,86 +1,280 @@
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
+// Gera o CSV de teste (id,nome,cpf,prioridade,data) em paralelo.
+//
+// As linhas são divididas em blocos de LINHAS_POR_BLOCO. Cada bloco tem o seu
+// SplittableRandom, com semente derivada da semente geral e do número do bloco, então
+// o arquivo depende só da semente, da data base e do perfil: o mesmo com 1 ou com 32
+// threads.
+//
+// O perfil (PerfilDistribuicao) decide a chave (prioridade, data), que é a ordem usada
+// pelos benchmarks: um valor v em [0, 5 × DIAS) por linha vira prioridade 1 + v / DIAS
+// e a data v % DIAS dias depois da mais antiga. UNIFORME é o sorteio de sempre;
+// ZIPF concentra quase tudo na prioridade 1.
+//
+// Limitação: essa chave só tem 5 × DIAS = 9125 valores. Até aí os perfis de forma
+// (ORDENADO, DECRESCENTE, SERRA, ORGAO, ADVERSARIO_QUICKSORT...) saem exatos; acima,
+// linhas vizinhas caem no mesmo valor. ORDENADO continua ordenado e DECRESCENTE
+// continua decrescente em degraus (os empates ficam em ordem de id), mas
+// ADVERSARIO_QUICKSORT vira faixas de chaves iguais e deixa de ser o pior caso da
+// mediana de três. Para o padrão exato em escala use PerfilDistribuicao.gerar(n) num
+// int[] (como o BenchmarkMotores faz); main avisa quando isso acontece.
+//
+// Cada thread formata um bloco inteiro num byte[] reaproveitado (nomes, datas e o
+// cabeçalho já prontos em bytes, nada de String.format por linha) e grava com
+// FileChannel.write(buffer, posição) na região do bloco. A posição de um bloco é o fim
+// do anterior: sai assim que o anterior termina de ser formatado, sem esperar a
+// gravação, então as gravações também correm em paralelo.
+//
+// Uso: java GerarCSV [quantidade] [semente] [threads] [data base yyyy-MM-dd] [arquivo] [perfil]
+//      java GerarCSV 100000000 42 8 2025-01-01 data/dados.csv zipf
 public class GerarCSV {
 
+    static final int LINHAS_POR_BLOCO = 32_768;
+    static final int DIAS = 5 * 365;
+    static final int PRIORIDADES = 5;
+    static final byte[] CABECALHO = "id,nome,cpf,prioridade,data\n".getBytes(StandardCharsets.UTF_8);
+
+    private static final String[] PRIMEIROS = {
+            "Ana", "Bruno", "Carlos", "Daniela", "Eduardo", "Fernanda",
+            "Gustavo", "Helena", "Igor", "Julia", "Kaique", "Larissa",
+            "Marcos", "Nathalia", "Otavio", "Patricia", "Rafael",
+            "Sara", "Tiago", "Vanessa"
+    };
+    private static final String[] SOBRENOMES = {
+            "Silva", "Souza", "Oliveira", "Pereira", "Costa", "Santos",
+            "Rodrigues", "Almeida", "Nascimento", "Lima", "Araújo",
+            "Gomes", "Ribeiro", "Carvalho"
+    };
+    // "Primeiro Sobrenome" em UTF-8, índice primeiro * SOBRENOMES.length + sobrenome
+    private static final byte[][] NOMES = new byte[PRIMEIROS.length * SOBRENOMES.length][];
+    private static final int MAIOR_NOME;
+
+    static {
+        int maior = 0;
+        for (int p = 0; p < PRIMEIROS.length; p++) {
+            for (int s = 0; s < SOBRENOMES.length; s++) {
+                byte[] b = (PRIMEIROS[p] + " " + SOBRENOMES[s]).getBytes(StandardCharsets.UTF_8);
+                NOMES[p * SOBRENOMES.length + s] = b;
+                maior = Math.max(maior, b.length);
+            }
+        }
+        MAIOR_NOME = maior;
+    }
+
     public static void main(String[] args) {
-        int quantidade = 5000; // padrão
+        long quantidade = 5000; // padrão
+        long semente = System.nanoTime();
+        int threads = Runtime.getRuntime().availableProcessors();
+        LocalDate base = LocalDate.now();
+        Path destino = Paths.get("data/dados.csv");
+        PerfilDistribuicao perfil = PerfilDistribuicao.UNIFORME;
 
         // permite passar a quantidade por argumento: java GerarCSV 10000
-        if (args.length > 0) {
-            try {
-                quantidade = Integer.parseInt(args[0]);
-            } catch (NumberFormatException e) {
-                System.out.println("Valor inválido para quantidade. Usando 5000 por padrão.");
-            }
+        try {
+            if (args.length > 0) quantidade = Long.parseLong(args[0].replace("_", ""));
+            if (args.length > 1) semente = Long.parseLong(args[1]);
+            if (args.length > 2) threads = Integer.parseInt(args[2]);
+            if (args.length > 3) base = LocalDate.parse(args[3]);
+            if (args.length > 4) destino = Paths.get(args[4]);
+            if (args.length > 5) perfil = PerfilDistribuicao.porNome(args[5]);
+        } catch (RuntimeException e) {
+            System.out.println("Argumento inválido (" + e.getMessage() + "). "
+                    + "Uso: java GerarCSV [quantidade] [semente] [threads] [data base yyyy-MM-dd] [arquivo] [perfil]");
+            System.out.println("Perfis: " + PerfilDistribuicao.nomes());
+            return;
         }
 
-        // Cria a pasta data se não existir
-        new File("data").mkdirs();
+        // Cria a pasta de destino se não existir
+        File pasta = destino.toAbsolutePath().getParent().toFile();
+        pasta.mkdirs();
 
-        try (FileWriter writer = new FileWriter("data/dados.csv")) {
-            writer.write("id,nome,cpf,prioridade,data\n");
-            Random rand = new Random();
+        try {
+            System.out.printf("Gerando %d registros (semente %d, %d threads, data base %s, perfil %s)...%n",
+                    quantidade, semente, threads, base, perfil);
+            if (quantizado(quantidade, perfil)) {
+                System.out.printf("⚠ Perfil %s com mais de %d linhas: a chave (prioridade, data) se repete"
+                        + " e o padrão fica aproximado%n", perfil, PRIORIDADES * DIAS);
+            }
+            long inicio = System.nanoTime();
+            long bytes = gerar(destino, quantidade, semente, threads, base, perfil);
+            double segundos = (System.nanoTime() - inicio) / 1e9;
 
-            System.out.println("Gerando " + quantidade + " registros...");
+            System.out.printf("✓ %.1f MB em %.2f s (%.0f MB/s)%n", bytes / (1024.0 * 1024.0), segundos,
+                    bytes / (1024.0 * 1024.0) / Math.max(segundos, 1e-9));
+            System.out.println("✓ Arquivo " + destino.getFileName() + " criado com sucesso!");
+            System.out.println("✓ Localização: " + destino.toAbsolutePath());
+        } catch (IOException e) {
+            System.err.println("✗ Erro: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
 
-            for (int i = 1; i <= quantidade; i++) {
-                String nome = gerarNomeAleatorio(rand);
-                String cpf = gerarCpfAleatorio(rand);
+    // ========== GERAÇÃO ==========
 
-                // prioridade: 1 (mais alta) até 5 (mais baixa)
-                int prioridade = 1 + rand.nextInt(5);
+    // true se o perfil depende da posição de cada chave e há mais linhas do que
+    // valores distintos de (prioridade, data)
+    static boolean quantizado(long quantidade, PerfilDistribuicao perfil) {
+        switch (perfil) {
+            case UNIFORME:
+            case POUCOS_DISTINTOS:
+            case ZIPF:
+                return false;
+            default:
+                return quantidade > (long) PRIORIDADES * DIAS;
+        }
+    }
 
-                // data aleatória nos últimos 5 anos
-                LocalDate hoje = LocalDate.now();
-                int diasAntes = rand.nextInt(5 * 365);
-                LocalDate data = hoje.minusDays(diasAntes);
+    // Grava cabeçalho + quantidade linhas em destino e devolve o tamanho do arquivo.
+    // As datas ficam nos DIAS dias até a data base (inclusive).
+    public static long gerar(Path destino, long quantidade, long semente, int threads, LocalDate base)
+            throws IOException {
+        return gerar(destino, quantidade, semente, threads, base, PerfilDistribuicao.UNIFORME);
+    }
+
+    public static long gerar(Path destino, long quantidade, long semente, int threads, LocalDate base,
+                             PerfilDistribuicao perfil) throws IOException {
+        if (quantidade < 0) throw new IllegalArgumentException("Quantidade negativa: " + quantidade);
+        if (threads < 1) throw new IllegalArgumentException("Threads deve ser >= 1: " + threads);
 
-                writer.write(String.format(
-                        "%d,%s,%s,%d,%s%n",
-                        i, nome, cpf, prioridade, data.toString()
-                ));
+        byte[][] datas = datasEmBytes(base);
+        int maiorData = 0;
+        for (byte[] d : datas) maiorData = Math.max(maiorData, d.length);
+        // id (até 19 dígitos) + nome + cpf (11) + prioridade (1) + data + 4 vírgulas + \n
+        int maiorLinha = 19 + MAIOR_NOME + 11 + 1 + maiorData + 5;
+        long blocos = (quantidade + LINHAS_POR_BLOCO - 1) / LINHAS_POR_BLOCO;
+        // inicio[b]: posição do bloco b no arquivo, conhecida quando b - 1 foi formatado
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        CompletableFuture<Long>[] inicio = new CompletableFuture[Math.toIntExact(blocos + 1)];
+        for (int b = 0; b <= blocos; b++) inicio[b] = new CompletableFuture<>();
+        inicio[0].complete((long) CABECALHO.length);
+        AtomicLong proximo = new AtomicLong();
 
-                if (i % 1000 == 0) {
-                    System.out.println("  → " + i + " registros gerados...");
+        try (FileChannel canal = FileChannel.open(destino, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            gravarTudo(canal, ByteBuffer.wrap(CABECALHO), 0);
+
+            int n = (int) Math.min(threads, Math.max(1, blocos));
+            Thread[] trabalhadores = new Thread[n];
+            Throwable[] falha = new Throwable[1];
+            for (int t = 0; t < n; t++) {
+                trabalhadores[t] = Thread.ofPlatform().name("gerar-csv-" + t).start(() -> {
+                    byte[] buffer = new byte[LINHAS_POR_BLOCO * maiorLinha];
+                    int[] chaves = new int[LINHAS_POR_BLOCO];
+                    try {
+                        for (long b; (b = proximo.getAndIncrement()) < blocos; ) {
+                            long primeira = b * LINHAS_POR_BLOCO;
+                            int linhas = (int) Math.min(LINHAS_POR_BLOCO, quantidade - primeira);
+                            SplittableRandom rand = new SplittableRandom(sementeDoBloco(semente, b));
+                            perfil.preencher(chaves, linhas, primeira, quantidade, PRIORIDADES * DIAS, rand.split());
+                            int tamanho = formatarBloco(buffer, primeira + 1, linhas, rand, chaves, datas);
+                            long posicao = inicio[(int) b].join();
+                            inicio[(int) b + 1].complete(posicao + tamanho);
+                            gravarTudo(canal, ByteBuffer.wrap(buffer, 0, tamanho), posicao);
+                        }
+                    } catch (Throwable e) {
+                        synchronized (falha) {
+                            if (falha[0] == null) falha[0] = e;
+                        }
+                        // libera quem estiver esperando uma posição que não vai chegar
+                        for (CompletableFuture<Long> f : inicio) f.completeExceptionally(e);
+                    }
+                });
+            }
+            for (Thread t : trabalhadores) {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Geração interrompida", e);
                 }
             }
+            if (falha[0] != null) {
+                if (falha[0] instanceof IOException io) throw io;
+                throw new IOException("Falha ao gerar o CSV: " + falha[0], falha[0]);
+            }
+            return inicio[(int) blocos].join();
+        }
+    }
 
-            System.out.println("✓ Arquivo dados.csv criado com sucesso!");
-            System.out.println("✓ Localização: " + new File("data/dados.csv").getAbsolutePath());
-        } catch (IOException e) {
-            System.err.println("✗ Erro: " + e.getMessage());
-            e.printStackTrace();
+    // Semente do bloco b: blocos vizinhos recebem sementes bem espalhadas
+    // (o SplittableRandom ainda embaralha a semente recebida)
+    static long sementeDoBloco(long semente, long bloco) {
+        return semente + bloco * 0x9E3779B97F4A7C15L;
+    }
+
+    // Formata linhas consecutivas a partir do id primeiroId; devolve os bytes usados.
+    // chaves[i] (do perfil) dá a prioridade e a data da linha i.
+    static int formatarBloco(byte[] buf, long primeiroId, int linhas, SplittableRandom rand,
+                             int[] chaves, byte[][] datas) {
+        int p = 0;
+        for (int i = 0; i < linhas; i++) {
+            p = escreverNumero(buf, p, primeiroId + i);
+            buf[p++] = ',';
+
+            byte[] nome = NOMES[rand.nextInt(PRIMEIROS.length) * SOBRENOMES.length
+                    + rand.nextInt(SOBRENOMES.length)];
+            System.arraycopy(nome, 0, buf, p, nome.length);
+            p += nome.length;
+            buf[p++] = ',';
+
+            // Apenas para teste: 11 dígitos numéricos sem validação real de CPF
+            long cpf = rand.nextLong(100_000_000_000L);
+            for (int d = 10; d >= 0; d--) {
+                buf[p + d] = (byte) ('0' + cpf % 10);
+                cpf /= 10;
+            }
+            p += 11;
+            buf[p++] = ',';
+
+            // prioridade: 1 (mais alta) até 5 (mais baixa)
+            buf[p++] = (byte) ('1' + chaves[i] / DIAS);
+            buf[p++] = ',';
+
+            // data nos últimos 5 anos (datas[0] é a data base, a mais recente)
+            byte[] data = datas[DIAS - 1 - chaves[i] % DIAS];
+            System.arraycopy(data, 0, buf, p, data.length);
+            p += data.length;
+            buf[p++] = '\n';
         }
+        return p;
     }
 
-    private static String gerarNomeAleatorio(Random rand) {
-        String[] primeiros = {
-                "Ana", "Bruno", "Carlos", "Daniela", "Eduardo", "Fernanda",
-                "Gustavo", "Helena", "Igor", "Julia", "Kaique", "Larissa",
-                "Marcos", "Nathalia", "Otavio", "Patricia", "Rafael",
-                "Sara", "Tiago", "Vanessa"
-        };
-        String[] sobrenomes = {
-                "Silva", "Souza", "Oliveira", "Pereira", "Costa", "Santos",
-                "Rodrigues", "Almeida", "Nascimento", "Lima", "Araújo",
-                "Gomes", "Ribeiro", "Carvalho"
-        };
-
-        String primeiro = primeiros[rand.nextInt(primeiros.length)];
-        String sobrenome = sobrenomes[rand.nextInt(sobrenomes.length)];
-        return primeiro + " " + sobrenome;
+    // ---------- auxiliares ----------
+
+    private static int escreverNumero(byte[] buf, int p, long v) {
+        int digitos = 1;
+        for (long x = v; x >= 10; x /= 10) digitos++;
+        for (int d = p + digitos - 1; d >= p; d--) {
+            buf[d] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        return p + digitos;
+    }
+
+    // datas[d] = base - d dias, já em yyyy-MM-dd
+    private static byte[][] datasEmBytes(LocalDate base) {
+        byte[][] datas = new byte[DIAS][];
+        for (int d = 0; d < DIAS; d++) {
+            datas[d] = base.minusDays(d).toString().getBytes(StandardCharsets.US_ASCII);
+        }
+        return datas;
     }
 
-    private static String gerarCpfAleatorio(Random rand) {
-        // Apenas para teste: gera 11 dígitos numéricos sem validação real de CPF
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < 11; i++) {
-            sb.append(rand.nextInt(10));
+    private static void gravarTudo(FileChannel canal, ByteBuffer buffer, long posicao) throws IOException {
+        while (buffer.hasRemaining()) {
+            posicao += canal.write(buffer, posicao);
         }
-        return sb.toString();
     }
 }
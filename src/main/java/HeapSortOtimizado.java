@@ -0,0 +1,137 @@
+// Variantes de heap sort para int[] pensadas para memória, não só para contagem de
+// operações. Todas descem sem recursão e movem um "buraco" em vez de trocar pares:
+// o valor que desce só é escrito uma vez, no lugar final.
+//
+//  - ordenar:          heap binário clássico, sift-down iterativo com buraco
+//  - ordenarBottomUp:  Floyd — desce até a folha comparando só os filhos (1
+//                      comparação por nível) e depois sobe o valor; metade das
+//                      comparações, já que o valor vindo do fim quase sempre volta
+//                      para perto das folhas
+//  - ordenarDAria:     heap d-ário (4, 8 ou 16 filhos): árvore mais rasa, e os
+//                      filhos de um nó ficam contíguos na memória
+//  - ordenarDAriaAlinhado: igual ao d-ário, mas num vetor com d-1 posições de
+//                      folga na frente, para cada grupo de filhos começar num
+//                      múltiplo de d (16 ints = 64 bytes = uma linha de cache)
+public class HeapSortOtimizado {
+
+    // ========== BINÁRIO ==========
+    public static void ordenar(int[] arr) {
+        ordenar(arr, 0, arr.length);
+    }
+
+    // ordena só arr[de..ate); usado como plano B do introsort
+    public static void ordenar(int[] arr, int de, int ate) {
+        int n = ate - de;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            descer(arr, de, n, i, arr[de + i]);
+        }
+        for (int fim = n - 1; fim > 0; fim--) {
+            int valor = arr[de + fim];
+            arr[de + fim] = arr[de];
+            descer(arr, de, fim, 0, valor);
+        }
+    }
+
+    private static void descer(int[] arr, int base, int n, int i, int valor) {
+        int filho;
+        while ((filho = 2 * i + 1) < n) {
+            if (filho + 1 < n && arr[base + filho + 1] > arr[base + filho]) filho++;
+            if (arr[base + filho] <= valor) break;
+            arr[base + i] = arr[base + filho];
+            i = filho;
+        }
+        arr[base + i] = valor;
+    }
+
+    // ========== FLOYD (BOTTOM-UP) ==========
+    public static void ordenarBottomUp(int[] arr) {
+        int n = arr.length;
+        for (int i = n / 2 - 1; i >= 0; i--) {
+            descerFloyd(arr, n, i, arr[i]);
+        }
+        for (int fim = n - 1; fim > 0; fim--) {
+            int valor = arr[fim];
+            arr[fim] = arr[0];
+            descerFloyd(arr, fim, 0, valor);
+        }
+    }
+
+    private static void descerFloyd(int[] arr, int n, int raiz, int valor) {
+        // 1) leva o buraco até uma folha pelo caminho dos filhos maiores
+        int i = raiz;
+        int filho;
+        while ((filho = 2 * i + 1) < n) {
+            if (filho + 1 < n && arr[filho + 1] > arr[filho]) filho++;
+            arr[i] = arr[filho];
+            i = filho;
+        }
+        // 2) sobe até achar um pai maior ou igual ao valor
+        while (i > raiz) {
+            int pai = (i - 1) >>> 1;
+            if (arr[pai] >= valor) break;
+            arr[i] = arr[pai];
+            i = pai;
+        }
+        arr[i] = valor;
+    }
+
+    // ========== D-ÁRIO ==========
+    public static void ordenarDAria(int[] arr, int d) {
+        validarAridade(d);
+        heapSortDAria(arr, 0, arr.length, d);
+    }
+
+    public static void ordenarDAriaAlinhado(int[] arr, int d) {
+        validarAridade(d);
+        int n = arr.length;
+        if (n < 2) return;
+        // O nó lógico i fica na posição i + (d - 1); os filhos de i começam em
+        // d*i + 1 + (d - 1) = d*(i + 1), sempre múltiplo de d. A JVM não deixa
+        // escolher o endereço base do vetor, então o alinhamento é relativo ao
+        // elemento 0 (o cabeçalho do array é de 16 bytes na HotSpot padrão).
+        int folga = d - 1;
+        int[] heap = new int[n + folga];
+        System.arraycopy(arr, 0, heap, folga, n);
+        heapSortDAria(heap, folga, n, d);
+        System.arraycopy(heap, folga, arr, 0, n);
+    }
+
+    private static void heapSortDAria(int[] heap, int base, int n, int d) {
+        if (n < 2) return;
+        for (int i = (n - 2) / d; i >= 0; i--) {
+            descerDAria(heap, base, n, i, d, heap[base + i]);
+        }
+        for (int fim = n - 1; fim > 0; fim--) {
+            int valor = heap[base + fim];
+            heap[base + fim] = heap[base];
+            descerDAria(heap, base, fim, 0, d, valor);
+        }
+    }
+
+    private static void descerDAria(int[] heap, int base, int n, int i, int d, int valor) {
+        while (true) {
+            int primeiro = d * i + 1;
+            if (primeiro >= n) break;
+            int ultimo = Math.min(primeiro + d, n);
+            int maior = primeiro;
+            int valorMaior = heap[base + primeiro];
+            for (int c = primeiro + 1; c < ultimo; c++) {
+                int v = heap[base + c];
+                if (v > valorMaior) {
+                    valorMaior = v;
+                    maior = c;
+                }
+            }
+            if (valorMaior <= valor) break;
+            heap[base + i] = valorMaior;
+            i = maior;
+        }
+        heap[base + i] = valor;
+    }
+
+    private static void validarAridade(int d) {
+        if (d != 2 && d != 4 && d != 8 && d != 16) {
+            throw new IllegalArgumentException("Aridade deve ser 2, 4, 8 ou 16: " + d);
+        }
+    }
+}
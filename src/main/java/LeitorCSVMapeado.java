@@ -0,0 +1,569 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+// Leitor do CSV de GerarCSV (id,nome,cpf,prioridade,data) que mapeia o arquivo na
+// memória e percorre os bytes direto para colunas primitivas, sem readLine, sem split
+// e sem Integer.parseInt: nenhuma String é criada por linha.
+//
+//  - id, prioridade:  int, convertidos dígito a dígito
+//  - cpf:             long (só os dígitos) e a posição do texto no arquivo
+//  - data:            int em dias desde 1970 (yyyy-MM-dd lido byte a byte)
+//  - nome:            só a posição e o tamanho no arquivo; a String sai sob demanda
+//                     em nome(i), decodificando o UTF-8 do mapeamento
+//
+// O mapeamento fica aberto enquanto a Colunas estiver aberta (try-with-resources);
+// depois de close() só as colunas primitivas continuam válidas. Como no
+// Registro.deLinhaCSV, linhas com menos de 5 campos são ignoradas. Campos entre
+// aspas não são suportados (GerarCSV não gera).
+//
+// lerParalelo divide o arquivo em blocos de bytes que terminam logo depois de um '\n'
+// (nenhuma linha fica partida), analisa cada bloco numa tarefa e junta os resultados na
+// ordem do arquivo. O executor pode ser um ForkJoinPool com o paralelismo desejado ou
+// Executors.newVirtualThreadPerTaskExecutor().
+//
+// Uso: java LeitorCSVMapeado [arquivo.csv] [threads] [tamanho do bloco em MB]
+public class LeitorCSVMapeado {
+
+    static final int CAPACIDADE_INICIAL = 1 << 12;
+    static final long TAMANHO_BLOCO_PADRAO = 8L << 20;
+
+    public static void main(String[] args) throws IOException {
+        Path caminho = Paths.get(args.length > 0 ? args[0] : "data/dados.csv");
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        long tamanhoBloco = args.length > 2 ? Long.parseLong(args[2]) << 20 : TAMANHO_BLOCO_PADRAO;
+        long inicio = System.nanoTime();
+        try (Colunas c = threads > 1 ? lerParalelo(caminho, tamanhoBloco, threads) : ler(caminho)) {
+            long fim = System.nanoTime();
+            double segundos = (fim - inicio) / 1e9;
+            System.out.printf("✓ %d linhas de %s em %.1f ms (%.1f MB/s)%n",
+                    c.tamanho(), caminho, segundos * 1000, c.bytes / (1024.0 * 1024.0) / segundos);
+            for (int i = 0; i < Math.min(3, c.tamanho()); i++) {
+                System.out.printf("  id=%d nome=%s cpf=%s prioridade=%d data=%s%n",
+                        c.id[i], c.nome(i), c.cpfTexto(i), c.prioridade[i], Registro.dataIso(c.data[i]));
+            }
+        }
+    }
+
+    // ========== LEITURA ==========
+
+    public static Colunas ler(Path caminho) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            MemorySegment seg = mapear(caminho, arena);
+            Colunas c = new Colunas(arena, seg);
+            new Analisador(seg, inicioDados(seg), seg.byteSize(), c).analisar();
+            return c;
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // Caminho curto para quem precisa de Registro[]: aqui as Strings são criadas
+    public static Registro[] lerRegistros(Path caminho) throws IOException {
+        try (Colunas c = ler(caminho)) {
+            return c.paraRegistros();
+        }
+    }
+
+    // ========== LEITURA PARALELA ==========
+
+    public static Colunas lerParalelo(Path caminho) throws IOException {
+        return lerParalelo(caminho, TAMANHO_BLOCO_PADRAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    public static Colunas lerParalelo(Path caminho, long tamanhoBloco, int paralelismo) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            return lerParalelo(caminho, tamanhoBloco, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static Colunas lerParalelo(Path caminho, long tamanhoBloco, ExecutorService executor) throws IOException {
+        Arena arena = Arena.ofShared();
+        try {
+            MemorySegment seg = mapear(caminho, arena);
+            List<Colunas> partes = emBlocos(seg, tamanhoBloco, executor, (de, ate) -> {
+                Colunas parte = new Colunas(arena, seg);
+                new Analisador(seg, de, ate, parte).analisar();
+                return parte;
+            });
+            return Colunas.juntar(arena, seg, partes);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // Como lerRegistros, mas criando os Registro (a parte cara: as Strings) em paralelo
+    public static Registro[] lerRegistrosParalelo(Path caminho, long tamanhoBloco, int paralelismo) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(paralelismo);
+        try {
+            return lerRegistrosParalelo(caminho, tamanhoBloco, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    public static Registro[] lerRegistrosParalelo(Path caminho, long tamanhoBloco, ExecutorService executor) throws IOException {
+        try (Arena arena = Arena.ofShared()) {
+            MemorySegment seg = mapear(caminho, arena);
+            List<Registro[]> partes = emBlocos(seg, tamanhoBloco, executor,
+                    (de, ate) -> registrosDoTrecho(arena, seg, de, ate));
+            int total = 0;
+            for (Registro[] p : partes) total += p.length;
+            Registro[] saida = new Registro[total];
+            int pos = 0;
+            for (Registro[] p : partes) {
+                System.arraycopy(p, 0, saida, pos, p.length);
+                pos += p.length;
+            }
+            return saida;
+        }
+    }
+
+    // Registros de um trecho [de, ate) que começa no início de uma linha (um dos blocos
+    // de limites()); o mapeamento precisa continuar aberto só durante a chamada
+    static Registro[] registrosDoTrecho(Arena arena, MemorySegment seg, long de, long ate) {
+        Colunas parte = new Colunas(arena, seg);
+        new Analisador(seg, de, ate, parte).analisar();
+        return parte.paraRegistros();
+    }
+
+    private interface TarefaBloco<T> {
+        T analisar(long de, long ate);
+    }
+
+    // Uma tarefa por bloco; os resultados voltam na ordem dos blocos (invokeAll)
+    private static <T> List<T> emBlocos(MemorySegment seg, long tamanhoBloco, ExecutorService executor,
+                                        TarefaBloco<T> tarefa) throws IOException {
+        if (tamanhoBloco <= 0) throw new IllegalArgumentException("Tamanho de bloco deve ser positivo: " + tamanhoBloco);
+        long[] limites = limites(seg, tamanhoBloco);
+        List<Callable<T>> tarefas = new ArrayList<>(limites.length - 1);
+        for (int b = 0; b + 1 < limites.length; b++) {
+            long de = limites[b], ate = limites[b + 1];
+            tarefas.add(() -> tarefa.analisar(de, ate));
+        }
+        List<T> resultados = new ArrayList<>(tarefas.size());
+        try {
+            for (Future<T> f : executor.invokeAll(tarefas)) resultados.add(f.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Leitura interrompida", e);
+        } catch (ExecutionException e) {
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) throw (RuntimeException) causa;
+            if (causa instanceof Error) throw (Error) causa;
+            throw new IOException(causa);
+        }
+        return resultados;
+    }
+
+    // Início de cada bloco (e o fim do arquivo por último): a cada tamanhoBloco bytes,
+    // avança até depois do próximo '\n'. Linhas maiores que o bloco só juntam blocos.
+    static long[] limites(MemorySegment seg, long tamanhoBloco) {
+        long tamanho = seg.byteSize();
+        long inicio = inicioDados(seg);
+        List<Long> limites = new ArrayList<>();
+        limites.add(inicio);
+        long proximo = inicio + tamanhoBloco;
+        while (proximo < tamanho) {
+            long p = proximo - 1;
+            while (p < tamanho && seg.get(ValueLayout.JAVA_BYTE, p) != '\n') p++;
+            long limite = Math.min(tamanho, p + 1);
+            if (limite > limites.get(limites.size() - 1) && limite < tamanho) limites.add(limite);
+            proximo = Math.max(limite, proximo) + tamanhoBloco;
+        }
+        limites.add(tamanho);
+        long[] saida = new long[limites.size()];
+        for (int i = 0; i < saida.length; i++) saida[i] = limites.get(i);
+        return saida;
+    }
+
+    static MemorySegment mapear(Path caminho, Arena arena) throws IOException {
+        try (FileChannel canal = FileChannel.open(caminho, StandardOpenOption.READ)) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+        }
+    }
+
+    // primeiro byte depois do cabeçalho
+    private static long inicioDados(MemorySegment seg) {
+        long p = 0, tamanho = seg.byteSize();
+        while (p < tamanho && seg.get(ValueLayout.JAVA_BYTE, p) != '\n') p++;
+        return Math.min(tamanho, p + 1);
+    }
+
+    // ========== COLUNAS ==========
+
+    public static final class Colunas implements AutoCloseable {
+        private final Arena arena;
+        private final MemorySegment seg;
+        final long bytes;
+        int n;
+        int[] id = new int[CAPACIDADE_INICIAL];
+        int[] prioridade = new int[CAPACIDADE_INICIAL];
+        int[] data = new int[CAPACIDADE_INICIAL];
+        long[] cpf = new long[CAPACIDADE_INICIAL];
+        long[] inicioNome = new long[CAPACIDADE_INICIAL];
+        int[] tamanhoNome = new int[CAPACIDADE_INICIAL];
+        long[] inicioCpf = new long[CAPACIDADE_INICIAL];
+        int[] tamanhoCpf = new int[CAPACIDADE_INICIAL];
+
+        Colunas(Arena arena, MemorySegment seg) {
+            this.arena = arena;
+            this.seg = seg;
+            this.bytes = seg.byteSize();
+        }
+
+        // concatena as partes na ordem (as posições de nome/cpf já são do arquivo todo)
+        static Colunas juntar(Arena arena, MemorySegment seg, List<Colunas> partes) {
+            Colunas c = new Colunas(arena, seg);
+            int total = 0;
+            for (Colunas p : partes) total += p.n;
+            c.id = new int[total];
+            c.prioridade = new int[total];
+            c.data = new int[total];
+            c.cpf = new long[total];
+            c.inicioNome = new long[total];
+            c.tamanhoNome = new int[total];
+            c.inicioCpf = new long[total];
+            c.tamanhoCpf = new int[total];
+            for (Colunas p : partes) {
+                System.arraycopy(p.id, 0, c.id, c.n, p.n);
+                System.arraycopy(p.prioridade, 0, c.prioridade, c.n, p.n);
+                System.arraycopy(p.data, 0, c.data, c.n, p.n);
+                System.arraycopy(p.cpf, 0, c.cpf, c.n, p.n);
+                System.arraycopy(p.inicioNome, 0, c.inicioNome, c.n, p.n);
+                System.arraycopy(p.tamanhoNome, 0, c.tamanhoNome, c.n, p.n);
+                System.arraycopy(p.inicioCpf, 0, c.inicioCpf, c.n, p.n);
+                System.arraycopy(p.tamanhoCpf, 0, c.tamanhoCpf, c.n, p.n);
+                c.n += p.n;
+            }
+            return c;
+        }
+
+        public int tamanho() {
+            return n;
+        }
+
+        public int[] id() {
+            return id;
+        }
+
+        public int[] prioridade() {
+            return prioridade;
+        }
+
+        // dias desde 1970-01-01
+        public int[] data() {
+            return data;
+        }
+
+        // só os dígitos do CPF
+        public long[] cpfNumerico() {
+            return cpf;
+        }
+
+        public String nome(int i) {
+            return texto(inicioNome[i], tamanhoNome[i]);
+        }
+
+        public String cpfTexto(int i) {
+            return texto(inicioCpf[i], tamanhoCpf[i]);
+        }
+
+        // Acesso aos bytes do nome e do cpf sem criar String (para quem monta dicionários)
+
+        int hashNome(int i) {
+            int h = 1;
+            long inicio = inicioNome[i];
+            for (int k = 0; k < tamanhoNome[i]; k++) h = 31 * h + seg.get(ValueLayout.JAVA_BYTE, inicio + k);
+            return h;
+        }
+
+        boolean nomeIgual(int i, byte[] b) {
+            if (tamanhoNome[i] != b.length) return false;
+            long inicio = inicioNome[i];
+            for (int k = 0; k < b.length; k++) {
+                if (seg.get(ValueLayout.JAVA_BYTE, inicio + k) != b[k]) return false;
+            }
+            return true;
+        }
+
+        byte[] bytesNome(int i) {
+            byte[] b = new byte[tamanhoNome[i]];
+            MemorySegment.copy(seg, ValueLayout.JAVA_BYTE, inicioNome[i], b, 0, b.length);
+            return b;
+        }
+
+        // true se o cpf da linha i tem exatamente 'digitos' caracteres, todos dígitos
+        // (aí cpfNumerico() o representa sem perda)
+        boolean cpfSoDigitos(int i, int digitos) {
+            if (tamanhoCpf[i] != digitos) return false;
+            long inicio = inicioCpf[i];
+            for (int k = 0; k < digitos; k++) {
+                byte b = seg.get(ValueLayout.JAVA_BYTE, inicio + k);
+                if (b < '0' || b > '9') return false;
+            }
+            return true;
+        }
+
+        private String texto(long inicio, int tamanho) {
+            byte[] b = new byte[tamanho];
+            MemorySegment.copy(seg, ValueLayout.JAVA_BYTE, inicio, b, 0, tamanho);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+
+        public Registro registro(int i) {
+            return new Registro(id[i], nome(i), cpfTexto(i), prioridade[i], Registro.dataIso(data[i]));
+        }
+
+        // datas se repetem muito (dias de 5 anos): uma String por dia distinto
+        public Registro[] paraRegistros() {
+            Registro[] saida = new Registro[n];
+            Map<Integer, String> datas = new HashMap<>();
+            for (int i = 0; i < n; i++) {
+                String d = datas.computeIfAbsent(data[i], Registro::dataIso);
+                saida[i] = new Registro(id[i], nome(i), cpfTexto(i), prioridade[i], d);
+            }
+            return saida;
+        }
+
+        // Só as colunas numéricas (id, cpf como long, prioridade, data): nada de String
+        public TabelaColunar paraTabelaNumerica() {
+            TabelaColunar t = new TabelaColunar(n);
+            t.adicionar("id", id);
+            t.adicionar("cpf", cpf);
+            t.adicionar("prioridade", prioridade);
+            t.adicionar("data", data);
+            return t;
+        }
+
+        // Mesmo esquema de TabelaColunar.deRegistros (nome e cpf como texto)
+        public TabelaColunar paraTabela() {
+            String[] nomes = new String[n];
+            String[] cpfs = new String[n];
+            for (int i = 0; i < n; i++) {
+                nomes[i] = nome(i);
+                cpfs[i] = cpfTexto(i);
+            }
+            TabelaColunar t = new TabelaColunar(n);
+            t.adicionar("id", id);
+            t.adicionar("nome", nomes);
+            t.adicionar("cpf", cpfs);
+            t.adicionar("prioridade", prioridade);
+            t.adicionar("data", data);
+            return t;
+        }
+
+        void adicionar(int vId, long vInicioNome, int vTamanhoNome, long vCpf, long vInicioCpf, int vTamanhoCpf,
+                       int vPrioridade, int vData) {
+            if (n == id.length) crescer();
+            id[n] = vId;
+            inicioNome[n] = vInicioNome;
+            tamanhoNome[n] = vTamanhoNome;
+            cpf[n] = vCpf;
+            inicioCpf[n] = vInicioCpf;
+            tamanhoCpf[n] = vTamanhoCpf;
+            prioridade[n] = vPrioridade;
+            data[n] = vData;
+            n++;
+        }
+
+        private void crescer() {
+            int c = id.length * 2;
+            id = Arrays.copyOf(id, c);
+            inicioNome = Arrays.copyOf(inicioNome, c);
+            tamanhoNome = Arrays.copyOf(tamanhoNome, c);
+            cpf = Arrays.copyOf(cpf, c);
+            inicioCpf = Arrays.copyOf(inicioCpf, c);
+            tamanhoCpf = Arrays.copyOf(tamanhoCpf, c);
+            prioridade = Arrays.copyOf(prioridade, c);
+            data = Arrays.copyOf(data, c);
+        }
+
+        // corta as colunas no tamanho lido
+        void finalizar() {
+            id = Arrays.copyOf(id, n);
+            inicioNome = Arrays.copyOf(inicioNome, n);
+            tamanhoNome = Arrays.copyOf(tamanhoNome, n);
+            cpf = Arrays.copyOf(cpf, n);
+            inicioCpf = Arrays.copyOf(inicioCpf, n);
+            tamanhoCpf = Arrays.copyOf(tamanhoCpf, n);
+            prioridade = Arrays.copyOf(prioridade, n);
+            data = Arrays.copyOf(data, n);
+        }
+
+        // libera o mapeamento; nome(i) e cpfTexto(i) deixam de funcionar
+        @Override
+        public void close() {
+            arena.close();
+        }
+    }
+
+    // ========== ANALISADOR ==========
+
+    // Percorre [inicio, fim) uma vez; o trecho começa no início de uma linha. Cada campo
+    // é lido até a vírgula; se a linha acabar antes do quinto campo, ela é descartada.
+    private static final class Analisador {
+        private final MemorySegment seg;
+        private final long fim;
+        private final Colunas saida;
+        private long pos;
+
+        Analisador(MemorySegment seg, long inicio, long fim, Colunas saida) {
+            this.seg = seg;
+            this.pos = inicio;
+            this.fim = fim;
+            this.saida = saida;
+        }
+
+        void analisar() {
+            while (pos < fim) {
+                long inicioLinha = pos;
+                if (!linha()) {
+                    pos = inicioLinha;
+                    pularLinha();
+                }
+            }
+            saida.finalizar();
+        }
+
+        // lê uma linha completa; false se faltar campo
+        private boolean linha() {
+            if (vazia()) return false;
+            int id = inteiro();
+            if (!virgula()) return false;
+            long inicioNome = pos;
+            pularCampo();
+            int tamanhoNome = (int) (pos - inicioNome);
+            if (!virgula()) return false;
+            long inicioCpf = pos;
+            long cpf = 0;
+            while (pos < fim) {
+                byte b = byteEm(pos);
+                if (b == ',' || b == '\n' || b == '\r') break;
+                if (b >= '0' && b <= '9') cpf = cpf * 10 + (b - '0');
+                pos++;
+            }
+            int tamanhoCpf = (int) (pos - inicioCpf);
+            if (!virgula()) return false;
+            int prioridade = inteiro();
+            if (!virgula()) return false;
+            int data = data();
+            // colunas além da quinta são ignoradas, como no split
+            pularLinha();
+            saida.adicionar(id, inicioNome, tamanhoNome, cpf, inicioCpf, tamanhoCpf, prioridade, data);
+            return true;
+        }
+
+        private boolean vazia() {
+            byte b = byteEm(pos);
+            return b == '\n' || b == '\r';
+        }
+
+        private int inteiro() {
+            long inicio = pos;
+            boolean negativo = pos < fim && byteEm(pos) == '-';
+            if (negativo) pos++;
+            long v = 0;
+            int digitos = 0;
+            while (pos < fim) {
+                int d = byteEm(pos) - '0';
+                if (d < 0 || d > 9) break;
+                v = v * 10 + d;
+                pos++;
+                if (++digitos > 10) break;
+            }
+            if (negativo) v = -v;
+            if (digitos == 0 || v != (int) v || !fimDeCampo()) {
+                pularCampo();
+                throw new NumberFormatException("Inteiro inválido no byte " + inicio + ": \""
+                        + texto(inicio, pos) + "\"");
+            }
+            return (int) v;
+        }
+
+        // yyyy-MM-dd sem alocar; qualquer outra coisa passa pelo Registro.diaEpoch(String)
+        private int data() {
+            long inicio = pos;
+            pularCampo();
+            if (pos - inicio == 10 && byteEm(inicio + 4) == '-' && byteEm(inicio + 7) == '-') {
+                int ano = digitos(inicio, 4);
+                int mes = digitos(inicio + 5, 2);
+                int dia = digitos(inicio + 8, 2);
+                if (ano >= 0 && mes >= 1 && mes <= 12 && dia >= 1 && dia <= Registro.diasNoMes(ano, mes)) {
+                    return Registro.diaEpoch(ano, mes, dia);
+                }
+            }
+            return Registro.diaEpoch(texto(inicio, pos));
+        }
+
+        private int digitos(long de, int quantidade) {
+            int v = 0;
+            for (int i = 0; i < quantidade; i++) {
+                int d = byteEm(de + i) - '0';
+                if (d < 0 || d > 9) return -1;
+                v = v * 10 + d;
+            }
+            return v;
+        }
+
+        private boolean fimDeCampo() {
+            if (pos >= fim) return true;
+            byte b = byteEm(pos);
+            return b == ',' || b == '\n' || b == '\r';
+        }
+
+        private void pularCampo() {
+            while (pos < fim) {
+                byte b = byteEm(pos);
+                if (b == ',' || b == '\n' || b == '\r') return;
+                pos++;
+            }
+        }
+
+        // consome a vírgula; false se a linha (ou o arquivo) acabou
+        private boolean virgula() {
+            if (pos < fim && byteEm(pos) == ',') {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void pularLinha() {
+            while (pos < fim && byteEm(pos) != '\n') pos++;
+            pos++;
+        }
+
+        private byte byteEm(long p) {
+            return seg.get(ValueLayout.JAVA_BYTE, p);
+        }
+
+        private String texto(long de, long ate) {
+            byte[] b = new byte[(int) (ate - de)];
+            MemorySegment.copy(seg, ValueLayout.JAVA_BYTE, de, b, 0, b.length);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+}
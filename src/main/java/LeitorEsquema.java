@@ -0,0 +1,394 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+// Leitor de CSV guiado pelo cabeçalho e por um esquema declarado: cada coluna do
+// esquema tem nome, tipo e apelidos, e é achada no cabeçalho pelo nome (ou por um
+// apelido), não pela posição. Assim o Main, que trabalha com id,valor,categoria,
+// timestamp, lê o CSV de GerarCSV (valor ← prioridade, categoria ← nome,
+// timestamp ← data).
+//
+// Projeção: só as colunas pedidas são decodificadas. Os outros campos são pulados
+// procurando a próxima vírgula, sem converter número nem criar String. O custo cresce
+// com as colunas usadas, não com a largura da linha.
+//
+// O arquivo é mapeado na memória e lido byte a byte como no LeitorCSVMapeado. Uma
+// linha com menos campos que o cabeçalho é ignorada, qualquer que seja a projeção:
+// depois do último campo pedido o resto da linha só tem as vírgulas contadas. Assim
+// toda projeção do mesmo arquivo tem as mesmas linhas. Número malformado num campo
+// pedido é erro (NumberFormatException com a posição no arquivo). O resultado é uma
+// TabelaColunar só com as colunas projetadas, com os nomes do esquema:
+//
+//   INT        int[]          LONG       long[]
+//   DATA       int[] (dias desde 1970, yyyy-MM-dd)
+//   TIMESTAMP  long[] (número como está; yyyy-MM-dd vira segundos desde 1970, UTC)
+//   TEXTO      String[]
+//
+// Uso: java LeitorEsquema [arquivo.csv] [colunas separadas por vírgula]
+public class LeitorEsquema {
+
+    public enum Tipo { INT, LONG, DATA, TIMESTAMP, TEXTO }
+
+    static final int CAPACIDADE_INICIAL = 1 << 12;
+    static final long SEGUNDOS_POR_DIA = 86_400L;
+
+    // CSV de GerarCSV
+    public static final Esquema GERAR_CSV = new Esquema()
+            .coluna("id", Tipo.INT)
+            .coluna("nome", Tipo.TEXTO)
+            .coluna("cpf", Tipo.TEXTO)
+            .coluna("prioridade", Tipo.INT)
+            .coluna("data", Tipo.DATA);
+
+    // Esquema do Main, aceitando também os nomes do CSV de GerarCSV
+    public static final Esquema MAIN = new Esquema()
+            .coluna("id", Tipo.INT)
+            .coluna("valor", Tipo.INT, "prioridade")
+            .coluna("categoria", Tipo.TEXTO, "nome")
+            .coluna("timestamp", Tipo.TIMESTAMP, "data");
+
+    public static void main(String[] args) throws IOException {
+        Path caminho = Paths.get(args.length > 0 ? args[0] : "data/dados.csv");
+        String[] projecao = args.length > 1 ? args[1].split(",") : new String[0];
+        long inicio = System.nanoTime();
+        TabelaColunar t = ler(caminho, GERAR_CSV, projecao);
+        long fim = System.nanoTime();
+        List<String> nomes = new ArrayList<>();
+        for (String nome : t.nomesColunas()) nomes.add(nome);
+        System.out.printf("✓ %d linhas, colunas %s, em %.1f ms%n", t.tamanho(), nomes, (fim - inicio) / 1e6);
+    }
+
+    // ========== ESQUEMA ==========
+
+    public static final class Esquema {
+        private final List<Coluna> colunas = new ArrayList<>();
+
+        public Esquema coluna(String nome, Tipo tipo, String... apelidos) {
+            if (procurar(nome) != null) throw new IllegalArgumentException("Coluna repetida no esquema: " + nome);
+            colunas.add(new Coluna(nome, tipo, apelidos));
+            return this;
+        }
+
+        public List<String> nomes() {
+            List<String> nomes = new ArrayList<>();
+            for (Coluna c : colunas) nomes.add(c.nome);
+            return nomes;
+        }
+
+        Coluna procurar(String nome) {
+            for (Coluna c : colunas) {
+                if (c.nome.equalsIgnoreCase(nome)) return c;
+            }
+            return null;
+        }
+    }
+
+    static final class Coluna {
+        final String nome;
+        final Tipo tipo;
+        final List<String> apelidos;
+
+        Coluna(String nome, Tipo tipo, String[] apelidos) {
+            this.nome = nome;
+            this.tipo = tipo;
+            this.apelidos = Collections.unmodifiableList(Arrays.asList(apelidos));
+        }
+
+        // posição no cabeçalho: pelo nome primeiro, depois pelos apelidos em ordem
+        int posicao(List<String> cabecalho) {
+            int p = cabecalho.indexOf(nome.toLowerCase(Locale.ROOT));
+            for (int i = 0; p < 0 && i < apelidos.size(); i++) {
+                p = cabecalho.indexOf(apelidos.get(i).toLowerCase(Locale.ROOT));
+            }
+            return p;
+        }
+    }
+
+    // ========== LEITURA ==========
+
+    // projecao vazia: todas as colunas do esquema
+    public static TabelaColunar ler(Path caminho, Esquema esquema, String... projecao) throws IOException {
+        List<Coluna> pedidas = new ArrayList<>();
+        if (projecao.length == 0) {
+            pedidas.addAll(esquema.colunas);
+        } else {
+            for (String nome : projecao) {
+                Coluna c = esquema.procurar(nome.trim());
+                if (c == null) {
+                    throw new IllegalArgumentException("Coluna fora do esquema: " + nome + " (esquema: " + esquema.nomes() + ")");
+                }
+                if (!pedidas.contains(c)) pedidas.add(c);
+            }
+        }
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment seg = LeitorCSVMapeado.mapear(caminho, arena);
+            Analisador a = new Analisador(seg);
+            List<String> cabecalho = a.cabecalho();
+            Destino[] porCampo = new Destino[0];
+            List<Destino> destinos = new ArrayList<>();
+            for (Coluna c : pedidas) {
+                int p = c.posicao(cabecalho);
+                if (p < 0) {
+                    throw new IllegalArgumentException("Coluna '" + c.nome + "'"
+                            + (c.apelidos.isEmpty() ? "" : " (ou " + c.apelidos + ")")
+                            + " não está no cabeçalho de " + caminho + ": " + cabecalho);
+                }
+                if (p >= porCampo.length) porCampo = Arrays.copyOf(porCampo, p + 1);
+                if (porCampo[p] != null) {
+                    throw new IllegalArgumentException("Colunas '" + porCampo[p].coluna.nome + "' e '" + c.nome
+                            + "' caem no mesmo campo do cabeçalho");
+                }
+                porCampo[p] = new Destino(c);
+                destinos.add(porCampo[p]);
+            }
+            int linhas = a.analisar(porCampo, cabecalho.size());
+            TabelaColunar t = new TabelaColunar(linhas);
+            for (Destino d : destinos) d.adicionarEm(t, linhas);
+            return t;
+        }
+    }
+
+    // true se o cabeçalho do arquivo tem todas as colunas (pelo nome ou apelido);
+    // só o cabeçalho é lido
+    public static boolean temColunas(Path caminho, Esquema esquema, String... colunas) throws IOException {
+        try (Arena arena = Arena.ofConfined()) {
+            List<String> cabecalho = new Analisador(LeitorCSVMapeado.mapear(caminho, arena)).cabecalho();
+            for (String nome : colunas) {
+                Coluna c = esquema.procurar(nome.trim());
+                if (c == null || c.posicao(cabecalho) < 0) return false;
+            }
+            return true;
+        }
+    }
+
+    // Vetor que recebe uma coluna projetada. A linha é escrita na posição n e só
+    // conta se chegar inteira; uma linha descartada é sobrescrita pela próxima.
+    private static final class Destino {
+        final Coluna coluna;
+        int[] ints;
+        long[] longs;
+        String[] textos;
+
+        Destino(Coluna coluna) {
+            this.coluna = coluna;
+            switch (coluna.tipo) {
+                case INT:
+                case DATA:
+                    ints = new int[CAPACIDADE_INICIAL];
+                    break;
+                case LONG:
+                case TIMESTAMP:
+                    longs = new long[CAPACIDADE_INICIAL];
+                    break;
+                default:
+                    textos = new String[CAPACIDADE_INICIAL];
+            }
+        }
+
+        void garantir(int n) {
+            if (ints != null && n == ints.length) ints = Arrays.copyOf(ints, n * 2);
+            if (longs != null && n == longs.length) longs = Arrays.copyOf(longs, n * 2);
+            if (textos != null && n == textos.length) textos = Arrays.copyOf(textos, n * 2);
+        }
+
+        void adicionarEm(TabelaColunar t, int n) {
+            if (ints != null) t.adicionar(coluna.nome, Arrays.copyOf(ints, n));
+            else if (longs != null) t.adicionar(coluna.nome, Arrays.copyOf(longs, n));
+            else t.adicionar(coluna.nome, Arrays.copyOf(textos, n));
+        }
+    }
+
+    // ========== ANALISADOR ==========
+
+    private static final class Analisador {
+        private final MemorySegment seg;
+        private final long fim;
+        private long pos;
+
+        Analisador(MemorySegment seg) {
+            this.seg = seg;
+            this.fim = seg.byteSize();
+        }
+
+        // nomes do cabeçalho em minúsculas, sem espaços nem BOM
+        List<String> cabecalho() {
+            if (fim >= 3 && (byteEm(0) & 0xFF) == 0xEF && (byteEm(1) & 0xFF) == 0xBB && (byteEm(2) & 0xFF) == 0xBF) {
+                pos = 3;
+            }
+            List<String> nomes = new ArrayList<>();
+            while (true) {
+                long inicio = pos;
+                pularCampo();
+                nomes.add(texto(inicio, pos).trim().toLowerCase(Locale.ROOT));
+                if (!virgula()) break;
+            }
+            pularLinha();
+            return nomes;
+        }
+
+        // largura: campos do cabeçalho; linhas mais curtas não contam
+        int analisar(Destino[] porCampo, int largura) {
+            int n = 0;
+            int ultimo = porCampo.length - 1;
+            while (pos < fim) {
+                long inicioLinha = pos;
+                boolean completa = !vazia();
+                for (int f = 0; completa && f <= ultimo; f++) {
+                    if (f > 0 && !virgula()) {
+                        completa = false;
+                        break;
+                    }
+                    Destino d = porCampo[f];
+                    if (d == null) pularCampo();
+                    else campo(d, n);
+                }
+                if (completa) {
+                    // os campos depois do último pedido só são contados
+                    int campos = ultimo + 1;
+                    while (virgula()) {
+                        pularCampo();
+                        campos++;
+                    }
+                    if (campos >= largura) n++;
+                } else {
+                    pos = inicioLinha;
+                }
+                pularLinha();
+            }
+            return n;
+        }
+
+        private void campo(Destino d, int n) {
+            d.garantir(n);
+            switch (d.coluna.tipo) {
+                case INT:
+                    d.ints[n] = (int) numero(true);
+                    break;
+                case LONG:
+                    d.longs[n] = numero(false);
+                    break;
+                case DATA:
+                    d.ints[n] = data();
+                    break;
+                case TIMESTAMP:
+                    d.longs[n] = timestamp();
+                    break;
+                default:
+                    long inicio = pos;
+                    pularCampo();
+                    d.textos[n] = texto(inicio, pos);
+            }
+        }
+
+        private long numero(boolean comoInt) {
+            long inicio = pos;
+            boolean negativo = pos < fim && byteEm(pos) == '-';
+            if (negativo) pos++;
+            long v = 0;
+            int digitos = 0;
+            boolean estourou = false;
+            while (pos < fim) {
+                int d = byteEm(pos) - '0';
+                if (d < 0 || d > 9) break;
+                if (v > (Long.MAX_VALUE - d) / 10) estourou = true;
+                v = v * 10 + d;
+                pos++;
+                digitos++;
+            }
+            if (negativo) v = -v;
+            if (digitos == 0 || estourou || (comoInt && v != (int) v) || !fimDeCampo()) {
+                pularCampo();
+                throw new NumberFormatException("Número inválido no byte " + inicio + ": \"" + texto(inicio, pos) + "\"");
+            }
+            return v;
+        }
+
+        private int data() {
+            long inicio = pos;
+            pularCampo();
+            if (pos - inicio == 10 && byteEm(inicio + 4) == '-' && byteEm(inicio + 7) == '-') {
+                int ano = digitos(inicio, 4);
+                int mes = digitos(inicio + 5, 2);
+                int dia = digitos(inicio + 8, 2);
+                if (ano >= 0 && mes >= 1 && mes <= 12 && dia >= 1 && dia <= Registro.diasNoMes(ano, mes)) {
+                    return Registro.diaEpoch(ano, mes, dia);
+                }
+            }
+            return Registro.diaEpoch(texto(inicio, pos));
+        }
+
+        // número puro, ou data ISO convertida em segundos
+        private long timestamp() {
+            long inicio = pos;
+            pularCampo();
+            boolean soDigitos = pos > inicio;
+            for (long p = inicio; p < pos && soDigitos; p++) {
+                byte b = byteEm(p);
+                soDigitos = (b >= '0' && b <= '9') || (b == '-' && p == inicio);
+            }
+            pos = inicio;
+            return soDigitos ? numero(false) : data() * SEGUNDOS_POR_DIA;
+        }
+
+        private int digitos(long de, int quantidade) {
+            int v = 0;
+            for (int i = 0; i < quantidade; i++) {
+                int d = byteEm(de + i) - '0';
+                if (d < 0 || d > 9) return -1;
+                v = v * 10 + d;
+            }
+            return v;
+        }
+
+        private boolean vazia() {
+            byte b = byteEm(pos);
+            return b == '\n' || b == '\r';
+        }
+
+        private boolean fimDeCampo() {
+            if (pos >= fim) return true;
+            byte b = byteEm(pos);
+            return b == ',' || b == '\n' || b == '\r';
+        }
+
+        private void pularCampo() {
+            while (pos < fim) {
+                byte b = byteEm(pos);
+                if (b == ',' || b == '\n' || b == '\r') return;
+                pos++;
+            }
+        }
+
+        private boolean virgula() {
+            if (pos < fim && byteEm(pos) == ',') {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private void pularLinha() {
+            while (pos < fim && byteEm(pos) != '\n') pos++;
+            pos++;
+        }
+
+        private byte byteEm(long p) {
+            return seg.get(ValueLayout.JAVA_BYTE, p);
+        }
+
+        private String texto(long de, long ate) {
+            byte[] b = new byte[(int) (ate - de)];
+            MemorySegment.copy(seg, ValueLayout.JAVA_BYTE, de, b, 0, b.length);
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -1,12 +1,22 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 public class Main {
 
+    // motores de radix sort (guardam o buffer entre as execuções)
+    static final RadixSort RADIX_8 = new RadixSort(8);
+    static final RadixSort RADIX_11 = new RadixSort(11);
+    static final RadixSort RADIX_16 = new RadixSort(16);
+    static final SampleSortParalelo SAMPLE_SORT = new SampleSortParalelo();
+    // usa a Vector API quando o módulo jdk.incubator.vector está carregado
+    static final QuickSortVetorizado QUICK_VETORIZADO = QuickSortVetorizado.padrao();
+    // escolhe o motor pela amostra da entrada (limiares de data/calibracao.properties)
+    static final SeletorAlgoritmo SELETOR = SeletorAlgoritmo.padrao();
+
     // Classe para armazenar dados do CSV
     static class Registro {
         int id, valor;
@@ -26,16 +36,16 @@ public class Main {
         System.out.println("║     BENCHMARK DE ALGORITMOS - 5000 REGISTROS CSV      ║");
         System.out.println("╚════════════════════════════════════════════════════════╝\n");
 
-        // 1. Ler CSV
-        List<Registro> registros = lerCSV("data/dados.csv");
+        // 1. Ler CSV: só as colunas usadas abaixo (categoria nem é decodificada)
+        TabelaColunar tabela = lerTabela("data/dados.csv", "id", "valor", "timestamp");
 
-        if (registros.isEmpty()) {
+        if (tabela.tamanho() == 0) {
             System.err.println("✗ Nenhum registro lido! Execute GerarCSV.java primeiro.");
             return;
         }
 
-        // 2. Extrair valores para ordenar
-        int[] valores = registros.stream().mapToInt(r -> r.valor).toArray();
+        // 2. Valores para ordenar (valor ← prioridade no CSV de GerarCSV)
+        int[] valores = tabela.colunaInt("valor");
 
         System.out.println("✓ " + valores.length + " valores carregados\n");
         System.out.println("Executando testes...\n");
@@ -43,9 +53,32 @@ public class Main {
         // 3. Testar cada algoritmo
         testarAlgoritmo("Bubble Sort", valores, Main::bubbleSort, valores.length <= 5000);
         testarAlgoritmo("Merge Sort", valores, Main::mergeSort, true);
+        testarAlgoritmo("Merge Sort Adaptativo", valores, Main::mergeSortAdaptativo, true);
         testarAlgoritmo("Quick Sort", valores, Main::quickSort, true);
+        testarAlgoritmo("Quick Sort Vetorizado (" + QUICK_VETORIZADO.descricao() + ")", valores, QUICK_VETORIZADO::ordenar, true);
         testarAlgoritmo("Heap Sort", valores, Main::heapSort, true);
+        testarAlgoritmo("Heap Sort Floyd (bottom-up)", valores, HeapSortOtimizado::ordenarBottomUp, true);
+        testarAlgoritmo("Heap Sort 4-ário", valores, arr -> HeapSortOtimizado.ordenarDAria(arr, 4), true);
         testarAlgoritmo("Java Arrays.sort (TimSort)", valores, Main::javaSort, true);
+        testarAlgoritmo("Radix Sort LSD (8 bits)", valores, RADIX_8::ordenar, true);
+        testarAlgoritmo("Radix Sort LSD (11 bits)", valores, RADIX_11::ordenar, true);
+        testarAlgoritmo("Radix Sort LSD (16 bits)", valores, RADIX_16::ordenar, true);
+        testarAlgoritmo("Sample Sort Paralelo", valores, SAMPLE_SORT::ordenar, true);
+        testarAlgoritmo("Java Arrays.parallelSort", valores, Arrays::parallelSort, true);
+        testarAlgoritmo("Seletor Adaptativo (" + SELETOR.escolher(SeletorAlgoritmo.perfilar(valores)) + ")",
+                valores, SELETOR::ordenar, true);
+
+        // 4. Ordenar os timestamps (long)
+        long[] timestamps = tabela.colunaLong("timestamp");
+        System.out.println("\nTimestamps (long):\n");
+        testarAlgoritmoLong("Java Arrays.sort", timestamps, Arrays::sort);
+        testarAlgoritmoLong("Radix Sort LSD (8 bits)", timestamps, RADIX_8::ordenar);
+        testarAlgoritmoLong("Radix Sort LSD (11 bits)", timestamps, RADIX_11::ordenar);
+        testarAlgoritmoLong("Radix Sort LSD (16 bits)", timestamps, RADIX_16::ordenar);
+        testarAlgoritmoLong("Sample Sort Paralelo", timestamps, SAMPLE_SORT::ordenar);
+
+        // 5. Argsort colunar: ordena sem perder a ligação com o registro de origem
+        testarArgsort(tabela, "valor");
 
         System.out.println("\n╔════════════════════════════════════════════════════════╗");
         System.out.println("║                    CONCLUSÃO                           ║");
@@ -55,27 +88,78 @@ public class Main {
     }
 
     // ========== LEITURA CSV ==========
-    static List<Registro> lerCSV(String caminho) {
-        List<Registro> registros = new ArrayList<>();
-
-        try (BufferedReader br = new BufferedReader(new FileReader(caminho))) {
-            String linha = br.readLine(); // Pula cabeçalho
-
-            while ((linha = br.readLine()) != null) {
-                String[] partes = linha.split(",");
-                if (partes.length == 4) {
-                    registros.add(new Registro(
-                            Integer.parseInt(partes[0]),
-                            Integer.parseInt(partes[1]),
-                            partes[2],
-                            Long.parseLong(partes[3])
-                    ));
+    // Colunas achadas pelo cabeçalho (LeitorEsquema.MAIN): no CSV de GerarCSV,
+    // valor ← prioridade, categoria ← nome e timestamp ← data (segundos desde 1970).
+    // Sem colunas: todas as do esquema. O CSV de GerarCSV passa pelo snapshot
+    // (data/dados.bin): só as colunas pedidas saem dele, já com os nomes do Main.
+    // Outro cabeçalho é lido direto do CSV.
+    static TabelaColunar lerTabela(String caminho, String... colunas) {
+        try {
+            Path csv = Paths.get(caminho);
+            if (colunas.length == 0) colunas = LeitorEsquema.MAIN.nomes().toArray(new String[0]);
+            String[] doSnapshot = new String[colunas.length];
+            for (int i = 0; i < colunas.length; i++) {
+                doSnapshot[i] = colunaDoSnapshot(colunas[i]);
+            }
+            if (!LeitorEsquema.temColunas(csv, LeitorEsquema.GERAR_CSV, doSnapshot)) {
+                return LeitorEsquema.ler(csv, LeitorEsquema.MAIN, colunas);
+            }
+            TabelaColunar origem = SnapshotColunar.abrir(csv, SnapshotColunar.caminhoPadrao(csv),
+                    SnapshotColunar.Validacao.TAMANHO_E_DATA, LeitorEsquema.GERAR_CSV, doSnapshot).tabela();
+            TabelaColunar t = new TabelaColunar(origem.tamanho());
+            for (int i = 0; i < colunas.length; i++) {
+                switch (colunas[i]) {
+                    case "categoria":
+                        t.adicionar(colunas[i], origem.colunaTexto(doSnapshot[i]));
+                        break;
+                    case "timestamp":
+                        // dia desde 1970 -> segundos, como o tipo TIMESTAMP do LeitorEsquema
+                        int[] dias = origem.colunaInt(doSnapshot[i]);
+                        long[] segundos = new long[dias.length];
+                        for (int j = 0; j < dias.length; j++) {
+                            segundos[j] = dias[j] * LeitorEsquema.SEGUNDOS_POR_DIA;
+                        }
+                        t.adicionar(colunas[i], segundos);
+                        break;
+                    default:
+                        t.adicionar(colunas[i], origem.colunaInt(doSnapshot[i]));
                 }
             }
-        } catch (IOException e) {
+            return t;
+        } catch (IOException | IllegalArgumentException e) {
             System.err.println("✗ Erro ao ler CSV: " + e.getMessage());
+            return new TabelaColunar(0);
+        }
+    }
+
+    // nome da coluna do Main no snapshot (esquema de GerarCSV)
+    static String colunaDoSnapshot(String coluna) {
+        switch (coluna) {
+            case "id":
+                return "id";
+            case "valor":
+                return "prioridade";
+            case "categoria":
+                return "nome";
+            case "timestamp":
+                return "data";
+            default:
+                throw new IllegalArgumentException("Coluna fora do esquema: " + coluna
+                        + " (esquema: " + LeitorEsquema.MAIN.nomes() + ")");
         }
+    }
 
+    static List<Registro> lerCSV(String caminho) {
+        TabelaColunar t = lerTabela(caminho);
+        List<Registro> registros = new ArrayList<>(t.tamanho());
+        if (t.tamanho() == 0) return registros;
+        int[] id = t.colunaInt("id");
+        int[] valor = t.colunaInt("valor");
+        String[] categoria = t.colunaTexto("categoria");
+        long[] timestamp = t.colunaLong("timestamp");
+        for (int i = 0; i < t.tamanho(); i++) {
+            registros.add(new Registro(id[i], valor[i], categoria[i], timestamp[i]));
+        }
         return registros;
     }
 
@@ -99,6 +183,37 @@ public class Main {
         System.out.printf("%-30s %8.2f ms  %s\n", nome + ":", tempoMs, status);
     }
 
+    static void testarAlgoritmoLong(String nome, long[] original, SortFunctionLong sortFunc) {
+        long[] arr = Arrays.copyOf(original, original.length);
+
+        long inicio = System.nanoTime();
+        sortFunc.sort(arr);
+        long fim = System.nanoTime();
+
+        double tempoMs = (fim - inicio) / 1_000_000.0;
+        boolean correto = verificarOrdenado(arr);
+
+        String status = correto ? "✓" : "✗";
+        System.out.printf("%-30s %8.2f ms  %s\n", nome + ":", tempoMs, status);
+    }
+
+    static void testarArgsort(TabelaColunar tabela, String coluna) {
+        long inicio = System.nanoTime();
+        int[] perm = tabela.argsort(coluna);
+        int[] ordenados = TabelaColunar.reunir(tabela.colunaInt(coluna), perm);
+        int[] ids = TabelaColunar.reunir(tabela.colunaInt("id"), perm);
+        long fim = System.nanoTime();
+
+        double tempoMs = (fim - inicio) / 1_000_000.0;
+        boolean correto = verificarOrdenado(ordenados);
+
+        String status = correto ? "✓" : "✗";
+        System.out.printf("\n%-30s %8.2f ms  %s\n", "Argsort colunar (" + coluna + "):", tempoMs, status);
+        if (ids.length > 0) {
+            System.out.println("   menor " + coluna + " = " + ordenados[0] + " (id " + ids[0] + ")");
+        }
+    }
+
     static boolean verificarOrdenado(int[] arr) {
         for (int i = 0; i < arr.length - 1; i++) {
             if (arr[i] > arr[i + 1]) return false;
@@ -106,12 +221,23 @@ public class Main {
         return true;
     }
 
+    static boolean verificarOrdenado(long[] arr) {
+        for (int i = 0; i < arr.length - 1; i++) {
+            if (arr[i] > arr[i + 1]) return false;
+        }
+        return true;
+    }
+
     // ========== ALGORITMOS ==========
 
     interface SortFunction {
         void sort(int[] arr);
     }
 
+    interface SortFunctionLong {
+        void sort(long[] arr);
+    }
+
     // Bubble Sort
     static void bubbleSort(int[] arr) {
         int n = arr.length;
@@ -163,6 +289,166 @@ public class Main {
         while (j < n2) arr[k++] = R[j++];
     }
 
+    // Merge Sort Adaptativo (bottom-up, natural, com galope)
+    // Sem recursão e sem alocar dentro dos laços: acha as sequências já ordenadas
+    // (invertendo as decrescentes), completa as curtas até MIN_RUN com inserção
+    // binária e intercala os pares de sequências alternando entre arr e um único
+    // buffer. Entrada ordenada = 1 sequência = O(n).
+    static final int MIN_RUN = 32;
+    static final int MIN_GALOPE = 7;
+
+    static void mergeSortAdaptativo(int[] arr) {
+        if (arr.length < 2) return;
+        mergeSortAdaptativo(arr, new int[arr.length], new int[arr.length / MIN_RUN + 2]);
+    }
+
+    // buffer com pelo menos arr.length posições e limites com arr.length / MIN_RUN + 2;
+    // quem ordena várias vezes pode reaproveitar os dois entre as chamadas
+    static void mergeSortAdaptativo(int[] arr, int[] buffer, int[] limites) {
+        int n = arr.length;
+        if (n < 2) return;
+
+        int qtd = 0;
+        for (int i = 0; i < n; ) {
+            int fim = fimDaSequencia(arr, i, n);
+            if (fim - i < MIN_RUN) {
+                int fimForcado = Math.min(n, i + MIN_RUN);
+                insercaoBinaria(arr, i, fim, fimForcado);
+                fim = fimForcado;
+            }
+            limites[qtd++] = i;
+            i = fim;
+        }
+        limites[qtd] = n;
+
+        int[] origem = arr;
+        int[] destino = buffer;
+        while (qtd > 1) {
+            int novas = 0;
+            for (int r = 0; r < qtd; r += 2) {
+                int inicio = limites[r];
+                if (r + 1 < qtd) {
+                    intercalarComGalope(origem, destino, inicio, limites[r + 1], limites[r + 2]);
+                } else {
+                    System.arraycopy(origem, inicio, destino, inicio, limites[r + 1] - inicio);
+                }
+                limites[novas++] = inicio;
+            }
+            limites[novas] = n;
+            qtd = novas;
+            int[] t = origem;
+            origem = destino;
+            destino = t;
+        }
+        if (origem != arr) System.arraycopy(origem, 0, arr, 0, n);
+    }
+
+    // fim (exclusivo) da sequência que começa em inicio; se for estritamente
+    // decrescente, inverte no lugar
+    static int fimDaSequencia(int[] arr, int inicio, int n) {
+        int fim = inicio + 1;
+        if (fim == n) return fim;
+        if (arr[fim] < arr[inicio]) {
+            while (fim + 1 < n && arr[fim + 1] < arr[fim]) fim++;
+            for (int i = inicio, j = fim; i < j; i++, j--) {
+                int temp = arr[i];
+                arr[i] = arr[j];
+                arr[j] = temp;
+            }
+        } else {
+            while (fim + 1 < n && arr[fim + 1] >= arr[fim]) fim++;
+        }
+        return fim + 1;
+    }
+
+    // arr[inicio..ordenadoAte) já está em ordem; insere o resto até fim
+    static void insercaoBinaria(int[] arr, int inicio, int ordenadoAte, int fim) {
+        for (int i = ordenadoAte; i < fim; i++) {
+            int valor = arr[i];
+            int pos = primeiroMaior(arr, inicio, i, valor);
+            System.arraycopy(arr, pos, arr, pos + 1, i - pos);
+            arr[pos] = valor;
+        }
+    }
+
+    // Intercala origem[inicio..meio) e origem[meio..fim) em destino. Quando um lado
+    // vence MIN_GALOPE vezes seguidas, busca exponencialmente até onde ele continua
+    // vencendo e copia o bloco de uma vez.
+    static void intercalarComGalope(int[] origem, int[] destino, int inicio, int meio, int fim) {
+        int i = inicio, j = meio, k = inicio;
+        if (origem[meio - 1] <= origem[meio]) {
+            System.arraycopy(origem, inicio, destino, inicio, fim - inicio);
+            return;
+        }
+        int vitoriasA = 0, vitoriasB = 0;
+        while (i < meio && j < fim) {
+            if (origem[j] < origem[i]) {
+                destino[k++] = origem[j++];
+                vitoriasA = 0;
+                if (++vitoriasB >= MIN_GALOPE && j < fim) {
+                    int ate = galoparPrimeiroNaoMenor(origem, j, fim, origem[i]);
+                    System.arraycopy(origem, j, destino, k, ate - j);
+                    k += ate - j;
+                    j = ate;
+                    vitoriasB = 0;
+                }
+            } else {
+                destino[k++] = origem[i++];
+                vitoriasB = 0;
+                if (++vitoriasA >= MIN_GALOPE && i < meio) {
+                    int ate = galoparPrimeiroMaior(origem, i, meio, origem[j]);
+                    System.arraycopy(origem, i, destino, k, ate - i);
+                    k += ate - i;
+                    i = ate;
+                    vitoriasA = 0;
+                }
+            }
+        }
+        if (i < meio) System.arraycopy(origem, i, destino, k, meio - i);
+        if (j < fim) System.arraycopy(origem, j, destino, k, fim - j);
+    }
+
+    // primeiro índice em [de, ate) com arr[idx] > chave, saltando 1, 2, 4, 8...
+    static int galoparPrimeiroMaior(int[] arr, int de, int ate, int chave) {
+        int passo = 1, anterior = de;
+        int pos = de;
+        while (pos < ate && arr[pos] <= chave) {
+            anterior = pos + 1;
+            // sem estourar o int em vetores enormes: o salto para em ate
+            pos = passo >= ate - de ? ate : de + passo;
+            passo = passo > (ate - de) >>> 1 ? ate - de : passo << 1;
+        }
+        return primeiroMaior(arr, anterior, Math.min(pos, ate), chave);
+    }
+
+    // primeiro índice em [de, ate) com arr[idx] >= chave
+    static int galoparPrimeiroNaoMenor(int[] arr, int de, int ate, int chave) {
+        int passo = 1, anterior = de;
+        int pos = de;
+        while (pos < ate && arr[pos] < chave) {
+            anterior = pos + 1;
+            // sem estourar o int em vetores enormes: o salto para em ate
+            pos = passo >= ate - de ? ate : de + passo;
+            passo = passo > (ate - de) >>> 1 ? ate - de : passo << 1;
+        }
+        int lo = anterior, hi = Math.min(pos, ate);
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (arr[m] < chave) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
+    static int primeiroMaior(int[] arr, int lo, int hi, int chave) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (arr[m] <= chave) lo = m + 1;
+            else hi = m;
+        }
+        return lo;
+    }
+
     // Quick Sort
     static void quickSort(int[] arr) {
         quickSortHelper(arr, 0, arr.length - 1);
@@ -0,0 +1,348 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+// Ordenação externa de CSVs maiores que o heap, dentro de um orçamento de memória.
+//
+//  1. lê o CSV em blocos cujo tamanho estimado cabe no orçamento, ordena cada bloco
+//     com AlgoritmosOrdenacao.mergeSort(arr, spec) e grava uma "run" binária num
+//     diretório temporário;
+//  2. intercala as runs k a k com uma árvore de perdedores (log2(k) comparações por
+//     registro), cada run lida por um buffer grande; se houver mais runs que o
+//     orçamento permite abrir de uma vez, faz passadas intermediárias;
+//  3. a última intercalação grava a saída em CSV ou no mesmo formato binário.
+//
+// O resultado é estável: empates saem na ordem do arquivo de entrada (dentro de um
+// bloco pelo merge sort, entre runs pelo índice da run).
+//
+// Formato binário (runs e saída BINARIO): long quantidade, depois por registro
+// int id, UTF nome, UTF cpf, int prioridade, UTF data.
+//
+// Uso: java OrdenacaoExterna <entrada.csv> <saida> [orçamento em MB] [csv|bin] [campos]
+//      campos: lista separada por vírgula, "-" na frente para decrescente,
+//      ex: prioridade,-data,id (padrão: prioridade,data)
+public class OrdenacaoExterna {
+
+    public enum Formato { CSV, BINARIO }
+
+    static final int TAM_BUFFER = 1 << 20;
+    static final int MAX_RUNS_POR_PASSADA = 256;
+    // bytes estimados por registro além dos caracteres da linha: objeto Registro, três
+    // Strings com seus arrays e o que o merge sort por especificação aloca por elemento
+    static final int BYTES_POR_REGISTRO = 200;
+    static final String CABECALHO = "id,nome,cpf,prioridade,data";
+
+    private final EspecificacaoOrdenacao spec;
+    private final Comparator<Registro> comparador;
+    private final long orcamentoBytes;
+    private final Path diretorioTemporario;
+
+    public OrdenacaoExterna(EspecificacaoOrdenacao spec, long orcamentoBytes) {
+        this(spec, orcamentoBytes, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public OrdenacaoExterna(EspecificacaoOrdenacao spec, long orcamentoBytes, Path diretorioTemporario) {
+        if (orcamentoBytes < 4L * TAM_BUFFER) {
+            throw new IllegalArgumentException("Orçamento mínimo é " + (4 * TAM_BUFFER >> 20) + " MB: " + orcamentoBytes);
+        }
+        this.spec = spec;
+        this.comparador = spec.comparador();
+        this.orcamentoBytes = orcamentoBytes;
+        this.diretorioTemporario = diretorioTemporario;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java OrdenacaoExterna <entrada.csv> <saida> [orçamento MB] [csv|bin] [campos]");
+            return;
+        }
+        Path entrada = Paths.get(args[0]);
+        Path saida = Paths.get(args[1]);
+        long orcamentoMB = args.length > 2 ? Long.parseLong(args[2]) : 256;
+        Formato formato = args.length > 3 && args[3].equalsIgnoreCase("bin") ? Formato.BINARIO : Formato.CSV;
+        EspecificacaoOrdenacao spec = args.length > 4 ? lerEspecificacao(args[4])
+                : EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                        .depoisPor(EspecificacaoOrdenacao.Campo.DATA);
+
+        OrdenacaoExterna ordenacao = new OrdenacaoExterna(spec, orcamentoMB << 20);
+        long inicio = System.nanoTime();
+        long total = ordenacao.ordenar(entrada, saida, formato);
+        long fim = System.nanoTime();
+        double segundos = (fim - inicio) / 1e9;
+        double mb = Files.size(entrada) / (1024.0 * 1024.0);
+        System.out.printf("✓ %d registros ordenados por (%s) em %.2f s (%.1f MB/s) → %s%n",
+                total, spec, segundos, mb / segundos, saida);
+    }
+
+    // "prioridade,-data,id" → por(PRIORIDADE).depoisPorDecrescente(DATA).depoisPor(ID)
+    static EspecificacaoOrdenacao lerEspecificacao(String texto) {
+        EspecificacaoOrdenacao spec = null;
+        for (String parte : texto.split(",")) {
+            String nome = parte.trim();
+            boolean decrescente = nome.startsWith("-");
+            if (decrescente) nome = nome.substring(1);
+            EspecificacaoOrdenacao.Campo campo = EspecificacaoOrdenacao.Campo.valueOf(nome.toUpperCase());
+            if (spec == null) {
+                spec = decrescente ? EspecificacaoOrdenacao.porDecrescente(campo) : EspecificacaoOrdenacao.por(campo);
+            } else {
+                spec = decrescente ? spec.depoisPorDecrescente(campo) : spec.depoisPor(campo);
+            }
+        }
+        if (spec == null) throw new IllegalArgumentException("Nenhum campo de ordenação: " + texto);
+        return spec;
+    }
+
+    // ========== ORDENAÇÃO ==========
+
+    // Ordena o CSV de entrada e devolve quantos registros foram gravados na saída
+    public long ordenar(Path entrada, Path saida, Formato formato) throws IOException {
+        Path dir = Files.createTempDirectory(diretorioTemporario, "ordenacao-externa");
+        try {
+            List<Path> runs = gerarRuns(entrada, dir);
+            int maxRuns = runsPorPassada();
+            int passada = 0;
+            while (runs.size() > maxRuns) {
+                List<Path> proximas = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += maxRuns) {
+                    List<Path> grupo = runs.subList(i, Math.min(runs.size(), i + maxRuns));
+                    Path destino = dir.resolve("passada" + passada + "-" + proximas.size() + ".bin");
+                    intercalar(grupo, destino, Formato.BINARIO);
+                    for (Path run : grupo) Files.delete(run);
+                    proximas.add(destino);
+                }
+                runs = proximas;
+                passada++;
+            }
+            return intercalar(runs, saida, formato);
+        } finally {
+            apagarDiretorio(dir);
+        }
+    }
+
+    // quantas runs cabem abertas ao mesmo tempo (um buffer de leitura por run + saída)
+    private int runsPorPassada() {
+        long cabem = orcamentoBytes / TAM_BUFFER - 1;
+        return (int) Math.max(2, Math.min(MAX_RUNS_POR_PASSADA, cabem));
+    }
+
+    // ---------- Fase 1: blocos ordenados ----------
+    private List<Path> gerarRuns(Path entrada, Path dir) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        // o buffer de leitura do CSV também sai do orçamento
+        long limiteBloco = orcamentoBytes - TAM_BUFFER;
+        try (BufferedReader br = Files.newBufferedReader(entrada, StandardCharsets.UTF_8)) {
+            String linha = br.readLine(); // cabeçalho
+            List<Registro> bloco = new ArrayList<>();
+            long usado = 0;
+            while ((linha = br.readLine()) != null) {
+                Registro r = Registro.deLinhaCSV(linha);
+                if (r == null) continue;
+                bloco.add(r);
+                usado += BYTES_POR_REGISTRO + 2L * linha.length();
+                if (usado >= limiteBloco) {
+                    runs.add(gravarRun(bloco, dir, runs.size()));
+                    bloco.clear();
+                    usado = 0;
+                }
+            }
+            if (!bloco.isEmpty() || runs.isEmpty()) {
+                runs.add(gravarRun(bloco, dir, runs.size()));
+            }
+        }
+        return runs;
+    }
+
+    private Path gravarRun(List<Registro> bloco, Path dir, int indice) throws IOException {
+        Registro[] arr = bloco.toArray(new Registro[0]);
+        AlgoritmosOrdenacao.mergeSort(arr, spec);
+        Path run = dir.resolve("run" + indice + ".bin");
+        try (DataOutputStream out = abrirBinario(run)) {
+            out.writeLong(arr.length);
+            for (Registro r : arr) escreverBinario(out, r);
+        }
+        return run;
+    }
+
+    // ---------- Fase 2: intercalação k-way ----------
+    private long intercalar(List<Path> runs, Path destino, Formato formato) throws IOException {
+        List<LeitorRun> leitores = new ArrayList<>(runs.size());
+        try {
+            long total = 0;
+            for (Path run : runs) {
+                LeitorRun leitor = new LeitorRun(run);
+                leitores.add(leitor);
+                total += leitor.restantes;
+            }
+            ArvorePerdedores arvore = new ArvorePerdedores(leitores, comparador);
+            if (formato == Formato.BINARIO) {
+                try (DataOutputStream out = abrirBinario(destino)) {
+                    out.writeLong(total);
+                    for (Registro r; (r = arvore.proximo()) != null; ) escreverBinario(out, r);
+                }
+            } else {
+                // Files.newBufferedWriter usa só 8 KB; com TAM_BUFFER são poucas gravações grandes
+                try (BufferedWriter out = new BufferedWriter(
+                        new OutputStreamWriter(Files.newOutputStream(destino), StandardCharsets.UTF_8), TAM_BUFFER)) {
+                    out.write(CABECALHO);
+                    out.write('\n');
+                    for (Registro r; (r = arvore.proximo()) != null; ) escreverCSV(out, r);
+                }
+            }
+            return total;
+        } finally {
+            for (LeitorRun leitor : leitores) leitor.fechar();
+        }
+    }
+
+    // fonte ordenada de registros para a árvore de perdedores; null quando acaba
+    interface Fonte {
+        Registro proximo() throws IOException;
+    }
+
+    // Árvore de perdedores sobre k fontes ordenadas. perdedor[1..k-1] guarda, em cada
+    // nó interno, a fonte que perdeu o confronto ali; perdedor[0] é a vencedora geral.
+    // Trocar o registro da vencedora só refaz o caminho da folha dela até a raiz.
+    static final class ArvorePerdedores {
+        private final Fonte[] fontes;
+        private final Registro[] atual;
+        private final int[] perdedor;
+        private final Comparator<Registro> cmp;
+        private final int k;
+
+        ArvorePerdedores(List<? extends Fonte> fontes, Comparator<Registro> cmp) throws IOException {
+            this.k = fontes.size();
+            this.fontes = fontes.toArray(new Fonte[0]);
+            this.cmp = cmp;
+            this.atual = new Registro[k];
+            this.perdedor = new int[Math.max(1, k)];
+            for (int i = 0; i < k; i++) atual[i] = this.fontes[i].proximo();
+            if (k > 0) perdedor[0] = montar(1);
+        }
+
+        // monta a subárvore do nó interno 'no' e devolve a vencedora dela;
+        // as folhas são os nós k..2k-1 (folha da fonte i = k + i)
+        private int montar(int no) {
+            if (no >= k) return no - k;
+            int esquerda = montar(2 * no);
+            int direita = 2 * no + 1 < 2 * k ? montar(2 * no + 1) : esquerda;
+            if (venceu(esquerda, direita)) {
+                perdedor[no] = direita;
+                return esquerda;
+            }
+            perdedor[no] = esquerda;
+            return direita;
+        }
+
+        // a vence b se vier antes; fonte esgotada (null) perde sempre; empate vai para
+        // a run de menor índice, que veio antes no arquivo
+        private boolean venceu(int a, int b) {
+            Registro ra = atual[a], rb = atual[b];
+            if (ra == null) return false;
+            if (rb == null) return true;
+            int c = cmp.compare(ra, rb);
+            return c < 0 || (c == 0 && a < b);
+        }
+
+        Registro proximo() throws IOException {
+            if (k == 0) return null;
+            int vencedora = perdedor[0];
+            Registro saida = atual[vencedora];
+            if (saida == null) return null;
+            atual[vencedora] = fontes[vencedora].proximo();
+            for (int no = (vencedora + k) >>> 1; no > 0; no >>>= 1) {
+                if (venceu(perdedor[no], vencedora)) {
+                    int t = perdedor[no];
+                    perdedor[no] = vencedora;
+                    vencedora = t;
+                }
+            }
+            perdedor[0] = vencedora;
+            return saida;
+        }
+    }
+
+    static final class LeitorRun implements Fonte {
+        private final DataInputStream in;
+        private long restantes;
+
+        LeitorRun(Path run) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), TAM_BUFFER));
+            this.restantes = in.readLong();
+        }
+
+        @Override
+        public Registro proximo() throws IOException {
+            if (restantes == 0) return null;
+            restantes--;
+            return lerBinario(in);
+        }
+
+        void fechar() throws IOException {
+            in.close();
+        }
+    }
+
+    // ========== E/S ==========
+
+    static DataOutputStream abrirBinario(Path caminho) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(caminho), TAM_BUFFER));
+    }
+
+    static void escreverBinario(DataOutputStream out, Registro r) throws IOException {
+        out.writeInt(r.id);
+        out.writeUTF(r.nome);
+        out.writeUTF(r.cpf);
+        out.writeInt(r.prioridade);
+        out.writeUTF(r.data);
+    }
+
+    static Registro lerBinario(DataInputStream in) throws IOException {
+        int id = in.readInt();
+        String nome = in.readUTF();
+        String cpf = in.readUTF();
+        int prioridade = in.readInt();
+        String data = in.readUTF();
+        return new Registro(id, nome, cpf, prioridade, data);
+    }
+
+    private static void escreverCSV(Writer out, Registro r) throws IOException {
+        out.write(Integer.toString(r.id));
+        out.write(',');
+        out.write(r.nome);
+        out.write(',');
+        out.write(r.cpf);
+        out.write(',');
+        out.write(Integer.toString(r.prioridade));
+        out.write(',');
+        out.write(r.data);
+        out.write('\n');
+    }
+
+    static void apagarDiretorio(Path dir) throws IOException {
+        try (Stream<Path> arquivos = Files.list(dir)) {
+            arquivos.forEach(p -> {
+                try {
+                    Files.deleteIfExists(p);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,408 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.SplittableRandom;
+
+// Ordenação fora do heap com a API de memória externa (java.lang.foreign).
+//
+// Vetores Java param em 2^31 elementos; aqui as colunas são MemorySegments (alocados
+// num Arena ou mapeados de arquivo com FileChannel.map) e todos os índices são long,
+// então dá para ordenar bilhões de valor/timestamp sem passar pelo GC nem pelo -Xmx.
+//
+//  - ordenarInts / ordenarLongs:  introsort in-place (partição de três vias, heap
+//                                 sort no limite de profundidade)
+//  - radixInts / radixLongs:      LSD de 8 bits com buffer do mesmo tamanho alocado
+//                                 no Arena informado; pula passadas de dígito único
+//  - ordenarRegistros:            registros de largura fixa, por uma chave int ou
+//                                 long num deslocamento; LSD estável movendo o
+//                                 registro inteiro
+//
+// Os segmentos de colunas precisam estar alinhados ao tamanho do elemento (o que
+// Arena.allocate e FileChannel.map já garantem). Tudo é sequencial.
+//
+// Uso: java OrdenacaoForaDoHeap <quantidade, ex: 3G> [arquivo]
+//      sem arquivo a coluna fica num Arena; com arquivo ela é mapeada dele
+public class OrdenacaoForaDoHeap {
+
+    static final int LIMIAR_INSERCAO = 16;
+    static final int BITS_DIGITO = 8;
+    static final int BALDES = 1 << BITS_DIGITO;
+
+    // Main.Registro em largura fixa (categoria fica de fora: é texto de tamanho variável)
+    public static final MemoryLayout LAYOUT_REGISTRO_MAIN = MemoryLayout.structLayout(
+            ValueLayout.JAVA_INT.withName("id"),
+            ValueLayout.JAVA_INT.withName("valor"),
+            ValueLayout.JAVA_LONG.withName("timestamp"));
+    public static final long DESLOCAMENTO_VALOR = LAYOUT_REGISTRO_MAIN.byteOffset(MemoryLayout.PathElement.groupElement("valor"));
+    public static final long DESLOCAMENTO_TIMESTAMP = LAYOUT_REGISTRO_MAIN.byteOffset(MemoryLayout.PathElement.groupElement("timestamp"));
+
+    public static void main(String[] args) throws IOException {
+        long n = args.length > 0 ? lerQuantidade(args[0]) : 100_000_000L;
+        try (Arena arena = Arena.ofConfined()) {
+            MemorySegment coluna;
+            if (args.length > 1) {
+                coluna = mapear(Paths.get(args[1]), n * Integer.BYTES, arena);
+                System.out.println("Coluna mapeada de " + args[1]);
+            } else {
+                coluna = arena.allocate(n * Integer.BYTES, Integer.BYTES);
+            }
+            SplittableRandom rand = new SplittableRandom(42);
+            for (long i = 0; i < n; i++) coluna.setAtIndex(ValueLayout.JAVA_INT, i, rand.nextInt());
+
+            long inicio = System.nanoTime();
+            radixInts(coluna, arena);
+            long fim = System.nanoTime();
+            double segundos = (fim - inicio) / 1e9;
+            System.out.printf("%d ints (%.1f GB) ordenados fora do heap em %.2f s (%.1f M elem/s) %s%n",
+                    n, n * 4.0 / (1L << 30), segundos, n / segundos / 1e6,
+                    estaOrdenado(coluna) ? "✓" : "✗ FORA DE ORDEM");
+        }
+    }
+
+    // "3G" = 3 * 2^30, "500M" = 500 * 2^20, "10K" = 10 * 2^10
+    static long lerQuantidade(String texto) {
+        String t = texto.trim().toUpperCase();
+        char sufixo = t.charAt(t.length() - 1);
+        switch (sufixo) {
+            case 'K':
+                return Long.parseLong(t.substring(0, t.length() - 1)) << 10;
+            case 'M':
+                return Long.parseLong(t.substring(0, t.length() - 1)) << 20;
+            case 'G':
+                return Long.parseLong(t.substring(0, t.length() - 1)) << 30;
+            default:
+                return Long.parseLong(t);
+        }
+    }
+
+    // Mapeia (criando ou aumentando se preciso) 'bytes' do arquivo para leitura e
+    // escrita; o mapeamento vive até o Arena fechar
+    public static MemorySegment mapear(Path arquivo, long bytes, Arena arena) throws IOException {
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, bytes, arena);
+        }
+    }
+
+    // ========== INTROSORT int ==========
+
+    public static void ordenarInts(MemorySegment coluna) {
+        long n = quantidade(coluna, Integer.BYTES);
+        if (n < 2) return;
+        introInts(coluna, 0, n, 2 * (64 - Long.numberOfLeadingZeros(n)));
+    }
+
+    private static void introInts(MemorySegment s, long de, long ate, int profundidade) {
+        while (ate - de > LIMIAR_INSERCAO) {
+            if (profundidade-- == 0) {
+                heapInts(s, de, ate);
+                return;
+            }
+            long meio = de + ((ate - de) >>> 1);
+            int pivo = mediana(getInt(s, de), getInt(s, meio), getInt(s, ate - 1));
+            // três vias: [de, lt) < pivô, [lt, gt] == pivô, (gt, ate) > pivô
+            long lt = de, i = de, gt = ate - 1;
+            while (i <= gt) {
+                int x = getInt(s, i);
+                if (x < pivo) trocarInts(s, lt++, i++);
+                else if (x > pivo) trocarInts(s, i, gt--);
+                else i++;
+            }
+            if (lt - de < ate - gt) {
+                introInts(s, de, lt, profundidade);
+                de = gt + 1;
+            } else {
+                introInts(s, gt + 1, ate, profundidade);
+                ate = lt;
+            }
+        }
+        for (long i = de + 1; i < ate; i++) {
+            int atual = getInt(s, i);
+            long j = i - 1;
+            while (j >= de && getInt(s, j) > atual) {
+                setInt(s, j + 1, getInt(s, j));
+                j--;
+            }
+            setInt(s, j + 1, atual);
+        }
+    }
+
+    private static void heapInts(MemorySegment s, long de, long ate) {
+        long n = ate - de;
+        for (long i = n / 2 - 1; i >= 0; i--) descerInts(s, de, n, i, getInt(s, de + i));
+        for (long fim = n - 1; fim > 0; fim--) {
+            int valor = getInt(s, de + fim);
+            setInt(s, de + fim, getInt(s, de));
+            descerInts(s, de, fim, 0, valor);
+        }
+    }
+
+    private static void descerInts(MemorySegment s, long base, long n, long i, int valor) {
+        long filho;
+        while ((filho = 2 * i + 1) < n) {
+            if (filho + 1 < n && getInt(s, base + filho + 1) > getInt(s, base + filho)) filho++;
+            int maior = getInt(s, base + filho);
+            if (maior <= valor) break;
+            setInt(s, base + i, maior);
+            i = filho;
+        }
+        setInt(s, base + i, valor);
+    }
+
+    // ========== INTROSORT long ==========
+
+    public static void ordenarLongs(MemorySegment coluna) {
+        long n = quantidade(coluna, Long.BYTES);
+        if (n < 2) return;
+        introLongs(coluna, 0, n, 2 * (64 - Long.numberOfLeadingZeros(n)));
+    }
+
+    private static void introLongs(MemorySegment s, long de, long ate, int profundidade) {
+        while (ate - de > LIMIAR_INSERCAO) {
+            if (profundidade-- == 0) {
+                heapLongs(s, de, ate);
+                return;
+            }
+            long meio = de + ((ate - de) >>> 1);
+            long pivo = mediana(getLong(s, de), getLong(s, meio), getLong(s, ate - 1));
+            long lt = de, i = de, gt = ate - 1;
+            while (i <= gt) {
+                long x = getLong(s, i);
+                if (x < pivo) trocarLongs(s, lt++, i++);
+                else if (x > pivo) trocarLongs(s, i, gt--);
+                else i++;
+            }
+            if (lt - de < ate - gt) {
+                introLongs(s, de, lt, profundidade);
+                de = gt + 1;
+            } else {
+                introLongs(s, gt + 1, ate, profundidade);
+                ate = lt;
+            }
+        }
+        for (long i = de + 1; i < ate; i++) {
+            long atual = getLong(s, i);
+            long j = i - 1;
+            while (j >= de && getLong(s, j) > atual) {
+                setLong(s, j + 1, getLong(s, j));
+                j--;
+            }
+            setLong(s, j + 1, atual);
+        }
+    }
+
+    private static void heapLongs(MemorySegment s, long de, long ate) {
+        long n = ate - de;
+        for (long i = n / 2 - 1; i >= 0; i--) descerLongs(s, de, n, i, getLong(s, de + i));
+        for (long fim = n - 1; fim > 0; fim--) {
+            long valor = getLong(s, de + fim);
+            setLong(s, de + fim, getLong(s, de));
+            descerLongs(s, de, fim, 0, valor);
+        }
+    }
+
+    private static void descerLongs(MemorySegment s, long base, long n, long i, long valor) {
+        long filho;
+        while ((filho = 2 * i + 1) < n) {
+            if (filho + 1 < n && getLong(s, base + filho + 1) > getLong(s, base + filho)) filho++;
+            long maior = getLong(s, base + filho);
+            if (maior <= valor) break;
+            setLong(s, base + i, maior);
+            i = filho;
+        }
+        setLong(s, base + i, valor);
+    }
+
+    // ========== RADIX LSD ==========
+
+    // O buffer auxiliar (mesmo tamanho da coluna) é alocado em 'arena' e pode ser
+    // liberado junto com ele.
+    public static void radixInts(MemorySegment coluna, Arena arena) {
+        long n = quantidade(coluna, Integer.BYTES);
+        if (n < 2) return;
+        // histogramas dos 4 dígitos numa leitura só; o mais alto com o sinal invertido
+        long[][] contagem = new long[Integer.BYTES][BALDES];
+        for (long i = 0; i < n; i++) {
+            int x = getInt(coluna, i) ^ Integer.MIN_VALUE;
+            for (int d = 0; d < Integer.BYTES; d++) contagem[d][(x >>> (d * BITS_DIGITO)) & (BALDES - 1)]++;
+        }
+        MemorySegment origem = coluna;
+        MemorySegment destino = arena.allocate(coluna.byteSize(), Integer.BYTES);
+        for (int d = 0; d < Integer.BYTES; d++) {
+            long[] pos = contagem[d];
+            if (digitoUnico(pos, n)) continue;
+            prefixo(pos);
+            int desloc = d * BITS_DIGITO;
+            for (long i = 0; i < n; i++) {
+                int x = getInt(origem, i);
+                int digito = ((x ^ Integer.MIN_VALUE) >>> desloc) & (BALDES - 1);
+                setInt(destino, pos[digito]++, x);
+            }
+            MemorySegment t = origem;
+            origem = destino;
+            destino = t;
+        }
+        if (origem != coluna) MemorySegment.copy(origem, 0, coluna, 0, coluna.byteSize());
+    }
+
+    public static void radixLongs(MemorySegment coluna, Arena arena) {
+        long n = quantidade(coluna, Long.BYTES);
+        if (n < 2) return;
+        long[][] contagem = new long[Long.BYTES][BALDES];
+        for (long i = 0; i < n; i++) {
+            long x = getLong(coluna, i) ^ Long.MIN_VALUE;
+            for (int d = 0; d < Long.BYTES; d++) contagem[d][(int) (x >>> (d * BITS_DIGITO)) & (BALDES - 1)]++;
+        }
+        MemorySegment origem = coluna;
+        MemorySegment destino = arena.allocate(coluna.byteSize(), Long.BYTES);
+        for (int d = 0; d < Long.BYTES; d++) {
+            long[] pos = contagem[d];
+            if (digitoUnico(pos, n)) continue;
+            prefixo(pos);
+            int desloc = d * BITS_DIGITO;
+            for (long i = 0; i < n; i++) {
+                long x = getLong(origem, i);
+                int digito = (int) ((x ^ Long.MIN_VALUE) >>> desloc) & (BALDES - 1);
+                setLong(destino, pos[digito]++, x);
+            }
+            MemorySegment t = origem;
+            origem = destino;
+            destino = t;
+        }
+        if (origem != coluna) MemorySegment.copy(origem, 0, coluna, 0, coluna.byteSize());
+    }
+
+    // ========== REGISTROS DE LARGURA FIXA ==========
+
+    // Ordena registros de 'largura' bytes pela chave em 'deslocamento', que é um
+    // ValueLayout.JAVA_INT ou JAVA_LONG (ex: LAYOUT_REGISTRO_MAIN com DESLOCAMENTO_VALOR).
+    // Estável: registros com a mesma chave mantêm a ordem original.
+    public static void ordenarRegistros(MemorySegment registros, long largura, long deslocamento,
+                                        ValueLayout chave, Arena arena) {
+        int bytesChave;
+        if (chave.carrier() == int.class) bytesChave = Integer.BYTES;
+        else if (chave.carrier() == long.class) bytesChave = Long.BYTES;
+        else throw new IllegalArgumentException("Chave deve ser int ou long: " + chave);
+        if (deslocamento < 0 || deslocamento + bytesChave > largura) {
+            throw new IllegalArgumentException("Chave fora do registro: deslocamento " + deslocamento + ", largura " + largura);
+        }
+        long n = quantidade(registros, largura);
+        if (n < 2) return;
+
+        long[][] contagem = new long[bytesChave][BALDES];
+        for (long i = 0; i < n; i++) {
+            long x = chaveSemSinal(registros, i * largura + deslocamento, bytesChave);
+            for (int d = 0; d < bytesChave; d++) contagem[d][(int) (x >>> (d * BITS_DIGITO)) & (BALDES - 1)]++;
+        }
+        MemorySegment origem = registros;
+        MemorySegment destino = arena.allocate(registros.byteSize(), Long.BYTES);
+        for (int d = 0; d < bytesChave; d++) {
+            long[] pos = contagem[d];
+            if (digitoUnico(pos, n)) continue;
+            prefixo(pos);
+            int desloc = d * BITS_DIGITO;
+            for (long i = 0; i < n; i++) {
+                long x = chaveSemSinal(origem, i * largura + deslocamento, bytesChave);
+                int digito = (int) (x >>> desloc) & (BALDES - 1);
+                MemorySegment.copy(origem, i * largura, destino, pos[digito]++ * largura, largura);
+            }
+            MemorySegment t = origem;
+            origem = destino;
+            destino = t;
+        }
+        if (origem != registros) MemorySegment.copy(origem, 0, registros, 0, registros.byteSize());
+    }
+
+    // chave com o bit de sinal invertido, para comparar como sem sinal
+    private static long chaveSemSinal(MemorySegment s, long offset, int bytesChave) {
+        if (bytesChave == Integer.BYTES) {
+            return (s.get(ValueLayout.JAVA_INT_UNALIGNED, offset) ^ Integer.MIN_VALUE) & 0xFFFFFFFFL;
+        }
+        return s.get(ValueLayout.JAVA_LONG_UNALIGNED, offset) ^ Long.MIN_VALUE;
+    }
+
+    // ========== AUXILIARES ==========
+
+    public static boolean estaOrdenado(MemorySegment coluna) {
+        long n = quantidade(coluna, Integer.BYTES);
+        for (long i = 1; i < n; i++) {
+            if (getInt(coluna, i - 1) > getInt(coluna, i)) return false;
+        }
+        return true;
+    }
+
+    public static boolean estaOrdenadoLong(MemorySegment coluna) {
+        long n = quantidade(coluna, Long.BYTES);
+        for (long i = 1; i < n; i++) {
+            if (getLong(coluna, i - 1) > getLong(coluna, i)) return false;
+        }
+        return true;
+    }
+
+    private static long quantidade(MemorySegment s, long tamanhoElemento) {
+        if (s.byteSize() % tamanhoElemento != 0) {
+            throw new IllegalArgumentException("Segmento de " + s.byteSize() + " bytes não é múltiplo de " + tamanhoElemento);
+        }
+        return s.byteSize() / tamanhoElemento;
+    }
+
+    // todos os elementos caem no mesmo balde: a passada não muda nada
+    private static boolean digitoUnico(long[] contagem, long n) {
+        for (long c : contagem) {
+            if (c == n) return true;
+            if (c != 0) return false;
+        }
+        return false;
+    }
+
+    private static void prefixo(long[] contagem) {
+        long acumulado = 0;
+        for (int b = 0; b < contagem.length; b++) {
+            long c = contagem[b];
+            contagem[b] = acumulado;
+            acumulado += c;
+        }
+    }
+
+    private static int mediana(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static long mediana(long a, long b, long c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    private static int getInt(MemorySegment s, long i) {
+        return s.getAtIndex(ValueLayout.JAVA_INT, i);
+    }
+
+    private static void setInt(MemorySegment s, long i, int v) {
+        s.setAtIndex(ValueLayout.JAVA_INT, i, v);
+    }
+
+    private static long getLong(MemorySegment s, long i) {
+        return s.getAtIndex(ValueLayout.JAVA_LONG, i);
+    }
+
+    private static void setLong(MemorySegment s, long i, long v) {
+        s.setAtIndex(ValueLayout.JAVA_LONG, i, v);
+    }
+
+    private static void trocarInts(MemorySegment s, long i, long j) {
+        int t = getInt(s, i);
+        setInt(s, i, getInt(s, j));
+        setInt(s, j, t);
+    }
+
+    private static void trocarLongs(MemorySegment s, long i, long j) {
+        long t = getLong(s, i);
+        setLong(s, i, getLong(s, j));
+        setLong(s, j, t);
+    }
+}
@@ -0,0 +1,250 @@
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+// Ordenação parcial: quando só interessam os K primeiros, não é preciso ordenar tudo.
+//
+//  - topK:         heap limitado a K elementos, uma passada, memória O(K). Funciona
+//                  com qualquer Iterator, inclusive lendo o CSV linha a linha.
+//  - nthElement:   quickselect; deixa na posição n o elemento que estaria lá se o
+//                  vetor fosse ordenado, menores à esquerda e maiores à direita.
+//  - partialSort:  quicksort que só desce nas partições que tocam [0, K).
+//
+// topK devolve exatamente os K primeiros de uma ordenação estável (empates ficam
+// com quem apareceu antes). nthElement e partialSort são in-place e não estáveis.
+public class OrdenacaoParcial {
+
+    public static void main(String[] args) throws IOException {
+        String caminho = args.length > 0 ? args[0] : "data/dados.csv";
+        int k = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        EspecificacaoOrdenacao spec = EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                .depoisPor(EspecificacaoOrdenacao.Campo.DATA);
+
+        long inicio = System.nanoTime();
+        List<Registro> top = topKDoCSV(caminho, k, spec.comparador());
+        long fim = System.nanoTime();
+
+        System.out.printf("Top %d de %s por (%s) em %.2f ms:%n", k, caminho, spec, (fim - inicio) / 1_000_000.0);
+        for (Registro r : top) {
+            System.out.printf("  id=%-8d prioridade=%d data=%s %s%n", r.id, r.prioridade, r.data, r.nome);
+        }
+    }
+
+    // ========== TOP-K (HEAP LIMITADO) ==========
+
+    public static <T> List<T> topK(T[] arr, int k, Comparator<? super T> cmp) {
+        return topK(Arrays.asList(arr).iterator(), k, cmp);
+    }
+
+    public static <T> List<T> topK(Iterator<? extends T> fonte, int k, Comparator<? super T> cmp) {
+        HeapLimitado<T> heap = new HeapLimitado<>(k, cmp);
+        while (fonte.hasNext()) {
+            heap.oferecer(fonte.next());
+        }
+        return heap.emOrdem();
+    }
+
+    // Uma passada pelo arquivo guardando só K registros na memória
+    public static List<Registro> topKDoCSV(String caminho, int k, Comparator<? super Registro> cmp) throws IOException {
+        HeapLimitado<Registro> heap = new HeapLimitado<>(k, cmp);
+        try (BufferedReader br = new BufferedReader(new FileReader(caminho), 1 << 16)) {
+            String linha = br.readLine(); // cabeçalho
+            if (linha == null) return new ArrayList<>();
+            while ((linha = br.readLine()) != null) {
+                Registro r = Registro.deLinhaCSV(linha);
+                if (r != null) heap.oferecer(r);
+            }
+        }
+        return heap.emOrdem();
+    }
+
+    // Max-heap dos K menores vistos até agora. O topo é o pior dos K: um novo elemento
+    // só entra se for estritamente menor que ele. A sequência de chegada desempata,
+    // o que mantém o resultado igual ao de uma ordenação estável. Os vetores crescem
+    // sob demanda até K: um K grande com poucos elementos não reserva K posições.
+    static final class HeapLimitado<T> {
+        static final int CAPACIDADE_INICIAL = 16;
+
+        private final int capacidade;
+        private final Comparator<? super T> cmp;
+        private Object[] itens;
+        private long[] sequencia;
+        private int tamanho;
+        private long proximaSequencia;
+
+        HeapLimitado(int capacidade, Comparator<? super T> cmp) {
+            if (capacidade < 0) throw new IllegalArgumentException("k negativo: " + capacidade);
+            this.capacidade = capacidade;
+            this.cmp = cmp;
+            int inicial = Math.min(capacidade, CAPACIDADE_INICIAL);
+            this.itens = new Object[inicial];
+            this.sequencia = new long[inicial];
+        }
+
+        void oferecer(T item) {
+            long seq = proximaSequencia++;
+            if (tamanho < capacidade) {
+                if (tamanho == itens.length) crescer();
+                subir(tamanho++, item, seq);
+            } else if (capacidade > 0 && cmp.compare(item, item(0)) < 0) {
+                descer(0, item, seq);
+            }
+        }
+
+        private void crescer() {
+            int nova = (int) Math.min(capacidade, 2L * itens.length);
+            itens = Arrays.copyOf(itens, nova);
+            sequencia = Arrays.copyOf(sequencia, nova);
+        }
+
+        // maior primeiro: a > b na ordem (comparador, sequência)
+        private boolean maior(T a, long seqA, T b, long seqB) {
+            int c = cmp.compare(a, b);
+            return c > 0 || (c == 0 && seqA > seqB);
+        }
+
+        private void subir(int i, T item, long seq) {
+            while (i > 0) {
+                int pai = (i - 1) >>> 1;
+                if (!maior(item, seq, item(pai), sequencia[pai])) break;
+                itens[i] = itens[pai];
+                sequencia[i] = sequencia[pai];
+                i = pai;
+            }
+            itens[i] = item;
+            sequencia[i] = seq;
+        }
+
+        private void descer(int i, T item, long seq) {
+            int filho;
+            while ((filho = 2 * i + 1) < tamanho) {
+                if (filho + 1 < tamanho && maior(item(filho + 1), sequencia[filho + 1], item(filho), sequencia[filho])) {
+                    filho++;
+                }
+                if (!maior(item(filho), sequencia[filho], item, seq)) break;
+                itens[i] = itens[filho];
+                sequencia[i] = sequencia[filho];
+                i = filho;
+            }
+            itens[i] = item;
+            sequencia[i] = seq;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T item(int i) {
+            return (T) itens[i];
+        }
+
+        // esvazia o heap pelo topo (do pior para o melhor) e devolve em ordem crescente
+        List<T> emOrdem() {
+            Object[] saida = new Object[tamanho];
+            while (tamanho > 0) {
+                int ultimo = --tamanho;
+                saida[ultimo] = itens[0];
+                T item = item(ultimo);
+                long seq = sequencia[ultimo];
+                itens[ultimo] = null;
+                if (tamanho > 0) descer(0, item, seq);
+            }
+            List<T> lista = new ArrayList<>(saida.length);
+            for (Object o : saida) {
+                @SuppressWarnings("unchecked")
+                T t = (T) o;
+                lista.add(t);
+            }
+            return lista;
+        }
+    }
+
+    // ========== NTH ELEMENT (QUICKSELECT) ==========
+
+    public static <T> void nthElement(T[] arr, int n, Comparator<? super T> cmp) {
+        if (n < 0 || n >= arr.length) throw new IndexOutOfBoundsException("n=" + n + ", tamanho=" + arr.length);
+        int inicio = 0, fim = arr.length - 1;
+        // com pivô ruim repetidas vezes, cai para a ordenação completa do trecho
+        int limite = 2 * (32 - Integer.numberOfLeadingZeros(arr.length));
+        while (fim - inicio >= AlgoritmosOrdenacao.LIMIAR_INSERCAO) {
+            if (limite-- == 0) {
+                Arrays.sort(arr, inicio, fim + 1, cmp);
+                return;
+            }
+            int[] faixaIguais = particionar3(arr, inicio, fim, cmp);
+            if (n < faixaIguais[0]) fim = faixaIguais[0] - 1;
+            else if (n > faixaIguais[1]) inicio = faixaIguais[1] + 1;
+            else return;
+        }
+        insercao(arr, inicio, fim, cmp);
+    }
+
+    // ========== PARTIAL SORT ==========
+
+    // Deixa arr[0..k) com os k menores em ordem; o resto fica em ordem qualquer
+    public static <T> void partialSort(T[] arr, int k, Comparator<? super T> cmp) {
+        if (k <= 0 || arr.length < 2) return;
+        k = Math.min(k, arr.length);
+        quickSortParcial(arr, 0, arr.length - 1, k, cmp, 2 * (32 - Integer.numberOfLeadingZeros(arr.length)));
+    }
+
+    private static <T> void quickSortParcial(T[] arr, int inicio, int fim, int k,
+                                             Comparator<? super T> cmp, int profundidade) {
+        while (inicio < k && fim - inicio >= AlgoritmosOrdenacao.LIMIAR_INSERCAO) {
+            if (profundidade-- == 0) {
+                Arrays.sort(arr, inicio, fim + 1, cmp);
+                return;
+            }
+            int[] faixaIguais = particionar3(arr, inicio, fim, cmp);
+            // o lado direito só importa se ainda houver posições < k depois dos iguais
+            if (faixaIguais[1] + 1 < k) {
+                quickSortParcial(arr, faixaIguais[1] + 1, fim, k, cmp, profundidade);
+            }
+            fim = faixaIguais[0] - 1;
+        }
+        if (inicio < k) insercao(arr, inicio, fim, cmp);
+    }
+
+    // ========== AUXILIARES ==========
+
+    // Partição em três vias com pivô mediana de três. Devolve {lt, gt}:
+    // arr[inicio..lt) < pivô, arr[lt..gt] == pivô, arr(gt..fim] > pivô
+    private static <T> int[] particionar3(T[] arr, int inicio, int fim, Comparator<? super T> cmp) {
+        int meio = (inicio + fim) >>> 1;
+        T a = arr[inicio], b = arr[meio], c = arr[fim];
+        T pivot;
+        if (cmp.compare(a, b) < 0) {
+            pivot = cmp.compare(b, c) < 0 ? b : (cmp.compare(a, c) < 0 ? c : a);
+        } else {
+            pivot = cmp.compare(a, c) < 0 ? a : (cmp.compare(b, c) < 0 ? c : b);
+        }
+        int lt = inicio, i = inicio, gt = fim;
+        while (i <= gt) {
+            int r = cmp.compare(arr[i], pivot);
+            if (r < 0) trocar(arr, lt++, i++);
+            else if (r > 0) trocar(arr, i, gt--);
+            else i++;
+        }
+        return new int[]{lt, gt};
+    }
+
+    private static <T> void insercao(T[] arr, int inicio, int fim, Comparator<? super T> cmp) {
+        for (int i = inicio + 1; i <= fim; i++) {
+            T atual = arr[i];
+            int j = i - 1;
+            while (j >= inicio && cmp.compare(arr[j], atual) > 0) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = atual;
+        }
+    }
+
+    private static <T> void trocar(T[] arr, int i, int j) {
+        T temp = arr[i];
+        arr[i] = arr[j];
+        arr[j] = temp;
+    }
+}
@@ -0,0 +1,474 @@
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Ordenação de arquivo para arquivo em estágios sobrepostos: enquanto uns blocos do
+// CSV ainda estão sendo analisados, outros já estão ordenados e sendo intercalados,
+// e a saída é gravada enquanto a intercalação final anda.
+//
+//  1. analisadores: o CSV é mapeado e dividido em blocos que terminam em '\n'
+//     (LeitorCSVMapeado.limites); cada analisador pega o próximo bloco livre, gera os
+//     Registro, ordena o bloco (merge sort por especificação, estável) e entrega a
+//     run numa fila limitada;
+//  2. intercalador: recebe as runs, recoloca na ordem dos blocos e vai intercalando
+//     duas a duas como um contador binário (a de cima com a de baixo enquanto a de
+//     baixo não for maior), então sobram no máximo ~log2(blocos) runs no fim; a última
+//     intercalação é k-way (árvore de perdedores de OrdenacaoExterna) e já serializa
+//     as linhas em buffers de bytes;
+//  3. escritor: grava os buffers cheios com FileChannel.write e devolve cada um ao
+//     conjunto de buffers livres, que é fixo (nada é alocado por linha nem por lote).
+//
+// Analisadores e escritor rodam em threads virtuais; o intercalador é a própria thread
+// que chamou ordenar(). As filas limitadas dão a contrapressão: analisadores param se
+// o intercalador atrasar, e o intercalador para se o disco não acompanhar (não há
+// buffer livre). A saída é a mesma de uma ordenação estável do
+// arquivo inteiro, com o cabeçalho de GerarCSV.
+//
+// Memória: a pilha do intercalador tem um orçamento (padrão: metade do heap máximo),
+// estimado como em OrdenacaoExterna (BYTES_POR_REGISTRO por registro mais os bytes
+// do bloco). Quando passa dele, a pilha inteira é intercalada numa run binária em
+// disco e recomeça vazia; a intercalação final junta as runs do disco (que cobrem
+// os blocos anteriores) com as da pilha. Fora do orçamento ficam só os blocos em
+// trânsito: os que os analisadores seguram e os que chegaram fora de ordem.
+//
+// Uso: java OrdenacaoPipeline <entrada.csv> <saida.csv> [campos] [analisadores] [bloco MB] [orçamento MB]
+//      campos como em OrdenacaoExterna, ex: prioridade,-data (padrão: prioridade,data)
+public class OrdenacaoPipeline {
+
+    static final long TAMANHO_BLOCO_PADRAO = 4L << 20;
+    static final int TAM_BUFFER_SAIDA = 1 << 20;
+    static final int BUFFERS_SAIDA = 4;
+
+    private final EspecificacaoOrdenacao spec;
+    private final Comparator<Registro> cmp;
+    private final long tamanhoBloco;
+    private final int analisadores;
+    private final long orcamentoBytes;
+    private final Path diretorioTemporario;
+
+    public OrdenacaoPipeline(EspecificacaoOrdenacao spec) {
+        this(spec, TAMANHO_BLOCO_PADRAO, Runtime.getRuntime().availableProcessors());
+    }
+
+    public OrdenacaoPipeline(EspecificacaoOrdenacao spec, long tamanhoBloco, int analisadores) {
+        this(spec, tamanhoBloco, analisadores, Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    public OrdenacaoPipeline(EspecificacaoOrdenacao spec, long tamanhoBloco, int analisadores, long orcamentoBytes) {
+        this(spec, tamanhoBloco, analisadores, orcamentoBytes, Paths.get(System.getProperty("java.io.tmpdir")));
+    }
+
+    public OrdenacaoPipeline(EspecificacaoOrdenacao spec, long tamanhoBloco, int analisadores, long orcamentoBytes,
+                             Path diretorioTemporario) {
+        if (tamanhoBloco <= 0) throw new IllegalArgumentException("Tamanho de bloco deve ser positivo: " + tamanhoBloco);
+        if (analisadores < 1) throw new IllegalArgumentException("Analisadores deve ser >= 1: " + analisadores);
+        if (orcamentoBytes <= 0) throw new IllegalArgumentException("Orçamento deve ser positivo: " + orcamentoBytes);
+        this.spec = spec;
+        this.cmp = spec.comparador();
+        this.tamanhoBloco = tamanhoBloco;
+        this.analisadores = analisadores;
+        this.orcamentoBytes = orcamentoBytes;
+        this.diretorioTemporario = diretorioTemporario;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: java OrdenacaoPipeline <entrada.csv> <saida.csv> [campos] [analisadores] [bloco MB] [orçamento MB]");
+            return;
+        }
+        EspecificacaoOrdenacao spec = args.length > 2 ? OrdenacaoExterna.lerEspecificacao(args[2])
+                : EspecificacaoOrdenacao.por(EspecificacaoOrdenacao.Campo.PRIORIDADE)
+                        .depoisPor(EspecificacaoOrdenacao.Campo.DATA);
+        int analisadores = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+        long bloco = args.length > 4 ? Long.parseLong(args[4]) << 20 : TAMANHO_BLOCO_PADRAO;
+        long orcamento = args.length > 5 ? Long.parseLong(args[5]) << 20 : Runtime.getRuntime().maxMemory() / 2;
+        Resultado r = new OrdenacaoPipeline(spec, bloco, analisadores, orcamento)
+                .ordenar(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println("✓ " + r + " por " + spec);
+    }
+
+    // ========== RESULTADO ==========
+
+    public static final class Resultado {
+        public final long linhas;
+        public final int blocos;
+        // runs que passaram pelo disco por falta de orçamento
+        public final int runsEmDisco;
+        public final long bytesEscritos;
+        // desde o início: quando a última run ficou ordenada e quando a saída terminou
+        public final long nanosOrdenacao;
+        public final long nanosTotal;
+
+        Resultado(long linhas, int blocos, int runsEmDisco, long bytesEscritos, long nanosOrdenacao, long nanosTotal) {
+            this.linhas = linhas;
+            this.blocos = blocos;
+            this.runsEmDisco = runsEmDisco;
+            this.bytesEscritos = bytesEscritos;
+            this.nanosOrdenacao = nanosOrdenacao;
+            this.nanosTotal = nanosTotal;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d linhas, %d blocos (%d runs em disco), %.1f MB gravados:"
+                            + " runs prontas em %.1f ms, total %.1f ms", linhas, blocos, runsEmDisco,
+                    bytesEscritos / (1024.0 * 1024.0), nanosOrdenacao / 1e6, nanosTotal / 1e6);
+        }
+    }
+
+    // run ordenada de um bloco (ou a falha do analisador que a produzia), com a
+    // memória estimada que ela ocupa
+    private static final class Run {
+        final int bloco;
+        final Registro[] registros;
+        final long bytes;
+        final Throwable falha;
+
+        Run(int bloco, Registro[] registros, long bytes, Throwable falha) {
+            this.bloco = bloco;
+            this.registros = registros;
+            this.bytes = bytes;
+            this.falha = falha;
+        }
+    }
+
+    // Runs do intercalador: as já despejadas em disco (blocos mais antigos) e a pilha
+    // em memória
+    private static final class Runs {
+        final List<Path> emDisco = new ArrayList<>();
+        final List<Registro[]> pilha = new ArrayList<>();
+        long bytesPilha;
+        Path dir;
+
+        void apagar() throws IOException {
+            if (dir != null) OrdenacaoExterna.apagarDiretorio(dir);
+        }
+    }
+
+    // run da pilha como fonte da árvore de perdedores
+    private static final class FonteMemoria implements OrdenacaoExterna.Fonte {
+        private final Registro[] registros;
+        private int pos;
+
+        FonteMemoria(Registro[] registros) {
+            this.registros = registros;
+        }
+
+        @Override
+        public Registro proximo() {
+            return pos < registros.length ? registros[pos++] : null;
+        }
+    }
+
+    // ========== PIPELINE ==========
+
+    public Resultado ordenar(Path entrada, Path saida) throws IOException {
+        long inicio = System.nanoTime();
+        try (Arena arena = Arena.ofShared()) {
+            // a entrada é mapeada antes de criar a saída: entrada inválida não deixa arquivo
+            MemorySegment seg = LeitorCSVMapeado.mapear(entrada, arena);
+            try (FileChannel canal = FileChannel.open(saida, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+                 ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+                return executar(arena, seg, canal, threads, inicio);
+            }
+        }
+    }
+
+    private Resultado executar(Arena arena, MemorySegment seg, FileChannel canal, ExecutorService threads,
+                               long inicio) throws IOException {
+        long[] limites = LeitorCSVMapeado.limites(seg, tamanhoBloco);
+        int blocos = limites.length - 1;
+
+        // 1. analisadores
+        BlockingQueue<Run> prontas = new ArrayBlockingQueue<>(Math.max(2, analisadores));
+        AtomicInteger proximoBloco = new AtomicInteger();
+        for (int t = 0; t < analisadores; t++) {
+            threads.submit(() -> analisar(arena, seg, limites, proximoBloco, prontas));
+        }
+
+        // 3. escritor
+        Escritor escritor = new Escritor(canal);
+        threads.submit(escritor::gravar);
+
+        // 2. intercalador (nesta thread)
+        Runs runs = new Runs();
+        try {
+            receber(prontas, blocos, runs);
+            long ordenado = System.nanoTime();
+            long linhas = intercalarGravando(runs, escritor);
+            escritor.terminar();
+            escritor.verificar();
+            return new Resultado(linhas, blocos, runs.emDisco.size(), escritor.bytes,
+                    ordenado - inicio, System.nanoTime() - inicio);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Ordenação interrompida", e);
+        } finally {
+            // em caso de erro: acorda quem estiver parado numa fila
+            escritor.abortar();
+            threads.shutdownNow();
+            runs.apagar();
+        }
+    }
+
+    // cada analisador pega blocos até acabarem; uma falha vira uma Run com o erro
+    private void analisar(Arena arena, MemorySegment seg, long[] limites,
+                          AtomicInteger proximoBloco, BlockingQueue<Run> prontas) {
+        try {
+            for (int b; (b = proximoBloco.getAndIncrement()) + 1 < limites.length; ) {
+                Registro[] run = LeitorCSVMapeado.registrosDoTrecho(arena, seg, limites[b], limites[b + 1]);
+                AlgoritmosOrdenacao.mergeSort(run, spec);
+                long bytes = (long) run.length * OrdenacaoExterna.BYTES_POR_REGISTRO + limites[b + 1] - limites[b];
+                prontas.put(new Run(b, run, bytes, null));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable t) {
+            try {
+                prontas.put(new Run(-1, null, 0, t));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Recebe as runs (em qualquer ordem), empilha na ordem dos blocos e intercala as duas
+    // do topo enquanto a de baixo não for maior. Cada run da pilha cobre blocos
+    // consecutivos e fica abaixo das mais novas, então em empate a de baixo vem antes.
+    // Acima do orçamento, a pilha vai para o disco.
+    private void receber(BlockingQueue<Run> prontas, int blocos, Runs runs) throws InterruptedException, IOException {
+        Map<Integer, Run> foraDeOrdem = new HashMap<>();
+        List<Registro[]> pilha = runs.pilha;
+        int esperado = 0;
+        for (int recebidas = 0; recebidas < blocos; recebidas++) {
+            Run run = prontas.take();
+            if (run.falha != null) throw falhou(run.falha);
+            foraDeOrdem.put(run.bloco, run);
+            for (Run r; (r = foraDeOrdem.remove(esperado)) != null; esperado++) {
+                pilha.add(r.registros);
+                runs.bytesPilha += r.bytes;
+                while (pilha.size() >= 2
+                        && pilha.get(pilha.size() - 2).length <= pilha.get(pilha.size() - 1).length) {
+                    Registro[] direita = pilha.remove(pilha.size() - 1);
+                    Registro[] esquerda = pilha.remove(pilha.size() - 1);
+                    pilha.add(intercalar(esquerda, direita));
+                }
+                if (runs.bytesPilha > orcamentoBytes) despejar(runs);
+            }
+        }
+    }
+
+    // Intercala a pilha inteira numa run binária (formato de OrdenacaoExterna) e a
+    // esvazia. A run nova cobre blocos posteriores aos das runs que já estão no disco.
+    private void despejar(Runs runs) throws IOException {
+        if (runs.dir == null) runs.dir = Files.createTempDirectory(diretorioTemporario, "ordenacao-pipeline");
+        Path destino = runs.dir.resolve("run" + runs.emDisco.size() + ".bin");
+        List<OrdenacaoExterna.Fonte> fontes = new ArrayList<>();
+        long total = 0;
+        for (Registro[] r : runs.pilha) {
+            fontes.add(new FonteMemoria(r));
+            total += r.length;
+        }
+        OrdenacaoExterna.ArvorePerdedores arvore = new OrdenacaoExterna.ArvorePerdedores(fontes, cmp);
+        try (DataOutputStream out = OrdenacaoExterna.abrirBinario(destino)) {
+            out.writeLong(total);
+            for (Registro r; (r = arvore.proximo()) != null; ) OrdenacaoExterna.escreverBinario(out, r);
+        }
+        runs.emDisco.add(destino);
+        runs.pilha.clear();
+        runs.bytesPilha = 0;
+    }
+
+    private static IOException falhou(Throwable t) {
+        if (t instanceof RuntimeException) throw (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return t instanceof IOException ? (IOException) t : new IOException(t);
+    }
+
+    private Registro[] intercalar(Registro[] a, Registro[] b) {
+        Registro[] saida = new Registro[a.length + b.length];
+        int i = 0, j = 0, k = 0;
+        while (i < a.length && j < b.length) {
+            // <= : em empate, a (blocos anteriores) primeiro
+            saida[k++] = cmp.compare(a[i], b[j]) <= 0 ? a[i++] : b[j++];
+        }
+        while (i < a.length) saida[k++] = a[i++];
+        while (j < b.length) saida[k++] = b[j++];
+        return saida;
+    }
+
+    // Intercalação k-way final, direto para os buffers do escritor: runs do disco
+    // primeiro, depois a pilha de baixo para cima, então em empate ganha a que cobre
+    // blocos anteriores.
+    private long intercalarGravando(Runs runs, Escritor escritor) throws InterruptedException, IOException {
+        List<OrdenacaoExterna.Fonte> fontes = new ArrayList<>();
+        List<OrdenacaoExterna.LeitorRun> leitores = new ArrayList<>();
+        try {
+            for (Path run : runs.emDisco) {
+                OrdenacaoExterna.LeitorRun leitor = new OrdenacaoExterna.LeitorRun(run);
+                leitores.add(leitor);
+                fontes.add(leitor);
+            }
+            for (Registro[] r : runs.pilha) fontes.add(new FonteMemoria(r));
+            OrdenacaoExterna.ArvorePerdedores arvore = new OrdenacaoExterna.ArvorePerdedores(fontes, cmp);
+            long linhas = 0;
+            escritor.bruto((OrdenacaoExterna.CABECALHO + "\n").getBytes(StandardCharsets.UTF_8));
+            for (Registro r; (r = arvore.proximo()) != null; linhas++) escritor.registro(r);
+            return linhas;
+        } finally {
+            for (OrdenacaoExterna.LeitorRun leitor : leitores) leitor.fechar();
+        }
+    }
+
+    // ========== ESCRITOR ==========
+
+    // Um conjunto fixo de buffers circula entre o intercalador (que enche) e a thread
+    // de gravação (que esvazia no canal e devolve). Um buffer vazio na fila de cheios
+    // marca o fim.
+    private static final class Escritor {
+        private final FileChannel canal;
+        private final BlockingQueue<ByteBuffer> livres = new ArrayBlockingQueue<>(BUFFERS_SAIDA);
+        private final BlockingQueue<ByteBuffer> cheios = new ArrayBlockingQueue<>(BUFFERS_SAIDA + 1);
+        private final ByteBuffer fim = ByteBuffer.allocate(0);
+        private ByteBuffer atual;
+        private byte[] linha = new byte[256];
+        private final CountDownLatch gravado = new CountDownLatch(1);
+        private volatile Throwable falha;
+        long bytes;
+
+        Escritor(FileChannel canal) {
+            this.canal = canal;
+            for (int i = 0; i < BUFFERS_SAIDA; i++) livres.add(ByteBuffer.allocateDirect(TAM_BUFFER_SAIDA));
+        }
+
+        // thread de gravação; depois de uma falha continua devolvendo os buffers para
+        // o intercalador não travar, e o erro aparece em verificar()
+        void gravar() {
+            try {
+                for (ByteBuffer b; (b = cheios.take()) != fim; ) {
+                    try {
+                        if (falha == null) {
+                            b.flip();
+                            while (b.hasRemaining()) canal.write(b);
+                        }
+                    } catch (Throwable t) {
+                        falha = t;
+                    }
+                    b.clear();
+                    livres.put(b);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                gravado.countDown();
+            }
+        }
+
+        void registro(Registro r) throws InterruptedException, IOException {
+            int n = 0;
+            n = inteiro(r.id, n);
+            linha[n++] = ',';
+            n = texto(r.nome, n);
+            linha[n++] = ',';
+            n = texto(r.cpf, n);
+            linha[n++] = ',';
+            n = inteiro(r.prioridade, n);
+            linha[n++] = ',';
+            n = texto(r.data, n);
+            linha[n++] = '\n';
+            colocar(linha, n);
+        }
+
+        void bruto(byte[] b) throws InterruptedException, IOException {
+            colocar(b, b.length);
+        }
+
+        private void colocar(byte[] origem, int n) throws InterruptedException, IOException {
+            if (falha != null) throw falhou(falha);
+            if (n > TAM_BUFFER_SAIDA) throw new IOException("Linha de " + n + " bytes não cabe no buffer de saída");
+            if (atual == null) atual = livres.take();
+            if (atual.remaining() < n) {
+                cheios.put(atual);
+                atual = livres.take();
+            }
+            atual.put(origem, 0, n);
+            bytes += n;
+        }
+
+        private void garantir(int n) {
+            if (linha.length < n) linha = Arrays.copyOf(linha, Math.max(n, linha.length * 2));
+        }
+
+        // ASCII vai byte a byte; qualquer outro caractere cai no encoder UTF-8
+        private int texto(String s, int n) {
+            int len = s.length();
+            garantir(n + len * 3 + 1);
+            for (int i = 0; i < len; i++) {
+                char c = s.charAt(i);
+                if (c >= 0x80) {
+                    byte[] b = s.substring(i).getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(b, 0, linha, n, b.length);
+                    return n + b.length;
+                }
+                linha[n++] = (byte) c;
+            }
+            return n;
+        }
+
+        private int inteiro(int v, int n) {
+            garantir(n + 12);
+            if (v < 0) {
+                linha[n++] = '-';
+                if (v == Integer.MIN_VALUE) return texto("2147483648", n);
+                v = -v;
+            }
+            int digitos = 1;
+            for (int x = v; x >= 10; x /= 10) digitos++;
+            for (int i = n + digitos - 1; i >= n; i--) {
+                linha[i] = (byte) ('0' + v % 10);
+                v /= 10;
+            }
+            return n + digitos;
+        }
+
+        void terminar() throws InterruptedException {
+            if (atual != null && atual.position() > 0) cheios.put(atual);
+            atual = null;
+            cheios.put(fim);
+            gravado.await();
+        }
+
+        void verificar() throws IOException {
+            if (falha != null) throw falhou(falha);
+        }
+
+        // libera a thread de gravação se o intercalador saiu com erro
+        void abortar() {
+            if (gravado.getCount() > 0) {
+                if (falha == null) falha = new IOException("Gravação abortada");
+                cheios.offer(fim);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+// Partição e folhas do QuickSortVetorizado usando a Vector API (jdk.incubator.vector).
+// Só é carregada quando o módulo está presente; ver QuickSortVetorizado.padrao().
+//
+// Partição: cada vetor lido é comparado com o pivô de uma vez; compress() junta os
+// elementos de cada lado no começo do vetor e eles são gravados em sequência (no
+// próprio array para o lado esquerdo, no rascunho para o direito). A escrita à
+// esquerda nunca passa do que já foi lido, então é segura no mesmo array.
+//
+// Folhas: até VETORES_POR_FOLHA larguras de vetor. Cada vetor é ordenado por uma rede
+// bitônica dentro de um único registrador (min/max entre pares + rearrange), sem
+// desvios, e as sequências ordenadas são intercaladas duas a duas pelo rascunho.
+// Em AVX2 (8 ints) a folha tem 32 elementos; em AVX-512, 64.
+final class ParticaoVetorial implements QuickSortVetorizado.Particao {
+
+    static final int VETORES_POR_FOLHA = 4;
+
+    private final VectorSpecies<Integer> especie;
+    private final int largura;
+    private final IntVector maximos;
+    // um passo (k, j) da rede bitônica por posição
+    private final VectorShuffle<Integer>[] parceiros;
+    private final VectorMask<Integer>[] pegaMaximo;
+
+    ParticaoVetorial(int bitsVetor) {
+        this.especie = bitsVetor == 0 ? IntVector.SPECIES_PREFERRED : especiePorBits(bitsVetor);
+        this.largura = especie.length();
+        this.maximos = IntVector.broadcast(especie, Integer.MAX_VALUE);
+
+        int passos = 0;
+        for (int k = 2; k <= largura; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) passos++;
+        }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        VectorShuffle<Integer>[] shuffles = new VectorShuffle[passos];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        VectorMask<Integer>[] mascaras = new VectorMask[passos];
+        parceiros = shuffles;
+        pegaMaximo = mascaras;
+        int p = 0;
+        for (int k = 2; k <= largura; k <<= 1) {
+            for (int j = k >> 1; j > 0; j >>= 1) {
+                int[] indices = new int[largura];
+                boolean[] maximo = new boolean[largura];
+                for (int i = 0; i < largura; i++) {
+                    indices[i] = i ^ j;
+                    boolean menorDoPar = (i & j) == 0;
+                    boolean crescente = (i & k) == 0;
+                    // no bloco crescente o menor índice do par fica com o mínimo
+                    maximo[i] = menorDoPar != crescente;
+                }
+                parceiros[p] = VectorShuffle.fromArray(especie, indices, 0);
+                pegaMaximo[p] = VectorMask.fromArray(especie, maximo, 0);
+                p++;
+            }
+        }
+    }
+
+    private static VectorSpecies<Integer> especiePorBits(int bits) {
+        switch (bits) {
+            case 128:
+                return IntVector.SPECIES_128;
+            case 256:
+                return IntVector.SPECIES_256;
+            case 512:
+                return IntVector.SPECIES_512;
+            default:
+                throw new IllegalArgumentException("Largura de vetor deve ser 128, 256 ou 512 bits: " + bits);
+        }
+    }
+
+    static int bitsPreferidos() {
+        return IntVector.SPECIES_PREFERRED.vectorBitSize();
+    }
+
+    @Override
+    public int particionar(int[] arr, int de, int ate, int pivo, boolean incluirIguais, int[] rascunho) {
+        IntVector vPivo = IntVector.broadcast(especie, pivo);
+        VectorOperators.Comparison op = incluirIguais ? VectorOperators.LE : VectorOperators.LT;
+        int esq = de, dir = 0;
+        int i = de;
+        int limite = de + especie.loopBound(ate - de);
+        for (; i < limite; i += largura) {
+            IntVector v = IntVector.fromArray(especie, arr, i);
+            VectorMask<Integer> menores = v.compare(op, vPivo);
+            int qtd = menores.trueCount();
+            v.compress(menores).intoArray(arr, esq);
+            v.compress(menores.not()).intoArray(rascunho, dir);
+            esq += qtd;
+            dir += largura - qtd;
+        }
+        for (; i < ate; i++) {
+            int x = arr[i];
+            if (incluirIguais ? x <= pivo : x < pivo) arr[esq++] = x;
+            else rascunho[dir++] = x;
+        }
+        System.arraycopy(rascunho, 0, arr, esq, dir);
+        return esq;
+    }
+
+    @Override
+    public int larguraFolha() {
+        return VETORES_POR_FOLHA * largura;
+    }
+
+    @Override
+    public void ordenarFolha(int[] arr, int de, int ate, int[] rascunho) {
+        for (int i = de; i < ate; i += largura) ordenarVetor(arr, i, Math.min(i + largura, ate));
+        // intercala as sequências ordenadas: largura, 2 × largura, ...
+        for (int passo = largura; passo < ate - de; passo <<= 1) {
+            for (int i = de; i + passo < ate; i += 2 * passo) {
+                intercalar(arr, i, i + passo, Math.min(i + 2 * passo, ate), rascunho);
+            }
+        }
+    }
+
+    private static void intercalar(int[] arr, int de, int meio, int ate, int[] rascunho) {
+        if (arr[meio - 1] <= arr[meio]) return;
+        int n = meio - de;
+        System.arraycopy(arr, de, rascunho, 0, n);
+        int a = 0, b = meio, k = de;
+        while (a < n && b < ate) arr[k++] = rascunho[a] <= arr[b] ? rascunho[a++] : arr[b++];
+        System.arraycopy(rascunho, a, arr, k, n - a);
+    }
+
+    // rede bitônica num registrador: arr[de..ate) com no máximo uma largura
+    private void ordenarVetor(int[] arr, int de, int ate) {
+        int n = ate - de;
+        if (n < 2) return;
+        // completa as posições vazias com MAX_VALUE: terminam no fim e não são gravadas
+        VectorMask<Integer> validos = especie.indexInRange(0, n);
+        IntVector v = maximos.blend(IntVector.fromArray(especie, arr, de, validos), validos);
+        for (int p = 0; p < parceiros.length; p++) {
+            IntVector outro = v.rearrange(parceiros[p]);
+            v = v.min(outro).blend(v.max(outro), pegaMaximo[p]);
+        }
+        v.intoArray(arr, de, validos);
+    }
+
+    @Override
+    public String descricao() {
+        return "Vector API " + especie.vectorBitSize() + " bits (" + largura + " ints)";
+    }
+}
@@ -0,0 +1,247 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+// Perfis de distribuição para as entradas de teste. A entrada uniforme esconde os
+// pontos fracos (Lomuto no vetor ordenado ou cheio de repetidos) e também o ganho dos
+// algoritmos adaptativos, então os benchmarks varrem todos estes:
+//
+//  - UNIFORME:             valores sorteados no intervalo inteiro
+//  - ORDENADO/DECRESCENTE: rampa crescente/decrescente (com empates se o intervalo
+//                          for menor que n)
+//  - QUASE_ORDENADO:       rampa crescente com k trocas entre posições sorteadas
+//                          (k = 1% de n por padrão; quaseOrdenado() aceita outro k)
+//  - SERRA:                dentes crescentes de √n elementos
+//  - ORGAO:                sobe até o meio e desce (organ-pipe)
+//  - POUCOS_DISTINTOS:     só POUCOS_VALORES valores, sorteados
+//  - ZIPF:                 o valor de posto k sai com peso 1/k (o menor domina)
+//  - ADVERSARIO_QUICKSORT: "median-of-3 killer" de Musser; quadrático para o quicksort
+//                          que escolhe o pivô pela mediana de primeiro, meio e último.
+//                          Para o pivô no último elemento (Main.quickSort) o pior caso
+//                          é o próprio ORDENADO.
+//
+// Cada valor depende só da posição global, do total e do SplittableRandom recebido.
+// Isso deixa o GerarCSV gerar um bloco qualquer do arquivo sem ver os outros (as
+// trocas do QUASE_ORDENADO acontecem dentro do bloco, 1% dos elementos de cada um).
+//
+// Uso: PerfilDistribuicao.ZIPF.gerar(n, semente)          // int inteiro
+//      PerfilDistribuicao.SERRA.gerar(n, 400, semente)    // valores em [0, 400)
+public enum PerfilDistribuicao {
+
+    UNIFORME("uniforme"),
+    ORDENADO("ordenado"),
+    DECRESCENTE("decrescente"),
+    QUASE_ORDENADO("quase-ordenado"),
+    SERRA("serra"),
+    ORGAO("orgao"),
+    POUCOS_DISTINTOS("poucos-distintos"),
+    ZIPF("zipf"),
+    ADVERSARIO_QUICKSORT("adversario-quicksort");
+
+    static final int POUCOS_VALORES = 8;
+    // trocas do QUASE_ORDENADO: uma a cada TROCAS_A_CADA elementos
+    static final int TROCAS_A_CADA = 100;
+    // postos distintos do ZIPF (a tabela acumulada tem esse tamanho)
+    static final int POSTOS_ZIPF = 1 << 16;
+    private static final long INTERVALO_INT = 1L << 32;
+
+    private final String nome;
+
+    PerfilDistribuicao(String nome) {
+        this.nome = nome;
+    }
+
+    public String nome() {
+        return nome;
+    }
+
+    @Override
+    public String toString() {
+        return nome;
+    }
+
+    // ========== GERAÇÃO ==========
+
+    // Valores em todo o intervalo de int
+    public int[] gerar(int n, long semente) {
+        int[] saida = new int[n];
+        preencher(saida, 0, n, 0, n, Integer.MIN_VALUE, INTERVALO_INT, new SplittableRandom(semente));
+        return saida;
+    }
+
+    // Valores em [0, limite)
+    public int[] gerar(int n, int limite, long semente) {
+        if (limite < 1) throw new IllegalArgumentException("Limite deve ser >= 1: " + limite);
+        int[] saida = new int[n];
+        preencher(saida, 0, n, 0, n, 0, limite, new SplittableRandom(semente));
+        return saida;
+    }
+
+    // Rampa crescente em [0, limite) com exatamente 'trocas' trocas sorteadas
+    public static int[] quaseOrdenado(int n, int limite, int trocas, long semente) {
+        if (limite < 1) throw new IllegalArgumentException("Limite deve ser >= 1: " + limite);
+        if (trocas < 0) throw new IllegalArgumentException("Trocas negativas: " + trocas);
+        SplittableRandom rand = new SplittableRandom(semente);
+        int[] saida = new int[n];
+        ORDENADO.preencher(saida, 0, n, 0, n, 0, limite, rand);
+        trocar(saida, 0, n, trocas, rand);
+        return saida;
+    }
+
+    // Trecho de um conjunto maior: destino[0..quantidade) recebe as posições
+    // primeiro..primeiro + quantidade - 1 de total, com valores em [0, limite)
+    void preencher(int[] destino, int quantidade, long primeiro, long total, int limite, SplittableRandom rand) {
+        preencher(destino, 0, quantidade, primeiro, total, 0, limite, rand);
+    }
+
+    private void preencher(int[] destino, int de, int quantidade, long primeiro, long total,
+                           long minimo, long limite, SplittableRandom rand) {
+        switch (this) {
+            case UNIFORME:
+                for (int j = 0; j < quantidade; j++) {
+                    // no intervalo inteiro é o mesmo que ints(n): nextInt() puro
+                    destino[de + j] = limite == INTERVALO_INT
+                            ? rand.nextInt() : (int) (minimo + rand.nextLong(limite));
+                }
+                break;
+            case ORDENADO:
+                for (int j = 0; j < quantidade; j++) {
+                    destino[de + j] = escalar(primeiro + j, total, minimo, limite);
+                }
+                break;
+            case DECRESCENTE:
+                for (int j = 0; j < quantidade; j++) {
+                    destino[de + j] = escalar(total - 1 - (primeiro + j), total, minimo, limite);
+                }
+                break;
+            case QUASE_ORDENADO:
+                ORDENADO.preencher(destino, de, quantidade, primeiro, total, minimo, limite, rand);
+                trocar(destino, de, quantidade, quantidade < 2 ? 0 : Math.max(1, quantidade / TROCAS_A_CADA), rand);
+                break;
+            case SERRA: {
+                long dente = Math.max(2, (long) Math.sqrt((double) total));
+                for (int j = 0; j < quantidade; j++) {
+                    destino[de + j] = escalar((primeiro + j) % dente, dente, minimo, limite);
+                }
+                break;
+            }
+            case ORGAO: {
+                long metade = (total + 1) / 2;
+                for (int j = 0; j < quantidade; j++) {
+                    long p = primeiro + j;
+                    destino[de + j] = escalar(Math.min(p, total - 1 - p), metade, minimo, limite);
+                }
+                break;
+            }
+            case POUCOS_DISTINTOS:
+                for (int j = 0; j < quantidade; j++) {
+                    destino[de + j] = escalar(rand.nextInt(POUCOS_VALORES), POUCOS_VALORES, minimo, limite);
+                }
+                break;
+            case ZIPF: {
+                double[] acumulada = acumuladaZipf((int) Math.min(limite, POSTOS_ZIPF));
+                for (int j = 0; j < quantidade; j++) {
+                    destino[de + j] = escalar(sortearZipf(acumulada, rand), acumulada.length, minimo, limite);
+                }
+                break;
+            }
+            case ADVERSARIO_QUICKSORT:
+                for (int j = 0; j < quantidade; j++) {
+                    destino[de + j] = escalar(postoAdversario(primeiro + j, total), total, minimo, limite);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Perfil sem gerador: " + this);
+        }
+    }
+
+    // ---------- auxiliares ----------
+
+    // posto em [0, m) → valor em [minimo, minimo + limite), preservando a ordem
+    private static int escalar(long posto, long m, long minimo, long limite) {
+        if (limite <= m) return (int) (minimo + posto * limite / m);
+        // m pequeno: espalha os postos pelo intervalo (sem estourar o long)
+        return (int) (minimo + (long) ((double) posto / m * limite));
+    }
+
+    private static void trocar(int[] arr, int de, int quantidade, int trocas, SplittableRandom rand) {
+        if (quantidade < 2) return;
+        for (int t = 0; t < trocas; t++) {
+            int a = de + rand.nextInt(quantidade);
+            int b = de + rand.nextInt(quantidade);
+            int tmp = arr[a];
+            arr[a] = arr[b];
+            arr[b] = tmp;
+        }
+    }
+
+    // Musser, "Introspective Sorting and Selection Algorithms" (1997), para n = 2k com k
+    // par (1-based): posição j ≤ k vale j se j é ímpar e k + j - 1 se é par; j > k vale
+    // 2(j - k). As posições que sobram além do maior múltiplo de 4 ficam no fim, em ordem.
+    static long postoAdversario(long posicao, long total) {
+        long n = total & ~3L;
+        if (posicao >= n) return posicao;
+        long k = n / 2, j = posicao + 1;
+        long valor = j <= k ? ((j & 1) == 1 ? j : k + j - 1) : 2 * (j - k);
+        return valor - 1;
+    }
+
+    private static int sortearZipf(double[] acumulada, SplittableRandom rand) {
+        double u = rand.nextDouble() * acumulada[acumulada.length - 1];
+        int lo = 0, hi = acumulada.length - 1;
+        while (lo < hi) {
+            int meio = (lo + hi) >>> 1;
+            if (acumulada[meio] < u) lo = meio + 1;
+            else hi = meio;
+        }
+        return lo;
+    }
+
+    // uma tabela por tamanho; o GerarCSV pede a mesma em todo bloco
+    private static volatile double[] ultimaAcumulada = new double[0];
+
+    private static double[] acumuladaZipf(int postos) {
+        double[] a = ultimaAcumulada;
+        if (a.length == postos) return a;
+        a = new double[postos];
+        double soma = 0;
+        for (int k = 0; k < postos; k++) {
+            soma += 1.0 / (k + 1);
+            a[k] = soma;
+        }
+        ultimaAcumulada = a;
+        return a;
+    }
+
+    // ========== NOMES ==========
+
+    // aceita o nome curto ("quase-ordenado") ou o da constante ("QUASE_ORDENADO")
+    public static PerfilDistribuicao porNome(String nome) {
+        String n = nome.trim().toLowerCase(Locale.ROOT).replace('_', '-');
+        for (PerfilDistribuicao p : values()) {
+            if (p.nome.equals(n)) return p;
+        }
+        throw new IllegalArgumentException("Perfil desconhecido: " + nome + " (disponíveis: " + nomes() + ", todos)");
+    }
+
+    // "todos" ou nomes separados por vírgula
+    public static PerfilDistribuicao[] lerLista(String lista) {
+        if (lista.trim().equalsIgnoreCase("todos")) return values();
+        List<PerfilDistribuicao> perfis = new ArrayList<>();
+        for (String parte : lista.split(",")) {
+            if (!parte.isBlank()) perfis.add(porNome(parte));
+        }
+        if (perfis.isEmpty()) throw new IllegalArgumentException("Nenhum perfil em: '" + lista + "'");
+        return perfis.toArray(new PerfilDistribuicao[0]);
+    }
+
+    public static String nomes() {
+        StringBuilder sb = new StringBuilder();
+        for (PerfilDistribuicao p : values()) {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(p.nome);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,178 @@
+// Quicksort para int[] com partição e folhas trocáveis: vetorial (Vector API, ver
+// ParticaoVetorial) ou escalar. O laço do quicksort é o mesmo para os dois.
+//
+// A partição é de duas vias (< pivô | >= pivô), fora do lugar: os menores ficam no
+// próprio vetor e os demais vão para um rascunho e voltam no fim. Se nenhum elemento
+// for menor que o pivô (pivô é o mínimo, comum com muitas repetições), uma segunda
+// partição (<= pivô) separa o bloco de iguais, que já está no lugar. Passando de
+// 2*log2(n) níveis, o trecho vai para o heap sort.
+//
+// A recursão para no tamanho de folha da partição (larguraFolha(); na vetorial, quatro
+// vetores) e a folha inteira vai para ordenarFolha. Sem folha especial (escalar), para
+// em LIMIAR_INSERCAO e termina com inserção.
+//
+// A Vector API é incubadora: é preciso compilar e rodar com
+//   --add-modules jdk.incubator.vector
+// Sem o módulo, ou com -Dsort.vetor=false, padrao() devolve a versão escalar.
+public class QuickSortVetorizado {
+
+    static final int LIMIAR_INSERCAO = 32;
+
+    // O que muda entre a versão escalar e a vetorial
+    interface Particao {
+        // Reorganiza arr[de..ate) com os elementos < pivô (ou <= pivô, se incluirIguais)
+        // primeiro e devolve onde começam os demais. rascunho tem ao menos
+        // (ate - de) + larguraFolha() posições.
+        int particionar(int[] arr, int de, int ate, int pivo, boolean incluirIguais, int[] rascunho);
+
+        // maior trecho que ordenarFolha aceita (0 = sem folha especial)
+        int larguraFolha();
+
+        // rascunho: o mesmo da partição, livre durante a folha
+        void ordenarFolha(int[] arr, int de, int ate, int[] rascunho);
+
+        String descricao();
+    }
+
+    private final Particao particao;
+
+    private QuickSortVetorizado(Particao particao) {
+        this.particao = particao;
+    }
+
+    // ========== FÁBRICAS ==========
+
+    public static QuickSortVetorizado escalar() {
+        return new QuickSortVetorizado(new ParticaoEscalar());
+    }
+
+    // bitsVetor = 128, 256 ou 512; 0 = largura preferida da CPU
+    public static QuickSortVetorizado vetorial(int bitsVetor) {
+        if (!vetorDisponivel()) {
+            throw new IllegalStateException("Vector API indisponível: rode com --add-modules jdk.incubator.vector");
+        }
+        return new QuickSortVetorizado(new ParticaoVetorial(bitsVetor));
+    }
+
+    // vetorial quando possível, escalar caso contrário
+    public static QuickSortVetorizado padrao() {
+        if (vetorDisponivel() && !"false".equalsIgnoreCase(System.getProperty("sort.vetor"))) {
+            try {
+                return vetorial(0);
+            } catch (LinkageError e) {
+                // módulo presente mas não resolvido para este class loader
+            }
+        }
+        return escalar();
+    }
+
+    public static boolean vetorDisponivel() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    public String descricao() {
+        return particao.descricao();
+    }
+
+    // ========== ORDENAÇÃO ==========
+
+    public void ordenar(int[] arr) {
+        int n = arr.length;
+        if (n < 2) return;
+        int[] rascunho = new int[n + particao.larguraFolha()];
+        int limiteProfundidade = 2 * (31 - Integer.numberOfLeadingZeros(n));
+        ordenarRec(arr, 0, n, limiteProfundidade, rascunho);
+    }
+
+    private void ordenarRec(int[] arr, int de, int ate, int profundidade, int[] rascunho) {
+        int folha = particao.larguraFolha() > 0 ? particao.larguraFolha() : LIMIAR_INSERCAO;
+        while (ate - de > folha) {
+            if (profundidade-- == 0) {
+                HeapSortOtimizado.ordenar(arr, de, ate);
+                return;
+            }
+            int pivo = escolherPivo(arr, de, ate);
+            int meio = particao.particionar(arr, de, ate, pivo, false, rascunho);
+            if (meio == de) {
+                // nada menor que o pivô: separa os iguais a ele e segue com os maiores
+                de = particao.particionar(arr, de, ate, pivo, true, rascunho);
+                continue;
+            }
+            if (meio - de < ate - meio) {
+                ordenarRec(arr, de, meio, profundidade, rascunho);
+                de = meio;
+            } else {
+                ordenarRec(arr, meio, ate, profundidade, rascunho);
+                ate = meio;
+            }
+        }
+        particao.ordenarFolha(arr, de, ate, rascunho);
+    }
+
+    // mediana de três (ninther acima de 128 elementos), devolvendo o valor
+    private static int escolherPivo(int[] arr, int de, int ate) {
+        int fim = ate - 1;
+        int meio = (de + fim) >>> 1;
+        if (ate - de < 128) return mediana(arr[de], arr[meio], arr[fim]);
+        int passo = (ate - de) / 8;
+        return mediana(
+                mediana(arr[de], arr[de + passo], arr[de + 2 * passo]),
+                mediana(arr[meio - passo], arr[meio], arr[meio + passo]),
+                mediana(arr[fim - 2 * passo], arr[fim - passo], arr[fim]));
+    }
+
+    private static int mediana(int a, int b, int c) {
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    static void insercao(int[] arr, int de, int ate) {
+        for (int i = de + 1; i < ate; i++) {
+            int atual = arr[i];
+            int j = i - 1;
+            while (j >= de && arr[j] > atual) {
+                arr[j + 1] = arr[j];
+                j--;
+            }
+            arr[j + 1] = atual;
+        }
+    }
+
+    // ========== PARTIÇÃO ESCALAR ==========
+
+    static final class ParticaoEscalar implements Particao {
+        @Override
+        public int particionar(int[] arr, int de, int ate, int pivo, boolean incluirIguais, int[] rascunho) {
+            int esq = de, dir = 0;
+            if (incluirIguais) {
+                for (int i = de; i < ate; i++) {
+                    int x = arr[i];
+                    if (x <= pivo) arr[esq++] = x;
+                    else rascunho[dir++] = x;
+                }
+            } else {
+                for (int i = de; i < ate; i++) {
+                    int x = arr[i];
+                    if (x < pivo) arr[esq++] = x;
+                    else rascunho[dir++] = x;
+                }
+            }
+            System.arraycopy(rascunho, 0, arr, esq, dir);
+            return esq;
+        }
+
+        @Override
+        public int larguraFolha() {
+            return 0;
+        }
+
+        @Override
+        public void ordenarFolha(int[] arr, int de, int ate, int[] rascunho) {
+            insercao(arr, de, ate);
+        }
+
+        @Override
+        public String descricao() {
+            return "escalar";
+        }
+    }
+}
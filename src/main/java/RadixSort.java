@@ -0,0 +1,216 @@
+import java.util.Arrays;
+
+// Radix sort LSD para int[] e long[].
+// Cada instância guarda o buffer de rascunho e os histogramas entre chamadas, então
+// rodar o mesmo motor várias vezes (benchmark) não aloca de novo. Por isso uma
+// instância NÃO deve ser usada por duas threads ao mesmo tempo.
+public class RadixSort {
+
+    private final int bitsPorDigito;
+    private final int baldes;
+    private final int mascara;
+
+    private int[] bufferInt = new int[0];
+    private long[] bufferLong = new long[0];
+    private int[][] histogramas;
+
+    public RadixSort(int bitsPorDigito) {
+        if (bitsPorDigito != 8 && bitsPorDigito != 11 && bitsPorDigito != 16) {
+            throw new IllegalArgumentException("Dígito deve ter 8, 11 ou 16 bits: " + bitsPorDigito);
+        }
+        this.bitsPorDigito = bitsPorDigito;
+        this.baldes = 1 << bitsPorDigito;
+        this.mascara = baldes - 1;
+    }
+
+    public int getBitsPorDigito() {
+        return bitsPorDigito;
+    }
+
+    // ========== int[] ==========
+    public void ordenar(int[] arr) {
+        int n = arr.length;
+        if (n < 2) return;
+        int passadas = (32 + bitsPorDigito - 1) / bitsPorDigito;
+        int[][] hist = histogramas(passadas);
+
+        // Um único passe monta os histogramas de todos os dígitos. O bit de sinal é
+        // invertido (x ^ MIN_VALUE) para os negativos virem antes dos positivos.
+        for (int x : arr) {
+            int chave = x ^ Integer.MIN_VALUE;
+            for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+                hist[p][(chave >>> desloc) & mascara]++;
+            }
+        }
+
+        if (bufferInt.length < n) bufferInt = new int[n];
+        int[] origem = arr;
+        int[] destino = bufferInt;
+        int primeiraChave = arr[0] ^ Integer.MIN_VALUE;
+
+        for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+            int[] h = hist[p];
+            // todos os elementos têm o mesmo dígito: a passada não mudaria nada
+            if (h[(primeiraChave >>> desloc) & mascara] == n) continue;
+
+            prefixo(h);
+            for (int i = 0; i < n; i++) {
+                int x = origem[i];
+                destino[h[((x ^ Integer.MIN_VALUE) >>> desloc) & mascara]++] = x;
+            }
+            int[] t = origem;
+            origem = destino;
+            destino = t;
+        }
+
+        if (origem != arr) System.arraycopy(origem, 0, arr, 0, n);
+    }
+
+    // ========== long[] ==========
+    public void ordenar(long[] arr) {
+        int n = arr.length;
+        if (n < 2) return;
+        int passadas = (64 + bitsPorDigito - 1) / bitsPorDigito;
+        int[][] hist = histogramas(passadas);
+
+        for (long x : arr) {
+            long chave = x ^ Long.MIN_VALUE;
+            for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+                hist[p][(int) (chave >>> desloc) & mascara]++;
+            }
+        }
+
+        if (bufferLong.length < n) bufferLong = new long[n];
+        long[] origem = arr;
+        long[] destino = bufferLong;
+        long primeiraChave = arr[0] ^ Long.MIN_VALUE;
+
+        for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+            int[] h = hist[p];
+            if (h[(int) (primeiraChave >>> desloc) & mascara] == n) continue;
+
+            prefixo(h);
+            for (int i = 0; i < n; i++) {
+                long x = origem[i];
+                destino[h[(int) ((x ^ Long.MIN_VALUE) >>> desloc) & mascara]++] = x;
+            }
+            long[] t = origem;
+            origem = destino;
+            destino = t;
+        }
+
+        if (origem != arr) System.arraycopy(origem, 0, arr, 0, n);
+    }
+
+    // ========== ARGSORT ==========
+    // Devolve a permutação p tal que chaves[p[0]] <= chaves[p[1]] <= ...
+    // O LSD é estável, então chaves iguais mantêm a ordem original dos índices.
+    public int[] argsort(int[] chaves) {
+        int n = chaves.length;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        if (n < 2) return indices;
+        int passadas = (32 + bitsPorDigito - 1) / bitsPorDigito;
+        int[][] hist = histogramas(passadas);
+
+        for (int x : chaves) {
+            int chave = x ^ Integer.MIN_VALUE;
+            for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+                hist[p][(chave >>> desloc) & mascara]++;
+            }
+        }
+
+        // as chaves andam junto com os índices; o vetor do chamador não é alterado
+        int[] chaveOrigem = chaves;
+        int[] chaveDestino = new int[n];
+        int[] idxOrigem = indices;
+        int[] idxDestino = new int[n];
+        boolean origemEhDoChamador = true;
+        int primeiraChave = chaves[0] ^ Integer.MIN_VALUE;
+
+        for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+            int[] h = hist[p];
+            if (h[(primeiraChave >>> desloc) & mascara] == n) continue;
+
+            prefixo(h);
+            for (int i = 0; i < n; i++) {
+                int x = chaveOrigem[i];
+                int pos = h[((x ^ Integer.MIN_VALUE) >>> desloc) & mascara]++;
+                chaveDestino[pos] = x;
+                idxDestino[pos] = idxOrigem[i];
+            }
+            int[] t = chaveOrigem;
+            chaveOrigem = chaveDestino;
+            chaveDestino = origemEhDoChamador ? new int[n] : t;
+            origemEhDoChamador = false;
+            t = idxOrigem;
+            idxOrigem = idxDestino;
+            idxDestino = t;
+        }
+        return idxOrigem;
+    }
+
+    public int[] argsort(long[] chaves) {
+        int n = chaves.length;
+        int[] indices = new int[n];
+        for (int i = 0; i < n; i++) indices[i] = i;
+        if (n < 2) return indices;
+        int passadas = (64 + bitsPorDigito - 1) / bitsPorDigito;
+        int[][] hist = histogramas(passadas);
+
+        for (long x : chaves) {
+            long chave = x ^ Long.MIN_VALUE;
+            for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+                hist[p][(int) (chave >>> desloc) & mascara]++;
+            }
+        }
+
+        long[] chaveOrigem = chaves;
+        long[] chaveDestino = new long[n];
+        int[] idxOrigem = indices;
+        int[] idxDestino = new int[n];
+        boolean origemEhDoChamador = true;
+        long primeiraChave = chaves[0] ^ Long.MIN_VALUE;
+
+        for (int p = 0, desloc = 0; p < passadas; p++, desloc += bitsPorDigito) {
+            int[] h = hist[p];
+            if (h[(int) (primeiraChave >>> desloc) & mascara] == n) continue;
+
+            prefixo(h);
+            for (int i = 0; i < n; i++) {
+                long x = chaveOrigem[i];
+                int pos = h[(int) ((x ^ Long.MIN_VALUE) >>> desloc) & mascara]++;
+                chaveDestino[pos] = x;
+                idxDestino[pos] = idxOrigem[i];
+            }
+            long[] t = chaveOrigem;
+            chaveOrigem = chaveDestino;
+            chaveDestino = origemEhDoChamador ? new long[n] : t;
+            origemEhDoChamador = false;
+            int[] ti = idxOrigem;
+            idxOrigem = idxDestino;
+            idxDestino = ti;
+        }
+        return idxOrigem;
+    }
+
+    // ========== AUXILIARES ==========
+    private int[][] histogramas(int passadas) {
+        if (histogramas == null || histogramas.length < passadas) {
+            histogramas = new int[passadas][baldes];
+        } else {
+            for (int[] h : histogramas) Arrays.fill(h, 0);
+        }
+        return histogramas;
+    }
+
+    // transforma contagens em posição inicial de cada balde
+    private static void prefixo(int[] h) {
+        int soma = 0;
+        for (int i = 0; i < h.length; i++) {
+            int c = h[i];
+            h[i] = soma;
+            soma += c;
+        }
+    }
+}
@@ -1,3 +1,5 @@
+import java.time.LocalDate;
+
 public class Registro {
     int id;
     String nome;
@@ -13,6 +15,62 @@ public class Registro {
         this.data = data;
     }
 
+    // linha do CSV de GerarCSV (id,nome,cpf,prioridade,data); null se faltar coluna
+    public static Registro deLinhaCSV(String linha) {
+        String[] partes = linha.split(",");
+        if (partes.length < 5) return null;
+        int id = Integer.parseInt(partes[0]);
+        String nome = partes[1];
+        String cpf = partes[2];
+        int prioridade = Integer.parseInt(partes[3]);
+        String data = partes[4];
+        return new Registro(id, nome, cpf, prioridade, data);
+    }
+
+    // data ISO (yyyy-MM-dd) convertida em dias desde 1970-01-01
+    public static int diaEpoch(String data) {
+        if (data.length() != 10 || data.charAt(4) != '-' || data.charAt(7) != '-') {
+            return (int) LocalDate.parse(data).toEpochDay();
+        }
+        int ano = digitos(data, 0, 4);
+        int mes = digitos(data, 5, 7);
+        int dia = digitos(data, 8, 10);
+        if (ano < 0 || mes < 1 || mes > 12 || dia < 1 || dia > diasNoMes(ano, mes)) {
+            return (int) LocalDate.parse(data).toEpochDay(); // deixa o LocalDate acusar o erro
+        }
+        return diaEpoch(ano, mes, dia);
+    }
+
+    // dias desde 1970-01-01 para uma data do calendário gregoriano, sem alocar
+    // (algoritmo days_from_civil de Howard Hinnant)
+    static int diaEpoch(int ano, int mes, int dia) {
+        int a = mes <= 2 ? ano - 1 : ano;
+        int era = Math.floorDiv(a, 400);
+        int anoDaEra = a - era * 400;
+        int diaDoAno = (153 * (mes + (mes > 2 ? -3 : 9)) + 2) / 5 + dia - 1;
+        int diaDaEra = anoDaEra * 365 + anoDaEra / 4 - anoDaEra / 100 + diaDoAno;
+        return era * 146097 + diaDaEra - 719468;
+    }
+
+    static int diasNoMes(int ano, int mes) {
+        if (mes == 2) return (ano % 4 == 0 && (ano % 100 != 0 || ano % 400 == 0)) ? 29 : 28;
+        return (mes == 4 || mes == 6 || mes == 9 || mes == 11) ? 30 : 31;
+    }
+
+    private static int digitos(String s, int de, int ate) {
+        int v = 0;
+        for (int i = de; i < ate; i++) {
+            int d = s.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    public static String dataIso(int diaEpoch) {
+        return LocalDate.ofEpochDay(diaEpoch).toString();
+    }
+
     // comparação por prioridade (menor prioridade = vem primeiro)
     public static int compararPorPrioridade(Registro a, Registro b) {
         return Integer.compare(a.prioridade, b.prioridade);
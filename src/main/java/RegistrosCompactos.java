@@ -0,0 +1,339 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Registros do CSV de GerarCSV guardados sem uma String por campo:
+//
+//  - nome:        código num dicionário compartilhado (GerarCSV só gera 20 × 14 nomes)
+//  - cpf:         long com os 11 dígitos; o texto volta com zeros à esquerda
+//  - data:        int em dias desde 1970
+//  - id, prioridade: int
+//
+// São 24 bytes por registro nos vetores, contra ~200 de um Registro com três
+// Strings (objeto, cabeçalhos de String e byte[]). As Strings só aparecem quando
+// alguém pede: nome(i), cpf(i), data(i), registro(i) e paraRegistros() criam as
+// vistas na hora (nome sai do dicionário, sem cópia).
+//
+// Um cpf que não seja exatamente 11 dígitos, ou uma data que não esteja em
+// yyyy-MM-dd, é guardado como veio numa tabela à parte, então a conversão de volta
+// é sempre exata. Em de(Registro[]) / adicionar(Registro), uma data que nem é data
+// fica com o dia DIA_INVALIDO (vai para o fim numa ordenação por data). Lendo do
+// LeitorCSVMapeado (ler e de(Colunas)) a data já vem como dia, e o leitor recusa o
+// arquivo inteiro (DateTimeParseException) se alguma não for data; nome e cpf são
+// tirados dos bytes do arquivo: só vira String o nome novo no dicionário e o cpf
+// fora da forma compacta. argsort(spec) ordena direto pelas colunas (o nome é comparado pela
+// posição do código no dicionário ordenado, calculada uma vez por nome distinto).
+//
+// Uso: java RegistrosCompactos [arquivo.csv]
+public class RegistrosCompactos {
+
+    static final int DIGITOS_CPF = 11;
+    static final int DIA_INVALIDO = Integer.MAX_VALUE;
+
+    int n;
+    int[] id;
+    int[] nome;
+    long[] cpf;
+    int[] prioridade;
+    int[] data;
+    private final Dicionario nomes = new Dicionario();
+    // textos fora da forma compacta, pela posição do registro
+    private final Map<Integer, String> cpfsOriginais = new HashMap<>();
+    private final Map<Integer, String> datasOriginais = new HashMap<>();
+
+    public RegistrosCompactos() {
+        this(16);
+    }
+
+    public RegistrosCompactos(int capacidade) {
+        if (capacidade < 0) throw new IllegalArgumentException("Capacidade negativa: " + capacidade);
+        id = new int[capacidade];
+        nome = new int[capacidade];
+        cpf = new long[capacidade];
+        prioridade = new int[capacidade];
+        data = new int[capacidade];
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path caminho = Paths.get(args.length > 0 ? args[0] : "data/dados.csv");
+        RegistrosCompactos r = ler(caminho);
+        System.out.printf("✓ %d registros, %d nomes distintos, ~%d bytes (%.1f por registro)%n",
+                r.tamanho(), r.nomes.tamanho(), r.bytesEstimados(),
+                r.tamanho() == 0 ? 0.0 : (double) r.bytesEstimados() / r.tamanho());
+        for (int i = 0; i < Math.min(3, r.tamanho()); i++) {
+            System.out.printf("  id=%d nome=%s cpf=%s prioridade=%d data=%s%n",
+                    r.id[i], r.nome(i), r.cpf(i), r.prioridade[i], r.data(i));
+        }
+    }
+
+    // ========== CONSTRUÇÃO ==========
+
+    public static RegistrosCompactos de(Registro[] registros) {
+        RegistrosCompactos r = new RegistrosCompactos(registros.length);
+        for (Registro x : registros) r.adicionar(x);
+        return r;
+    }
+
+    // Lê o CSV com o LeitorCSVMapeado: id, prioridade e data já vêm como int
+    public static RegistrosCompactos ler(Path caminho) throws IOException {
+        try (LeitorCSVMapeado.Colunas c = LeitorCSVMapeado.lerParalelo(caminho)) {
+            return de(c);
+        }
+    }
+
+    public static RegistrosCompactos de(LeitorCSVMapeado.Colunas c) {
+        int total = c.tamanho();
+        RegistrosCompactos r = new RegistrosCompactos(total);
+        int[] ids = c.id(), prioridades = c.prioridade(), datas = c.data();
+        long[] cpfs = c.cpfNumerico();
+        IndiceNomes indice = new IndiceNomes();
+        for (int i = 0; i < total; i++) {
+            if (r.n == r.id.length) r.crescer();
+            int k = r.n;
+            r.id[k] = ids[i];
+            r.nome[k] = indice.codigo(c, i, r.nomes);
+            r.cpf[k] = cpfs[i];
+            if (!c.cpfSoDigitos(i, DIGITOS_CPF)) r.cpfsOriginais.put(k, c.cpfTexto(i));
+            r.prioridade[k] = prioridades[i];
+            r.data[k] = datas[i];
+            r.n++;
+        }
+        return r;
+    }
+
+    public void adicionar(Registro r) {
+        int dia;
+        try {
+            dia = Registro.diaEpoch(r.data);
+        } catch (DateTimeParseException e) {
+            dia = DIA_INVALIDO;
+        }
+        if (n == id.length) crescer();
+        id[n] = r.id;
+        nome[n] = nomes.codigo(r.nome);
+        long numero = cpfCompacto(r.cpf);
+        if (numero < 0) cpfsOriginais.put(n, r.cpf);
+        cpf[n] = numero < 0 ? EspecificacaoOrdenacao.cpfNumerico(r.cpf) : numero;
+        prioridade[n] = r.prioridade;
+        data[n] = dia;
+        if (dia == DIA_INVALIDO || !r.data.equals(Registro.dataIso(dia))) datasOriginais.put(n, r.data);
+        n++;
+    }
+
+    // os 11 dígitos como número, ou -1 se o texto não for exatamente 11 dígitos
+    static long cpfCompacto(String cpf) {
+        if (cpf.length() != DIGITOS_CPF) return -1;
+        long v = 0;
+        for (int i = 0; i < DIGITOS_CPF; i++) {
+            int d = cpf.charAt(i) - '0';
+            if (d < 0 || d > 9) return -1;
+            v = v * 10 + d;
+        }
+        return v;
+    }
+
+    private void crescer() {
+        int c = Math.max(16, id.length * 2);
+        id = Arrays.copyOf(id, c);
+        nome = Arrays.copyOf(nome, c);
+        cpf = Arrays.copyOf(cpf, c);
+        prioridade = Arrays.copyOf(prioridade, c);
+        data = Arrays.copyOf(data, c);
+    }
+
+    // ========== VISTAS ==========
+
+    public int tamanho() {
+        return n;
+    }
+
+    public int id(int i) {
+        return id[verificar(i)];
+    }
+
+    public int prioridade(int i) {
+        return prioridade[verificar(i)];
+    }
+
+    public int diaEpoch(int i) {
+        return data[verificar(i)];
+    }
+
+    public long cpfNumerico(int i) {
+        return cpf[verificar(i)];
+    }
+
+    public int codigoNome(int i) {
+        return nome[verificar(i)];
+    }
+
+    public String nome(int i) {
+        return nomes.texto(nome[verificar(i)]);
+    }
+
+    public String cpf(int i) {
+        verificar(i);
+        String original = cpfsOriginais.isEmpty() ? null : cpfsOriginais.get(i);
+        return original != null ? original : cpfTexto(cpf[i]);
+    }
+
+    public String data(int i) {
+        verificar(i);
+        String original = datasOriginais.isEmpty() ? null : datasOriginais.get(i);
+        return original != null ? original : Registro.dataIso(data[i]);
+    }
+
+    public Registro registro(int i) {
+        return new Registro(id(i), nome(i), cpf(i), prioridade[i], data(i));
+    }
+
+    public Registro[] paraRegistros() {
+        int[] identidade = new int[n];
+        for (int i = 0; i < n; i++) identidade[i] = i;
+        return paraRegistros(identidade);
+    }
+
+    // Registro na ordem da permutação; uma String por dia distinto, não por linha
+    public Registro[] paraRegistros(int[] perm) {
+        Registro[] saida = new Registro[perm.length];
+        Map<Integer, String> datas = new HashMap<>();
+        for (int k = 0; k < perm.length; k++) {
+            int i = verificar(perm[k]);
+            String d = datasOriginais.isEmpty() ? null : datasOriginais.get(i);
+            if (d == null) d = datas.computeIfAbsent(data[i], Registro::dataIso);
+            saida[k] = new Registro(id[i], nomes.texto(nome[i]), cpf(i), prioridade[i], d);
+        }
+        return saida;
+    }
+
+    public Dicionario dicionarioNomes() {
+        return nomes;
+    }
+
+    private int verificar(int i) {
+        if (i < 0 || i >= n) throw new IndexOutOfBoundsException("posição " + i + ", tamanho " + n);
+        return i;
+    }
+
+    static String cpfTexto(long numero) {
+        char[] c = new char[DIGITOS_CPF];
+        for (int i = DIGITOS_CPF - 1; i >= 0; i--) {
+            c[i] = (char) ('0' + numero % 10);
+            numero /= 10;
+        }
+        return new String(c);
+    }
+
+    // ========== ORDENAÇÃO ==========
+
+    // Permutação estável na ordem da especificação, sem criar nenhuma String
+    public int[] argsort(EspecificacaoOrdenacao spec) {
+        return AlgoritmosOrdenacao.mergeSortIndices(spec.extrair(this));
+    }
+
+    public Registro[] ordenados(EspecificacaoOrdenacao spec) {
+        return paraRegistros(argsort(spec));
+    }
+
+    // ========== MEMÓRIA ==========
+
+    // Estimativa do que estes registros ocupam no heap (referências comprimidas,
+    // cabeçalho de 16 bytes por vetor, 24 por String, ~48 por entrada de HashMap).
+    // Conta a capacidade alocada, não só os n usados.
+    public long bytesEstimados() {
+        long b = 5 * 16L + (long) id.length * (4 + 4 + 8 + 4 + 4);
+        b += nomes.bytesEstimados();
+        for (String s : cpfsOriginais.values()) b += 48 + bytesString(s);
+        for (String s : datasOriginais.values()) b += 48 + bytesString(s);
+        return b;
+    }
+
+    static long bytesString(String s) {
+        // String (24) + byte[] (16 + conteúdo, Latin-1 ou UTF-16) alinhado em 8
+        long conteudo = s.chars().allMatch(c -> c < 256) ? s.length() : 2L * s.length();
+        return 24 + ((16 + conteudo + 7) & ~7L);
+    }
+
+    // ========== DICIONÁRIO ==========
+
+    // Código do dicionário a partir dos bytes do nome no arquivo mapeado: tabela de
+    // endereçamento aberto por hash dos bytes; a String só é criada no primeiro
+    // encontro de cada nome
+    private static final class IndiceNomes {
+        private int[] hashes = new int[64];
+        private byte[][] chaves = new byte[64][];
+        private int[] codigos = new int[64];
+        private int ocupados;
+
+        int codigo(LeitorCSVMapeado.Colunas c, int linha, Dicionario dicionario) {
+            int h = c.hashNome(linha);
+            int mascara = chaves.length - 1;
+            int p = h & mascara;
+            while (chaves[p] != null) {
+                if (hashes[p] == h && c.nomeIgual(linha, chaves[p])) return codigos[p];
+                p = (p + 1) & mascara;
+            }
+            byte[] bytes = c.bytesNome(linha);
+            int codigo = dicionario.codigo(new String(bytes, StandardCharsets.UTF_8));
+            hashes[p] = h;
+            chaves[p] = bytes;
+            codigos[p] = codigo;
+            if (++ocupados * 2 > chaves.length) crescer();
+            return codigo;
+        }
+
+        private void crescer() {
+            int[] velhosHashes = hashes;
+            byte[][] velhasChaves = chaves;
+            int[] velhosCodigos = codigos;
+            hashes = new int[velhasChaves.length * 2];
+            chaves = new byte[velhasChaves.length * 2][];
+            codigos = new int[velhasChaves.length * 2];
+            int mascara = chaves.length - 1;
+            for (int i = 0; i < velhasChaves.length; i++) {
+                if (velhasChaves[i] == null) continue;
+                int p = velhosHashes[i] & mascara;
+                while (chaves[p] != null) p = (p + 1) & mascara;
+                hashes[p] = velhosHashes[i];
+                chaves[p] = velhasChaves[i];
+                codigos[p] = velhosCodigos[i];
+            }
+        }
+    }
+
+    // Cada texto distinto guardado uma vez; o código é a ordem de chegada
+    public static final class Dicionario {
+        private String[] textos = new String[16];
+        private final Map<String, Integer> codigos = new HashMap<>();
+        private int tamanho;
+
+        public int codigo(String texto) {
+            Integer c = codigos.get(texto);
+            if (c != null) return c;
+            if (tamanho == textos.length) textos = Arrays.copyOf(textos, tamanho * 2);
+            textos[tamanho] = texto;
+            codigos.put(texto, tamanho);
+            return tamanho++;
+        }
+
+        public String texto(int codigo) {
+            if (codigo < 0 || codigo >= tamanho) throw new IndexOutOfBoundsException("código " + codigo);
+            return textos[codigo];
+        }
+
+        public int tamanho() {
+            return tamanho;
+        }
+
+        long bytesEstimados() {
+            long b = 16 + 4L * textos.length;
+            for (int i = 0; i < tamanho; i++) b += 48 + bytesString(textos[i]);
+            return b;
+        }
+    }
+}
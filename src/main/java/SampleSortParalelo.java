@@ -0,0 +1,225 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+// Sample sort paralelo para int[] e long[].
+//
+//  1. sorteia SOBREAMOSTRAGEM * baldes elementos, ordena a amostra e tira dela os
+//     baldes - 1 separadores (quantis), para os baldes saírem com tamanhos parecidos;
+//  2. cada bloco do vetor classifica seus elementos numa árvore de busca implícita
+//     sobre os separadores (log2(baldes) passos sem desvio) e conta por balde;
+//  3. soma de prefixos em ordem (balde, bloco) e distribuição paralela num buffer;
+//  4. cada balde é ordenado de forma independente e copiado de volta.
+//
+// Separadores repetidos indicam uma chave muito frequente, que sem cuidado cairia
+// inteira num balde só (junto com as menores que ela). Nesse caso cada balde k ganha
+// um balde de iguais (2k + 1) que recebe só a chave separadores[k]: ele não precisa
+// ser ordenado, e o balde 2k fica apenas com o que é estritamente menor.
+//
+// Tudo roda no ForkJoinPool informado; o paralelismo dele define quantas threads
+// trabalham. Abaixo de LIMIAR_SEQUENCIAL elementos usa Arrays.sort direto.
+public class SampleSortParalelo {
+
+    static final int LIMIAR_SEQUENCIAL = 1 << 16;
+    static final int SOBREAMOSTRAGEM = 32;
+    static final int MAX_BALDES = 1 << 10;
+
+    private final ForkJoinPool pool;
+
+    public SampleSortParalelo() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SampleSortParalelo(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public int getParalelismo() {
+        return pool.getParallelism();
+    }
+
+    // ========== int[] ==========
+    public void ordenar(int[] arr) {
+        int n = arr.length;
+        int threads = pool.getParallelism();
+        if (n < LIMIAR_SEQUENCIAL || threads < 2) {
+            Arrays.sort(arr);
+            return;
+        }
+        int baldes = quantidadeBaldes(n, threads);
+        int niveis = Integer.numberOfTrailingZeros(baldes);
+
+        // separadores a partir da amostra ordenada, guardados como árvore implícita:
+        // arvore[1] é a raiz, filhos de j em 2j e 2j+1 (ordem de largura)
+        SplittableRandom rand = new SplittableRandom(n);
+        int[] amostra = new int[baldes * SOBREAMOSTRAGEM];
+        for (int i = 0; i < amostra.length; i++) amostra[i] = arr[rand.nextInt(n)];
+        Arrays.sort(amostra);
+        int[] separadores = new int[baldes - 1];
+        for (int i = 0; i < separadores.length; i++) separadores[i] = amostra[(i + 1) * SOBREAMOSTRAGEM - 1];
+        int[] arvore = new int[baldes];
+        montarArvore(separadores, arvore, 1, 0, separadores.length);
+        boolean iguais = temRepetidos(separadores);
+        int totalBaldes = iguais ? 2 * baldes : baldes;
+
+        int blocos = threads * 4;
+        int tamBloco = (n + blocos - 1) / blocos;
+        short[] baldeDe = new short[n];
+        int[][] contagens = new int[blocos][];
+
+        executar(blocos, b -> {
+            int[] c = new int[totalBaldes];
+            for (int i = b * tamBloco, fim = Math.min(n, i + tamBloco); i < fim; i++) {
+                int x = arr[i];
+                int j = 1;
+                for (int nivel = 0; nivel < niveis; nivel++) {
+                    j = 2 * j + (x > arvore[j] ? 1 : 0);
+                }
+                int balde = j - baldes;
+                if (iguais) balde = 2 * balde + (balde < baldes - 1 && x == separadores[balde] ? 1 : 0);
+                baldeDe[i] = (short) balde;
+                c[balde]++;
+            }
+            contagens[b] = c;
+        });
+
+        int[] inicioBalde = prefixo(contagens, totalBaldes, blocos, n);
+
+        int[] buffer = new int[n];
+        executar(blocos, b -> {
+            int[] pos = contagens[b];
+            for (int i = b * tamBloco, fim = Math.min(n, i + tamBloco); i < fim; i++) {
+                buffer[pos[baldeDe[i]]++] = arr[i];
+            }
+        });
+
+        executar(totalBaldes, k -> {
+            int de = inicioBalde[k], ate = inicioBalde[k + 1];
+            if (!iguais || (k & 1) == 0) Arrays.sort(buffer, de, ate);
+            System.arraycopy(buffer, de, arr, de, ate - de);
+        });
+    }
+
+    // ========== long[] ==========
+    public void ordenar(long[] arr) {
+        int n = arr.length;
+        int threads = pool.getParallelism();
+        if (n < LIMIAR_SEQUENCIAL || threads < 2) {
+            Arrays.sort(arr);
+            return;
+        }
+        int baldes = quantidadeBaldes(n, threads);
+        int niveis = Integer.numberOfTrailingZeros(baldes);
+
+        SplittableRandom rand = new SplittableRandom(n);
+        long[] amostra = new long[baldes * SOBREAMOSTRAGEM];
+        for (int i = 0; i < amostra.length; i++) amostra[i] = arr[rand.nextInt(n)];
+        Arrays.sort(amostra);
+        long[] separadores = new long[baldes - 1];
+        for (int i = 0; i < separadores.length; i++) separadores[i] = amostra[(i + 1) * SOBREAMOSTRAGEM - 1];
+        long[] arvore = new long[baldes];
+        montarArvore(separadores, arvore, 1, 0, separadores.length);
+        boolean iguais = temRepetidos(separadores);
+        int totalBaldes = iguais ? 2 * baldes : baldes;
+
+        int blocos = threads * 4;
+        int tamBloco = (n + blocos - 1) / blocos;
+        short[] baldeDe = new short[n];
+        int[][] contagens = new int[blocos][];
+
+        executar(blocos, b -> {
+            int[] c = new int[totalBaldes];
+            for (int i = b * tamBloco, fim = Math.min(n, i + tamBloco); i < fim; i++) {
+                long x = arr[i];
+                int j = 1;
+                for (int nivel = 0; nivel < niveis; nivel++) {
+                    j = 2 * j + (x > arvore[j] ? 1 : 0);
+                }
+                int balde = j - baldes;
+                if (iguais) balde = 2 * balde + (balde < baldes - 1 && x == separadores[balde] ? 1 : 0);
+                baldeDe[i] = (short) balde;
+                c[balde]++;
+            }
+            contagens[b] = c;
+        });
+
+        int[] inicioBalde = prefixo(contagens, totalBaldes, blocos, n);
+
+        long[] buffer = new long[n];
+        executar(blocos, b -> {
+            int[] pos = contagens[b];
+            for (int i = b * tamBloco, fim = Math.min(n, i + tamBloco); i < fim; i++) {
+                buffer[pos[baldeDe[i]]++] = arr[i];
+            }
+        });
+
+        executar(totalBaldes, k -> {
+            int de = inicioBalde[k], ate = inicioBalde[k + 1];
+            if (!iguais || (k & 1) == 0) Arrays.sort(buffer, de, ate);
+            System.arraycopy(buffer, de, arr, de, ate - de);
+        });
+    }
+
+    // ========== AUXILIARES ==========
+
+    // potência de 2, alguns baldes por thread e nenhum muito pequeno
+    private static int quantidadeBaldes(int n, int threads) {
+        int desejado = Math.max(threads * 8, n / (1 << 20));
+        int baldes = Integer.highestOneBit(Math.min(desejado, MAX_BALDES));
+        return Math.max(2, Math.min(baldes, Integer.highestOneBit(n / SOBREAMOSTRAGEM)));
+    }
+
+    private static boolean temRepetidos(int[] separadores) {
+        for (int i = 1; i < separadores.length; i++) {
+            if (separadores[i] == separadores[i - 1]) return true;
+        }
+        return false;
+    }
+
+    private static boolean temRepetidos(long[] separadores) {
+        for (int i = 1; i < separadores.length; i++) {
+            if (separadores[i] == separadores[i - 1]) return true;
+        }
+        return false;
+    }
+
+    private static void montarArvore(int[] separadores, int[] arvore, int no, int de, int ate) {
+        if (de >= ate) return;
+        int meio = (de + ate) >>> 1;
+        arvore[no] = separadores[meio];
+        montarArvore(separadores, arvore, 2 * no, de, meio);
+        montarArvore(separadores, arvore, 2 * no + 1, meio + 1, ate);
+    }
+
+    private static void montarArvore(long[] separadores, long[] arvore, int no, int de, int ate) {
+        if (de >= ate) return;
+        int meio = (de + ate) >>> 1;
+        arvore[no] = separadores[meio];
+        montarArvore(separadores, arvore, 2 * no, de, meio);
+        montarArvore(separadores, arvore, 2 * no + 1, meio + 1, ate);
+    }
+
+    // Converte as contagens de cada bloco na posição onde ele começa a escrever cada
+    // balde e devolve o início de cada balde (com n no fim).
+    private static int[] prefixo(int[][] contagens, int baldes, int blocos, int n) {
+        int[] inicioBalde = new int[baldes + 1];
+        int acumulado = 0;
+        for (int k = 0; k < baldes; k++) {
+            inicioBalde[k] = acumulado;
+            for (int b = 0; b < blocos; b++) {
+                int c = contagens[b][k];
+                contagens[b][k] = acumulado;
+                acumulado += c;
+            }
+        }
+        inicioBalde[baldes] = n;
+        return inicioBalde;
+    }
+
+    // roda tarefa(0..quantidade-1) em paralelo dentro do pool desta instância
+    private void executar(int quantidade, IntConsumer tarefa) {
+        pool.submit(() -> IntStream.range(0, quantidade).parallel().forEach(tarefa)).join();
+    }
+}
@@ -0,0 +1,362 @@
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.SplittableRandom;
+
+// Ponto de entrada único: olha uma amostra da entrada e escolhe o motor.
+//
+// A amostra tem ~n/FATOR_AMOSTRA elementos em blocos de TAM_BLOCO consecutivos
+// espalhados pelo vetor (custo O(n/k)). Dela saem:
+//  - amplitude (máx - mín)               → counting sort vale a pena?
+//  - fração de descidas entre vizinhos  → já está (quase) em ordem, direta ou
+//                                         inversa? (poucas runs)
+//  - fração de repetidos                → só informativa, aparece no Perfil
+// e, com o tamanho n, a decisão usa os limiares da Calibracao:
+//
+//   quase ordenado          → MERGE_NATURAL (Main.mergeSortAdaptativo)
+//   amplitude <= fator * n  → CONTAGEM
+//   n >= limiarParalelo     → PARALELO (SampleSortParalelo), se houver núcleos
+//   n >= limiarRadix        → RADIX (LSD 11 bits)
+//   senão                   → INTROSORT (Arrays.sort, dual-pivot)
+//
+// Os limiares padrão servem para uma máquina comum; "java SeletorAlgoritmo calibrar"
+// mede esta máquina e grava data/calibracao.properties, que padrao() carrega.
+public class SeletorAlgoritmo {
+
+    public enum Motor { CONTAGEM, RADIX, MERGE_NATURAL, MERGE, INTROSORT, PARALELO }
+
+    static final int FATOR_AMOSTRA = 64;
+    static final int TAM_BLOCO = 32;
+    static final int MIN_AMOSTRA = 1024;
+    static final int MAX_AMOSTRA = 1 << 16;
+    static final int LIMIAR_PEQUENO = 64;
+    static final String ARQUIVO_CALIBRACAO = "data/calibracao.properties";
+
+    private final Calibracao calibracao;
+    private final SampleSortParalelo paralelo;
+
+    public SeletorAlgoritmo(Calibracao calibracao) {
+        this.calibracao = calibracao;
+        this.paralelo = new SampleSortParalelo();
+    }
+
+    // usa data/calibracao.properties se existir, senão os valores padrão
+    public static SeletorAlgoritmo padrao() {
+        Calibracao cal;
+        try {
+            cal = Calibracao.carregar(Paths.get(ARQUIVO_CALIBRACAO));
+        } catch (IOException e) {
+            System.err.println("✗ Calibração ilegível, usando padrão: " + e.getMessage());
+            cal = new Calibracao();
+        }
+        return new SeletorAlgoritmo(cal);
+    }
+
+    public Calibracao getCalibracao() {
+        return calibracao;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("calibrar")) {
+            System.out.println("Calibrando nesta máquina (" + Runtime.getRuntime().availableProcessors() + " núcleos)...");
+            Calibracao cal = Calibracao.medir();
+            Path destino = Paths.get(args.length > 1 ? args[1] : ARQUIVO_CALIBRACAO);
+            cal.salvar(destino);
+            System.out.println("✓ " + cal + " → " + destino);
+            return;
+        }
+        SeletorAlgoritmo seletor = padrao();
+        System.out.println("Calibração: " + seletor.calibracao);
+        SplittableRandom rand = new SplittableRandom(42);
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int[] aleatorio = rand.ints(n).toArray();
+        int[] poucos = rand.ints(n, 1, 6).toArray();
+        int[] ordenado = aleatorio.clone();
+        Arrays.sort(ordenado);
+        int[] invertido = new int[n];
+        for (int i = 0; i < n; i++) invertido[i] = ordenado[n - 1 - i];
+        int[][] entradas = {aleatorio, poucos, ordenado, invertido};
+        String[] nomes = {"aleatório", "prioridade 1..5", "ordenado", "invertido"};
+        for (int i = 0; i < entradas.length; i++) {
+            Perfil p = perfilar(entradas[i]);
+            System.out.printf("%-16s → %-13s %s%n", nomes[i], seletor.escolher(p), p);
+        }
+    }
+
+    // ========== ENTRADA ÚNICA ==========
+
+    public Motor ordenar(int[] arr) {
+        Motor motor = escolher(perfilar(arr));
+        executar(motor, arr);
+        return motor;
+    }
+
+    // Registro[] por prioridade, estável (mesma ordem do merge sort): só contagem,
+    // merge paralelo ou merge sequencial entram na escolha
+    public Motor ordenar(Registro[] arr) {
+        int n = arr.length;
+        if (n < 2) return Motor.MERGE;
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        int passo = Math.max(1, n / Math.max(MIN_AMOSTRA, n / FATOR_AMOSTRA));
+        for (int i = 0; i < n; i += passo) {
+            min = Math.min(min, arr[i].prioridade);
+            max = Math.max(max, arr[i].prioridade);
+        }
+        if ((long) max - min <= (long) calibracao.fatorContagem * n) {
+            // a amostra pode ter perdido os extremos; o counting sort confere de novo
+            int[] faixa = faixa(arr);
+            if ((long) faixa[1] - faixa[0] <= (long) calibracao.fatorContagem * n) {
+                AlgoritmosOrdenacao.countingSort(arr, r -> r.prioridade, faixa[0], faixa[1]);
+                return Motor.CONTAGEM;
+            }
+        }
+        if (n >= calibracao.limiarParalelo && paralelo.getParalelismo() > 1) {
+            AlgoritmosOrdenacao.mergeSortParalelo(arr);
+            return Motor.PARALELO;
+        }
+        AlgoritmosOrdenacao.mergeSort(arr);
+        return Motor.MERGE;
+    }
+
+    public Motor escolher(Perfil p) {
+        if (p.n < LIMIAR_PEQUENO) return Motor.INTROSORT;
+        if (p.fracaoDescidas <= calibracao.fracaoNatural || p.fracaoDescidas >= 1 - calibracao.fracaoNatural) {
+            return Motor.MERGE_NATURAL;
+        }
+        if (p.amplitude() <= (long) calibracao.fatorContagem * p.n) return Motor.CONTAGEM;
+        if (p.n >= calibracao.limiarParalelo && paralelo.getParalelismo() > 1) return Motor.PARALELO;
+        if (p.n >= calibracao.limiarRadix) return Motor.RADIX;
+        return Motor.INTROSORT;
+    }
+
+    void executar(Motor motor, int[] arr) {
+        switch (motor) {
+            case CONTAGEM:
+                if (!contagem(arr, calibracao.fatorContagem)) new RadixSort(11).ordenar(arr);
+                break;
+            case RADIX:
+                new RadixSort(11).ordenar(arr);
+                break;
+            case MERGE_NATURAL:
+            case MERGE:
+                Main.mergeSortAdaptativo(arr);
+                break;
+            case PARALELO:
+                paralelo.ordenar(arr);
+                break;
+            case INTROSORT:
+            default:
+                Arrays.sort(arr);
+        }
+    }
+
+    // ========== PERFIL DA ENTRADA ==========
+
+    public static final class Perfil {
+        final int n;
+        final int minimo;
+        final int maximo;
+        final int tamanhoAmostra;
+        final double fracaoRepetidos;
+        final double fracaoDescidas;
+
+        Perfil(int n, int minimo, int maximo, int tamanhoAmostra, double fracaoRepetidos, double fracaoDescidas) {
+            this.n = n;
+            this.minimo = minimo;
+            this.maximo = maximo;
+            this.tamanhoAmostra = tamanhoAmostra;
+            this.fracaoRepetidos = fracaoRepetidos;
+            this.fracaoDescidas = fracaoDescidas;
+        }
+
+        long amplitude() {
+            return (long) maximo - minimo;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d amostra=%d faixa=[%d, %d] repetidos=%.1f%% descidas=%.1f%%",
+                    n, tamanhoAmostra, minimo, maximo, fracaoRepetidos * 100, fracaoDescidas * 100);
+        }
+    }
+
+    public static Perfil perfilar(int[] arr) {
+        int n = arr.length;
+        if (n < 2) return new Perfil(n, n == 0 ? 0 : arr[0], n == 0 ? 0 : arr[0], n, 0, 0);
+        int alvo = Math.min(n, Math.min(MAX_AMOSTRA, Math.max(MIN_AMOSTRA, n / FATOR_AMOSTRA)));
+        int tamBloco = Math.min(TAM_BLOCO, n);
+        int blocos = Math.max(1, alvo / tamBloco);
+        long passo = (long) (n - tamBloco) / Math.max(1, blocos - 1);
+
+        int[] amostra = new int[blocos * tamBloco];
+        int k = 0, descidas = 0, pares = 0;
+        for (int b = 0; b < blocos; b++) {
+            int inicio = (int) Math.min((long) b * passo, n - tamBloco);
+            for (int i = inicio; i < inicio + tamBloco; i++) {
+                amostra[k++] = arr[i];
+                if (i > inicio) {
+                    pares++;
+                    if (arr[i] < arr[i - 1]) descidas++;
+                }
+            }
+        }
+        Arrays.sort(amostra);
+        int distintos = 1;
+        for (int i = 1; i < amostra.length; i++) {
+            if (amostra[i] != amostra[i - 1]) distintos++;
+        }
+        return new Perfil(n, amostra[0], amostra[amostra.length - 1], amostra.length,
+                1 - (double) distintos / amostra.length, pares == 0 ? 0 : (double) descidas / pares);
+    }
+
+    // ========== COUNTING SORT int[] ==========
+
+    // Confere a faixa exata; devolve false (sem mexer no vetor) se ela passar de fator * n
+    static boolean contagem(int[] arr, int fator) {
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int x : arr) {
+            if (x < min) min = x;
+            if (x > max) max = x;
+        }
+        long amplitude = (long) max - min;
+        if (amplitude > (long) fator * arr.length || amplitude >= Integer.MAX_VALUE - 8) return false;
+        int[] contagem = new int[(int) amplitude + 1];
+        for (int x : arr) contagem[x - min]++;
+        int pos = 0;
+        for (int v = 0; v < contagem.length; v++) {
+            int c = contagem[v];
+            int valor = v + min;
+            while (c-- > 0) arr[pos++] = valor;
+        }
+        return true;
+    }
+
+    private static int[] faixa(Registro[] arr) {
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (Registro r : arr) {
+            if (r.prioridade < min) min = r.prioridade;
+            if (r.prioridade > max) max = r.prioridade;
+        }
+        return new int[]{min, max};
+    }
+
+    // ========== CALIBRAÇÃO ==========
+
+    public static final class Calibracao {
+        int limiarRadix = 1 << 16;
+        int limiarParalelo = 1 << 18;
+        int fatorContagem = 1;
+        double fracaoNatural = 0.02;
+
+        static Calibracao carregar(Path arquivo) throws IOException {
+            Calibracao cal = new Calibracao();
+            if (!Files.exists(arquivo)) return cal;
+            Properties p = new Properties();
+            try (InputStream in = Files.newInputStream(arquivo)) {
+                p.load(in);
+            }
+            cal.limiarRadix = Integer.parseInt(p.getProperty("limiar.radix", Integer.toString(cal.limiarRadix)));
+            cal.limiarParalelo = Integer.parseInt(p.getProperty("limiar.paralelo", Integer.toString(cal.limiarParalelo)));
+            cal.fatorContagem = Integer.parseInt(p.getProperty("fator.contagem", Integer.toString(cal.fatorContagem)));
+            cal.fracaoNatural = Double.parseDouble(p.getProperty("fracao.natural", Double.toString(cal.fracaoNatural)));
+            return cal;
+        }
+
+        void salvar(Path arquivo) throws IOException {
+            Properties p = new Properties();
+            p.setProperty("limiar.radix", Integer.toString(limiarRadix));
+            p.setProperty("limiar.paralelo", Integer.toString(limiarParalelo));
+            p.setProperty("fator.contagem", Integer.toString(fatorContagem));
+            p.setProperty("fracao.natural", Double.toString(fracaoNatural));
+            if (arquivo.getParent() != null) Files.createDirectories(arquivo.getParent());
+            try (OutputStream out = Files.newOutputStream(arquivo)) {
+                p.store(out, "SeletorAlgoritmo - gerado por: java SeletorAlgoritmo calibrar");
+            }
+        }
+
+        // Micro-benchmark dos pontos de virada nesta máquina (alguns segundos)
+        static Calibracao medir() {
+            Calibracao cal = new Calibracao();
+            SplittableRandom rand = new SplittableRandom(7);
+            RadixSort radix = new RadixSort(11);
+
+            // menor n em que o radix vence o Arrays.sort com dados aleatórios
+            cal.limiarRadix = Integer.MAX_VALUE;
+            for (int n = 1 << 10; n <= 1 << 22; n <<= 1) {
+                int[] dados = rand.ints(n).toArray();
+                if (tempo(dados, radix::ordenar) < tempo(dados, Arrays::sort)) {
+                    cal.limiarRadix = n;
+                    break;
+                }
+            }
+
+            // menor n em que o paralelo vence o melhor sequencial
+            cal.limiarParalelo = Integer.MAX_VALUE;
+            SampleSortParalelo paralelo = new SampleSortParalelo();
+            if (paralelo.getParalelismo() > 1) {
+                for (int n = 1 << 16; n <= 1 << 23; n <<= 1) {
+                    int[] dados = rand.ints(n).toArray();
+                    long sequencial = Math.min(tempo(dados, radix::ordenar), tempo(dados, Arrays::sort));
+                    if (tempo(dados, paralelo::ordenar) < sequencial) {
+                        cal.limiarParalelo = n;
+                        break;
+                    }
+                }
+            }
+
+            // maior amplitude (em múltiplos de n) em que a contagem ainda vence o radix
+            int n = 1 << 18;
+            cal.fatorContagem = 0;
+            for (int fator = 1; fator <= 256; fator <<= 1) {
+                int[] dados = rand.ints(n, 0, fator * n).toArray();
+                int f = fator;
+                if (tempo(dados, arr -> contagem(arr, f)) >= tempo(dados, radix::ordenar)) break;
+                cal.fatorContagem = fator;
+            }
+
+            // maior fração de descidas em que o merge natural ainda vence o Arrays.sort
+            int[] ordenado = rand.ints(n).toArray();
+            Arrays.sort(ordenado);
+            cal.fracaoNatural = 0;
+            for (double fracao = 0.001; fracao <= 0.5; fracao *= 2) {
+                int[] dados = ordenado.clone();
+                // cada troca de vizinhos cria uma descida
+                for (int t = (int) (fracao * n); t > 0; t--) {
+                    int i = rand.nextInt(n - 1);
+                    int x = dados[i];
+                    dados[i] = dados[i + 1];
+                    dados[i + 1] = x;
+                }
+                if (tempo(dados, Main::mergeSortAdaptativo) >= tempo(dados, Arrays::sort)) break;
+                cal.fracaoNatural = fracao;
+            }
+            return cal;
+        }
+
+        // melhor de 5 execuções após 3 de aquecimento, em ns
+        private static long tempo(int[] original, Main.SortFunction motor) {
+            long melhor = Long.MAX_VALUE;
+            for (int r = 0; r < 8; r++) {
+                int[] copia = original.clone();
+                long inicio = System.nanoTime();
+                motor.sort(copia);
+                long fim = System.nanoTime();
+                if (r >= 3) melhor = Math.min(melhor, fim - inicio);
+            }
+            return melhor;
+        }
+
+        @Override
+        public String toString() {
+            return "radix a partir de " + limiarRadix + ", paralelo a partir de "
+                    + (limiarParalelo == Integer.MAX_VALUE ? "nunca" : Integer.toString(limiarParalelo))
+                    + ", contagem até amplitude " + fatorContagem + "·n"
+                    + ", merge natural até " + fracaoNatural * 100 + "% de descidas";
+        }
+    }
+}
@@ -0,0 +1,587 @@
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Cache binário e colunar do CSV já analisado (data/dados.bin ao lado de data/dados.csv).
+// A primeira execução analisa o CSV com o LeitorCSVMapeado e grava o snapshot; as
+// seguintes mapeiam o .bin e copiam as colunas direto para os vetores, sem analisar
+// nenhum byte de texto. Com um esquema e uma projeção (LeitorEsquema), só as colunas
+// pedidas são analisadas; um snapshot que já tenha essas colunas é reusado, e na
+// leitura as outras são puladas pelos tamanhos gravados (texto pelo último
+// deslocamento), sem decodificar nada. Quando faltam colunas, só elas saem do CSV e
+// são somadas ao snapshot: as colunas e permutações que já estavam no .bin (da mesma
+// versão do CSV) são copiadas byte a byte para o arquivo novo.
+//
+// Além das colunas, o snapshot guarda permutações de ordenação (argsort estável) por
+// coluna. "prioridade" e "data" já saem calculadas; qualquer outra é calculada na
+// primeira vez que for pedida e gravada junto. Um pedido repetido de "ordenado por
+// prioridade" vira só um gather, sem análise e sem ordenação.
+//
+// Formato (little-endian):
+//   cabeçalho:   magic "SNAP", versão, tamanho, mtime e hash do CSV de origem (0 fora
+//                de Validacao.CONTEUDO), linhas, quantidade de colunas e de permutações
+//   coluna:      nome, tipo (1 int, 2 long, 3 texto) e os valores; texto é
+//                long[linhas + 1] de deslocamentos seguido dos bytes UTF-8
+//   permutação:  nome da coluna e int[linhas]
+//
+// O snapshot é descartado e refeito quando o CSV muda: por padrão basta o tamanho ou a
+// data de modificação serem diferentes; com Validacao.CONTEUDO o hash do conteúdo
+// também é conferido (lê o CSV inteiro, mas continua sem analisar). Arquivo truncado,
+// de outra versão ou de outro CSV também é refeito. A gravação vai para um temporário
+// e depois é movida por cima, então um .bin pela metade nunca é lido.
+//
+// Uso: java SnapshotColunar [arquivo.csv] [coluna]
+public class SnapshotColunar {
+
+    static final int MAGIC = 0x50414E53; // "SNAP" em little-endian
+    static final int VERSAO = 1;
+    static final String[] PERMUTACOES_PADRAO = {"prioridade", "data"};
+
+    private static final byte TIPO_INT = 1;
+    private static final byte TIPO_LONG = 2;
+    private static final byte TIPO_TEXTO = 3;
+    private static final int TAM_BUFFER = 1 << 20;
+
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfShort SHORT = ValueLayout.JAVA_SHORT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+    public enum Validacao { TAMANHO_E_DATA, CONTEUDO }
+
+    // Como o CSV vira tabela quando o snapshot não serve
+    public interface Carregador {
+        TabelaColunar carregar(Path csv) throws IOException;
+    }
+
+    private final Path arquivo;
+    private final Origem origem;
+    private final TabelaColunar tabela;
+    private final Map<String, int[]> permutacoes;
+    private final boolean doCache;
+
+    // identifica a versão do CSV que gerou o snapshot
+    private static final class Origem {
+        final long tamanho;
+        final long modificacao;
+        final long hash;
+
+        Origem(long tamanho, long modificacao, long hash) {
+            this.tamanho = tamanho;
+            this.modificacao = modificacao;
+            this.hash = hash;
+        }
+
+        // dados gravados a partir de 'anterior' valem para esta origem; sem hash (0)
+        // a anterior não garante o conteúdo que esta afirma
+        boolean aceita(Origem anterior) {
+            return tamanho == anterior.tamanho && modificacao == anterior.modificacao
+                    && (hash == 0 || hash == anterior.hash);
+        }
+    }
+
+    private SnapshotColunar(Path arquivo, Origem origem, TabelaColunar tabela,
+                            Map<String, int[]> permutacoes, boolean doCache) {
+        this.arquivo = arquivo;
+        this.origem = origem;
+        this.tabela = tabela;
+        this.permutacoes = permutacoes;
+        this.doCache = doCache;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path csv = Paths.get(args.length > 0 ? args[0] : "data/dados.csv");
+        String coluna = args.length > 1 ? args[1] : "prioridade";
+        long inicio = System.nanoTime();
+        SnapshotColunar s = abrir(csv);
+        long carregado = System.nanoTime();
+        Registro[] ordenados = s.registrosOrdenadosPor(coluna);
+        long fim = System.nanoTime();
+        System.out.printf("✓ %d linhas %s em %.1f ms; ordenadas por %s em %.1f ms (%s)%n",
+                s.tabela.tamanho(), s.doCache ? "do snapshot" : "do CSV (snapshot gravado)",
+                (carregado - inicio) / 1e6, coluna, (fim - carregado) / 1e6, s.arquivo);
+        for (int i = 0; i < Math.min(3, ordenados.length); i++) {
+            Registro r = ordenados[i];
+            System.out.printf("  id=%d nome=%s prioridade=%d data=%s%n", r.id, r.nome, r.prioridade, r.data);
+        }
+    }
+
+    // ========== ABERTURA ==========
+
+    // data/dados.csv -> data/dados.bin, validado por tamanho e data de modificação
+    public static SnapshotColunar abrir(Path csv) throws IOException {
+        return abrir(csv, caminhoPadrao(csv), Validacao.TAMANHO_E_DATA);
+    }
+
+    public static SnapshotColunar abrir(Path csv, Path snapshot, Validacao validacao) throws IOException {
+        String[] todas = LeitorEsquema.GERAR_CSV.nomes().toArray(new String[0]);
+        return abrir(csv, snapshot, validacao, todas, c -> {
+            try (LeitorCSVMapeado.Colunas colunas = LeitorCSVMapeado.lerParalelo(c)) {
+                return colunas.paraTabela();
+            }
+        }, PERMUTACOES_PADRAO);
+    }
+
+    // Só as colunas pedidas, carregadas com projeção pelo LeitorEsquema. Um snapshot
+    // com mais colunas (ex: o completo) também serve.
+    public static SnapshotColunar abrir(Path csv, Path snapshot, Validacao validacao,
+                                        LeitorEsquema.Esquema esquema, String... colunas) throws IOException {
+        return abrir(csv, snapshot, validacao, colunas, c -> LeitorEsquema.ler(c, esquema, colunas),
+                PERMUTACOES_PADRAO);
+    }
+
+    // Usa o snapshot se ele corresponder ao CSV atual e tiver as colunas necessárias
+    // (vazio: todas as que houver; só as necessárias são lidas); senão carrega o CSV,
+    // calcula as permutações pedidas e grava o snapshot, mantendo o que o anterior
+    // tinha de aproveitável.
+    public static SnapshotColunar abrir(Path csv, Path snapshot, Validacao validacao, String[] necessarias,
+                                        Carregador carregador, String... permutacoesIniciais) throws IOException {
+        // a origem é lida antes do CSV: se ele mudar durante a carga, o snapshot já
+        // nasce desatualizado e é refeito na próxima vez, nunca o contrário
+        Origem atual = origem(csv, validacao);
+        if (Files.exists(snapshot)) {
+            SnapshotColunar s = ler(snapshot, atual, validacao, necessarias);
+            if (s != null && temColunas(s.tabela, necessarias)) return s;
+        }
+        TabelaColunar tabela = carregador.carregar(csv);
+        Map<String, int[]> permutacoes = new LinkedHashMap<>();
+        for (String coluna : permutacoesIniciais) {
+            if (tabela.temColuna(coluna)) permutacoes.put(coluna, tabela.argsort(coluna));
+        }
+        SnapshotColunar s = new SnapshotColunar(snapshot, atual, tabela, permutacoes, false);
+        s.gravar();
+        return s;
+    }
+
+    private static boolean temColunas(TabelaColunar tabela, String[] necessarias) {
+        for (String c : necessarias) {
+            if (!tabela.temColuna(c)) return false;
+        }
+        return true;
+    }
+
+    static Path caminhoPadrao(Path csv) {
+        String nome = csv.getFileName().toString();
+        int ponto = nome.lastIndexOf('.');
+        return csv.resolveSibling((ponto > 0 ? nome.substring(0, ponto) : nome) + ".bin");
+    }
+
+    private static Origem origem(Path csv, Validacao validacao) throws IOException {
+        long tamanho = Files.size(csv);
+        long modificacao = Files.getLastModifiedTime(csv).toMillis();
+        return new Origem(tamanho, modificacao, validacao == Validacao.CONTEUDO ? hash(csv) : 0);
+    }
+
+    // ========== CONSULTAS ==========
+
+    public TabelaColunar tabela() {
+        return tabela;
+    }
+
+    // true se os dados vieram do .bin, false se o CSV precisou ser analisado
+    public boolean doCache() {
+        return doCache;
+    }
+
+    public boolean temPermutacao(String coluna) {
+        return permutacoes.containsKey(coluna);
+    }
+
+    // Permutação estável que ordena a coluna; se ainda não estiver no snapshot, é
+    // calculada agora e o snapshot é regravado com ela.
+    public int[] permutacao(String coluna) throws IOException {
+        int[] perm = permutacoes.get(coluna);
+        if (perm == null) {
+            perm = tabela.argsort(coluna);
+            permutacoes.put(coluna, perm);
+            gravar();
+        }
+        return perm;
+    }
+
+    // Registros na ordem do arquivo (exige o esquema de GerarCSV)
+    public Registro[] registros() {
+        int[] identidade = new int[tabela.tamanho()];
+        for (int i = 0; i < identidade.length; i++) identidade[i] = i;
+        return tabela.paraRegistros(identidade);
+    }
+
+    // Mesmo resultado de uma ordenação estável dos registros pela coluna
+    public Registro[] registrosOrdenadosPor(String coluna) throws IOException {
+        return tabela.paraRegistros(permutacao(coluna));
+    }
+
+    // ========== GRAVAÇÃO ==========
+
+    private void gravar() throws IOException {
+        Path temporario = arquivo.resolveSibling(arquivo.getFileName() + ".tmp");
+        try (Arena arena = Arena.ofConfined()) {
+            Aproveitavel anterior = aproveitavel(arena);
+            try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                Escritor e = new Escritor(canal);
+                List<String> nomes = new ArrayList<>();
+                for (String nome : tabela.nomesColunas()) nomes.add(nome);
+                e.inteiro(MAGIC);
+                e.inteiro(VERSAO);
+                e.longo(origem.tamanho);
+                e.longo(origem.modificacao);
+                e.longo(origem.hash);
+                e.inteiro(tabela.tamanho());
+                e.inteiro(nomes.size() + anterior.colunas.size());
+                e.inteiro(permutacoes.size() + anterior.permutacoes.size());
+                for (String nome : nomes) {
+                    e.texto(nome);
+                    Object valores = tabela.valores(nome);
+                    if (valores instanceof int[]) {
+                        e.byteSimples(TIPO_INT);
+                        e.inteiros((int[]) valores);
+                    } else if (valores instanceof long[]) {
+                        e.byteSimples(TIPO_LONG);
+                        e.longos((long[]) valores);
+                    } else {
+                        e.byteSimples(TIPO_TEXTO);
+                        e.textos((String[]) valores);
+                    }
+                }
+                for (long[] bloco : anterior.colunas) e.copiar(anterior.seg, bloco[0], bloco[1]);
+                for (Map.Entry<String, int[]> p : permutacoes.entrySet()) {
+                    e.texto(p.getKey());
+                    e.inteiros(p.getValue());
+                }
+                for (long[] bloco : anterior.permutacoes) e.copiar(anterior.seg, bloco[0], bloco[1]);
+                e.descarregar();
+            }
+        }
+        Files.move(temporario, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Colunas e permutações do .bin atual que este snapshot não tem em memória, como
+    // intervalos [de, ate) de bytes (nome incluído) para copiar sem decodificar
+    private static final class Aproveitavel {
+        static final Aproveitavel NADA = new Aproveitavel(null);
+
+        final MemorySegment seg;
+        final List<long[]> colunas = new ArrayList<>();
+        final List<long[]> permutacoes = new ArrayList<>();
+
+        Aproveitavel(MemorySegment seg) {
+            this.seg = seg;
+        }
+    }
+
+    // Só aproveita um .bin da mesma versão do CSV e com o mesmo número de linhas
+    private Aproveitavel aproveitavel(Arena arena) throws IOException {
+        if (!Files.exists(arquivo)) return Aproveitavel.NADA;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MemorySegment seg = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+            Leitor l = new Leitor(seg);
+            if (l.inteiro() != MAGIC || l.inteiro() != VERSAO) return Aproveitavel.NADA;
+            if (!origem.aceita(new Origem(l.longo(), l.longo(), l.longo()))) return Aproveitavel.NADA;
+            int linhas = l.inteiro();
+            int qtdColunas = l.inteiro();
+            int qtdPermutacoes = l.inteiro();
+            if (linhas != tabela.tamanho() || qtdColunas < 0 || qtdPermutacoes < 0) return Aproveitavel.NADA;
+            Aproveitavel a = new Aproveitavel(seg);
+            for (int c = 0; c < qtdColunas; c++) {
+                long inicio = l.posicao;
+                String nome = l.texto();
+                if (!l.pular(l.byteSimples(), linhas)) return Aproveitavel.NADA;
+                if (!tabela.temColuna(nome)) a.colunas.add(new long[]{inicio, l.posicao});
+            }
+            for (int p = 0; p < qtdPermutacoes; p++) {
+                long inicio = l.posicao;
+                String nome = l.texto();
+                l.pular(TIPO_INT, linhas);
+                if (!permutacoes.containsKey(nome)) a.permutacoes.add(new long[]{inicio, l.posicao});
+            }
+            return l.posicao == seg.byteSize() ? a : Aproveitavel.NADA;
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            // .bin corrompido: nada a aproveitar
+            return Aproveitavel.NADA;
+        }
+    }
+
+    // ByteBuffer reaproveitado, esvaziado no canal sempre que enche
+    private static final class Escritor {
+        final FileChannel canal;
+        final ByteBuffer bytes = ByteBuffer.allocateDirect(TAM_BUFFER).order(ByteOrder.LITTLE_ENDIAN);
+
+        Escritor(FileChannel canal) {
+            this.canal = canal;
+        }
+
+        void garantir(int n) throws IOException {
+            if (bytes.remaining() < n) descarregar();
+        }
+
+        void descarregar() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) canal.write(bytes);
+            bytes.clear();
+        }
+
+        void byteSimples(byte v) throws IOException {
+            garantir(1);
+            bytes.put(v);
+        }
+
+        void inteiro(int v) throws IOException {
+            garantir(Integer.BYTES);
+            bytes.putInt(v);
+        }
+
+        void longo(long v) throws IOException {
+            garantir(Long.BYTES);
+            bytes.putLong(v);
+        }
+
+        void texto(String s) throws IOException {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            if (b.length > Short.MAX_VALUE) throw new IllegalArgumentException("Nome longo demais: " + s);
+            garantir(Short.BYTES + b.length);
+            bytes.putShort((short) b.length);
+            bytes.put(b);
+        }
+
+        void inteiros(int[] v) throws IOException {
+            for (int i = 0; i < v.length; ) {
+                garantir(Integer.BYTES);
+                int qtd = Math.min(v.length - i, bytes.remaining() / Integer.BYTES);
+                bytes.asIntBuffer().put(v, i, qtd);
+                bytes.position(bytes.position() + qtd * Integer.BYTES);
+                i += qtd;
+            }
+        }
+
+        void longos(long[] v) throws IOException {
+            for (int i = 0; i < v.length; ) {
+                garantir(Long.BYTES);
+                int qtd = Math.min(v.length - i, bytes.remaining() / Long.BYTES);
+                bytes.asLongBuffer().put(v, i, qtd);
+                bytes.position(bytes.position() + qtd * Long.BYTES);
+                i += qtd;
+            }
+        }
+
+        // bytes [de, ate) de outro snapshot, como estão
+        void copiar(MemorySegment origem, long de, long ate) throws IOException {
+            while (de < ate) {
+                garantir(1);
+                int qtd = (int) Math.min(ate - de, bytes.remaining());
+                bytes.put(origem.asSlice(de, qtd).asByteBuffer());
+                de += qtd;
+            }
+        }
+
+        // deslocamentos primeiro (para a leitura achar cada texto sem varrer), depois os bytes
+        void textos(String[] v) throws IOException {
+            byte[][] codificados = new byte[v.length][];
+            long[] deslocamentos = new long[v.length + 1];
+            for (int i = 0; i < v.length; i++) {
+                codificados[i] = v[i].getBytes(StandardCharsets.UTF_8);
+                deslocamentos[i + 1] = deslocamentos[i] + codificados[i].length;
+            }
+            longos(deslocamentos);
+            for (byte[] b : codificados) {
+                for (int i = 0; i < b.length; ) {
+                    garantir(1);
+                    int qtd = Math.min(b.length - i, bytes.remaining());
+                    bytes.put(b, i, qtd);
+                    i += qtd;
+                }
+            }
+        }
+    }
+
+    // ========== LEITURA ==========
+
+    // null se o snapshot não corresponder ao CSV atual ou estiver corrompido. Com
+    // colunas, só elas (e as permutações delas) são lidas; as outras são puladas.
+    private static SnapshotColunar ler(Path snapshot, Origem atual, Validacao validacao, String[] colunas)
+            throws IOException {
+        Set<String> pedidas = new HashSet<>(Arrays.asList(colunas));
+        try (Arena arena = Arena.ofConfined();
+             FileChannel canal = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MemorySegment seg = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size(), arena);
+            Leitor l = new Leitor(seg);
+            if (l.inteiro() != MAGIC || l.inteiro() != VERSAO) return null;
+            Origem gravada = new Origem(l.longo(), l.longo(), l.longo());
+            if (gravada.tamanho != atual.tamanho || gravada.modificacao != atual.modificacao) return null;
+            if (validacao == Validacao.CONTEUDO && gravada.hash != atual.hash) return null;
+
+            int linhas = l.inteiro();
+            int qtdColunas = l.inteiro();
+            int qtdPermutacoes = l.inteiro();
+            if (linhas < 0 || qtdColunas < 0 || qtdPermutacoes < 0) return null;
+            if ((long) linhas * Integer.BYTES > seg.byteSize()) return null;
+            TabelaColunar tabela = new TabelaColunar(linhas);
+            for (int c = 0; c < qtdColunas; c++) {
+                String nome = l.texto();
+                byte tipo = l.byteSimples();
+                if (!pedidas.isEmpty() && !pedidas.contains(nome)) {
+                    if (!l.pular(tipo, linhas)) return null;
+                    continue;
+                }
+                switch (tipo) {
+                    case TIPO_INT:
+                        tabela.adicionar(nome, l.inteiros(linhas));
+                        break;
+                    case TIPO_LONG:
+                        tabela.adicionar(nome, l.longos(linhas));
+                        break;
+                    case TIPO_TEXTO:
+                        tabela.adicionar(nome, l.textos(linhas));
+                        break;
+                    default:
+                        return null;
+                }
+            }
+            Map<String, int[]> permutacoes = new LinkedHashMap<>();
+            for (int p = 0; p < qtdPermutacoes; p++) {
+                String nome = l.texto();
+                if (tabela.temColuna(nome)) permutacoes.put(nome, l.inteiros(linhas));
+                else l.pular(TIPO_INT, linhas);
+            }
+            if (l.posicao != seg.byteSize()) return null;
+            return new SnapshotColunar(snapshot, gravada, tabela, permutacoes, true);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | ArithmeticException e) {
+            // truncado ou com tamanhos impossíveis: trata como ausente e refaz
+            return null;
+        }
+    }
+
+    // Cursor sobre o mapeamento; os vetores saem com MemorySegment.copy (cópia em bloco)
+    private static final class Leitor {
+        final MemorySegment seg;
+        long posicao;
+
+        Leitor(MemorySegment seg) {
+            this.seg = seg;
+        }
+
+        byte byteSimples() {
+            return seg.get(ValueLayout.JAVA_BYTE, posicao++);
+        }
+
+        int inteiro() {
+            int v = seg.get(INT, posicao);
+            posicao += Integer.BYTES;
+            return v;
+        }
+
+        long longo() {
+            long v = seg.get(LONG, posicao);
+            posicao += Long.BYTES;
+            return v;
+        }
+
+        String texto() {
+            int tamanho = seg.get(SHORT, posicao) & 0xFFFF;
+            posicao += Short.BYTES;
+            byte[] b = new byte[tamanho];
+            MemorySegment.copy(seg, ValueLayout.JAVA_BYTE, posicao, b, 0, tamanho);
+            posicao += tamanho;
+            return new String(b, StandardCharsets.UTF_8);
+        }
+
+        int[] inteiros(int n) {
+            int[] v = new int[n];
+            MemorySegment.copy(seg, INT, posicao, v, 0, n);
+            posicao += (long) n * Integer.BYTES;
+            return v;
+        }
+
+        long[] longos(int n) {
+            long[] v = new long[n];
+            MemorySegment.copy(seg, LONG, posicao, v, 0, n);
+            posicao += (long) n * Long.BYTES;
+            return v;
+        }
+
+        // avança sobre os valores de uma coluna sem lê-los; false se o tipo não existe
+        boolean pular(byte tipo, int n) {
+            switch (tipo) {
+                case TIPO_INT:
+                    posicao += (long) n * Integer.BYTES;
+                    return true;
+                case TIPO_LONG:
+                    posicao += (long) n * Long.BYTES;
+                    return true;
+                case TIPO_TEXTO:
+                    // o último deslocamento é o total de bytes do texto
+                    long bytesTexto = seg.get(LONG, posicao + (long) n * Long.BYTES);
+                    if (bytesTexto < 0) throw new IllegalArgumentException("Deslocamento negativo");
+                    posicao += (long) (n + 1) * Long.BYTES + bytesTexto;
+                    return true;
+                default:
+                    return false;
+            }
+        }
+
+        // decodifica direto do mapeamento em blocos, sem copiar o texto inteiro para o heap
+        String[] textos(int n) {
+            long[] deslocamentos = longos(n + 1);
+            long base = posicao;
+            String[] v = new String[n];
+            byte[] b = new byte[64];
+            for (int i = 0; i < n; i++) {
+                long de = deslocamentos[i];
+                int tamanho = Math.toIntExact(deslocamentos[i + 1] - de);
+                if (tamanho > b.length) b = new byte[Math.max(tamanho, b.length * 2)];
+                MemorySegment.copy(seg, ValueLayout.JAVA_BYTE, base + de, b, 0, tamanho);
+                v[i] = new String(b, 0, tamanho, StandardCharsets.UTF_8);
+            }
+            posicao = base + deslocamentos[n];
+            return v;
+        }
+    }
+
+    // ========== HASH ==========
+
+    // Hash de 64 bits do conteúdo do CSV, 8 bytes por passo sobre o arquivo mapeado.
+    // Serve para detectar mudança, não como hash criptográfico.
+    static long hash(Path csv) throws IOException {
+        try (Arena arena = Arena.ofConfined();
+             FileChannel canal = FileChannel.open(csv, StandardOpenOption.READ)) {
+            long tamanho = canal.size();
+            MemorySegment seg = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanho, arena);
+            long h = 0x9E3779B97F4A7C15L ^ tamanho;
+            long p = 0;
+            for (; p + Long.BYTES <= tamanho; p += Long.BYTES) {
+                h = misturar(h, seg.get(LONG, p));
+            }
+            long resto = 0;
+            for (int i = 0; p < tamanho; p++, i += 8) {
+                resto |= (seg.get(ValueLayout.JAVA_BYTE, p) & 0xFFL) << i;
+            }
+            h = misturar(h, resto);
+            h ^= h >>> 33;
+            h *= 0xFF51AFD7ED558CCDL;
+            return h ^ (h >>> 33);
+        }
+    }
+
+    private static long misturar(long h, long v) {
+        v *= 0x87C37B91114253D5L;
+        v = Long.rotateLeft(v, 31);
+        h ^= v * 0x4CF5AD432745937FL;
+        return Long.rotateLeft(h, 27) * 5 + 0x52DCE729;
+    }
+}
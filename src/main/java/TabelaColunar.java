@@ -0,0 +1,207 @@
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Armazenamento em colunas (struct-of-arrays): cada campo vira um vetor primitivo.
+// Em vez de mover objetos, a ordenação devolve uma permutação de índices (argsort)
+// e qualquer coluna pode ser reunida nessa ordem depois (gather).
+public class TabelaColunar {
+
+    private final int tamanho;
+    // int[], long[] ou String[], na ordem em que foram adicionadas
+    private final Map<String, Object> colunas = new LinkedHashMap<>();
+
+    public TabelaColunar(int tamanho) {
+        this.tamanho = tamanho;
+    }
+
+    public int tamanho() {
+        return tamanho;
+    }
+
+    // ========== ESQUEMAS ==========
+
+    // Esquema do CSV de GerarCSV: id,nome,cpf,prioridade,data (data em dias desde 1970)
+    public static TabelaColunar deRegistros(Registro[] registros) {
+        int n = registros.length;
+        int[] id = new int[n];
+        String[] nome = new String[n];
+        String[] cpf = new String[n];
+        int[] prioridade = new int[n];
+        int[] data = new int[n];
+        for (int i = 0; i < n; i++) {
+            Registro r = registros[i];
+            id[i] = r.id;
+            nome[i] = r.nome;
+            cpf[i] = r.cpf;
+            prioridade[i] = r.prioridade;
+            data[i] = Registro.diaEpoch(r.data);
+        }
+        TabelaColunar t = new TabelaColunar(n);
+        t.adicionar("id", id);
+        t.adicionar("nome", nome);
+        t.adicionar("cpf", cpf);
+        t.adicionar("prioridade", prioridade);
+        t.adicionar("data", data);
+        return t;
+    }
+
+    // Esquema do Main: id,valor,categoria,timestamp
+    public static TabelaColunar deRegistrosMain(List<Main.Registro> registros) {
+        int n = registros.size();
+        int[] id = new int[n];
+        int[] valor = new int[n];
+        String[] categoria = new String[n];
+        long[] timestamp = new long[n];
+        for (int i = 0; i < n; i++) {
+            Main.Registro r = registros.get(i);
+            id[i] = r.id;
+            valor[i] = r.valor;
+            categoria[i] = r.categoria;
+            timestamp[i] = r.timestamp;
+        }
+        TabelaColunar t = new TabelaColunar(n);
+        t.adicionar("id", id);
+        t.adicionar("valor", valor);
+        t.adicionar("categoria", categoria);
+        t.adicionar("timestamp", timestamp);
+        return t;
+    }
+
+    // Reconstrói os Registro na ordem da permutação (esquema de GerarCSV). Uma coluna
+    // que ficou fora de uma projeção (LeitorEsquema) sai vazia: 0 ou "".
+    public Registro[] paraRegistros(int[] perm) {
+        int[] id = temColuna("id") ? colunaInt("id") : null;
+        String[] nome = temColuna("nome") ? colunaTexto("nome") : null;
+        String[] cpf = temColuna("cpf") ? colunaTexto("cpf") : null;
+        int[] prioridade = temColuna("prioridade") ? colunaInt("prioridade") : null;
+        int[] data = temColuna("data") ? colunaInt("data") : null;
+        Registro[] saida = new Registro[perm.length];
+        // poucas datas distintas: uma String por dia em vez de uma por linha
+        Map<Integer, String> datas = new HashMap<>();
+        for (int i = 0; i < perm.length; i++) {
+            int j = perm[i];
+            String d = data == null ? "" : datas.computeIfAbsent(data[j], Registro::dataIso);
+            saida[i] = new Registro(id == null ? 0 : id[j], nome == null ? "" : nome[j],
+                    cpf == null ? "" : cpf[j], prioridade == null ? 0 : prioridade[j], d);
+        }
+        return saida;
+    }
+
+    // ========== COLUNAS ==========
+
+    public void adicionar(String nome, int[] valores) {
+        adicionarColuna(nome, valores, valores.length);
+    }
+
+    public void adicionar(String nome, long[] valores) {
+        adicionarColuna(nome, valores, valores.length);
+    }
+
+    public void adicionar(String nome, String[] valores) {
+        adicionarColuna(nome, valores, valores.length);
+    }
+
+    private void adicionarColuna(String nome, Object valores, int comprimento) {
+        if (comprimento != tamanho) {
+            throw new IllegalArgumentException("Coluna '" + nome + "' tem " + comprimento
+                    + " linhas, a tabela tem " + tamanho);
+        }
+        colunas.put(nome, valores);
+    }
+
+    public boolean temColuna(String nome) {
+        return colunas.containsKey(nome);
+    }
+
+    public Iterable<String> nomesColunas() {
+        return colunas.keySet();
+    }
+
+    public int[] colunaInt(String nome) {
+        return coluna(nome, int[].class);
+    }
+
+    public long[] colunaLong(String nome) {
+        return coluna(nome, long[].class);
+    }
+
+    public String[] colunaTexto(String nome) {
+        return coluna(nome, String[].class);
+    }
+
+    // o vetor da coluna como está guardado (int[], long[] ou String[]), ou null
+    Object valores(String nome) {
+        return colunas.get(nome);
+    }
+
+    private <T> T coluna(String nome, Class<T> tipo) {
+        Object c = colunas.get(nome);
+        if (c == null) throw new IllegalArgumentException("Coluna inexistente: " + nome);
+        if (!tipo.isInstance(c)) {
+            throw new IllegalArgumentException("Coluna '" + nome + "' não é " + tipo.getSimpleName());
+        }
+        return tipo.cast(c);
+    }
+
+    // ========== ARGSORT ==========
+
+    // Permutação estável que ordena a coluna em ordem crescente
+    public int[] argsort(String nome) {
+        Object c = colunas.get(nome);
+        if (c instanceof int[]) return new RadixSort(11).argsort((int[]) c);
+        if (c instanceof long[]) return new RadixSort(16).argsort((long[]) c);
+        if (c instanceof String[]) return new RadixSort(11).argsort(rankDenso((String[]) c));
+        throw new IllegalArgumentException("Coluna inexistente: " + nome);
+    }
+
+    // Troca cada texto pela posição dele entre os valores distintos ordenados.
+    // As comparações de String acontecem só uma vez aqui; daí em diante é tudo int.
+    static int[] rankDenso(String[] coluna) {
+        String[] distintos = coluna.clone();
+        Arrays.sort(distintos);
+        int m = 0;
+        for (int i = 0; i < distintos.length; i++) {
+            if (m == 0 || !distintos[i].equals(distintos[m - 1])) distintos[m++] = distintos[i];
+        }
+        int[] rank = new int[coluna.length];
+        for (int i = 0; i < coluna.length; i++) {
+            rank[i] = Arrays.binarySearch(distintos, 0, m, coluna[i]);
+        }
+        return rank;
+    }
+
+    // ========== GATHER ==========
+
+    // Nova tabela com todas as colunas reunidas na ordem da permutação
+    public TabelaColunar reordenada(int[] perm) {
+        TabelaColunar t = new TabelaColunar(perm.length);
+        for (Map.Entry<String, Object> e : colunas.entrySet()) {
+            Object c = e.getValue();
+            if (c instanceof int[]) t.adicionar(e.getKey(), reunir((int[]) c, perm));
+            else if (c instanceof long[]) t.adicionar(e.getKey(), reunir((long[]) c, perm));
+            else t.adicionar(e.getKey(), reunir((String[]) c, perm));
+        }
+        return t;
+    }
+
+    public static int[] reunir(int[] coluna, int[] perm) {
+        int[] saida = new int[perm.length];
+        for (int i = 0; i < perm.length; i++) saida[i] = coluna[perm[i]];
+        return saida;
+    }
+
+    public static long[] reunir(long[] coluna, int[] perm) {
+        long[] saida = new long[perm.length];
+        for (int i = 0; i < perm.length; i++) saida[i] = coluna[perm[i]];
+        return saida;
+    }
+
+    public static <T> T[] reunir(T[] coluna, int[] perm) {
+        T[] saida = Arrays.copyOf(coluna, perm.length);
+        for (int i = 0; i < perm.length; i++) saida[i] = coluna[perm[i]];
+        return saida;
+    }
+}
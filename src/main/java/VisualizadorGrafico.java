@@ -46,6 +46,7 @@ public class VisualizadorGrafico extends JFrame {
 
     private JSlider sliderVelocidade;
     private JSlider sliderTamanho;
+    private JComboBox<PerfilDistribuicao> comboPerfil;
 
     private AtomicBoolean pausado    = new AtomicBoolean(false);
     private AtomicBoolean executando = new AtomicBoolean(false);
@@ -143,6 +144,11 @@ public class VisualizadorGrafico extends JFrame {
         sliderTamanho.setMajorTickSpacing(1000);
         sliderTamanho.setPaintLabels(true);
 
+        // Distribuição dos valores (ordenado, zipf, adversário do quicksort...)
+        comboPerfil = new JComboBox<>(PerfilDistribuicao.values());
+        comboPerfil.setFont(new Font("Segoe UI", Font.PLAIN, 13));
+        comboPerfil.setToolTipText("Distribuição dos valores gerados");
+
         // Ações
         btnQuickSort.addActionListener(e -> iniciarOrdenacao("Quick Sort"));
         btnMergeSort.addActionListener(e -> iniciarOrdenacao("Merge Sort"));
@@ -159,6 +165,12 @@ public class VisualizadorGrafico extends JFrame {
                 painelOrdenacao.resetArray();
             }
         });
+
+        comboPerfil.addActionListener(e -> {
+            if (!executando.get()) {
+                painelOrdenacao.setPerfil((PerfilDistribuicao) comboPerfil.getSelectedItem());
+            }
+        });
     }
 
     // ======================= HELPERS UI =======================
@@ -293,6 +305,9 @@ public class VisualizadorGrafico extends JFrame {
         painelSliders.add(Box.createHorizontalStrut(20));
         painelSliders.add(criarLabel("ELEMENTOS:", 13, Font.BOLD, TEXT_MUTED));
         painelSliders.add(sliderTamanho);
+        painelSliders.add(Box.createHorizontalStrut(20));
+        painelSliders.add(criarLabel("DISTRIBUIÇÃO:", 13, Font.BOLD, TEXT_MUTED));
+        painelSliders.add(comboPerfil);
 
         painelControles.add(painelBotoes, BorderLayout.NORTH);
         painelControles.add(painelSliders, BorderLayout.SOUTH);
@@ -346,7 +361,7 @@ public class VisualizadorGrafico extends JFrame {
 
             SwingUtilities.invokeLater(() -> {
                 ResultadoOrdenacao resultado = new ResultadoOrdenacao(
-                        algoritmo,
+                        algoritmo + " (" + painelOrdenacao.perfil + ")",
                         painelOrdenacao.array.length,
                         painelOrdenacao.comparacoes,
                         painelOrdenacao.trocas,
@@ -455,6 +470,7 @@ public class VisualizadorGrafico extends JFrame {
         btnReset.setEnabled(true);
         btnRelatorio.setEnabled(!desabilitar);
         sliderTamanho.setEnabled(!desabilitar);
+        comboPerfil.setEnabled(!desabilitar);
     }
 
     // ====================== PAINEL DE ORDENAÇÃO ======================
@@ -466,6 +482,7 @@ public class VisualizadorGrafico extends JFrame {
         private int tamanho     = 100;
         private int velocidade  = 50;
         private String algoritmo = "";
+        private PerfilDistribuicao perfil = PerfilDistribuicao.UNIFORME;
         int comparacoes = 0;
         int trocas      = 0;
 
@@ -479,6 +496,11 @@ public class VisualizadorGrafico extends JFrame {
             resetArray();
         }
 
+        public void setPerfil(PerfilDistribuicao perfil) {
+            this.perfil = perfil;
+            resetArray();
+        }
+
         public void setVelocidade(int velocidade) {
             this.velocidade = velocidade;
         }
@@ -490,14 +512,13 @@ public class VisualizadorGrafico extends JFrame {
         }
 
         public void resetArray() {
-            array  = new int[tamanho];
             colors = new int[tamanho];
-            Random rand = new Random();
             int maxH = (getHeight() > 0) ? getHeight() : 400;
 
+            // semente nova a cada reset; o perfil decide a forma dos dados
+            array = perfil.gerar(tamanho, Math.max(50, maxH - 50), new Random().nextLong());
             for (int i = 0; i < tamanho; i++) {
-                array[i]  = rand.nextInt(Math.max(50, maxH - 50)) + 10;
-                colors[i] = 0;
+                array[i] += 10;
             }
             comparacoes = 0;
             trocas      = 0;
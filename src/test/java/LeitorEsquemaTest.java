@@ -0,0 +1,142 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// LeitorEsquema: linhas curtas, CRLF, BOM, apelidos e projeção
+class LeitorEsquemaTest {
+
+    @TempDir
+    Path pasta;
+
+    private Path csv(String conteudo) throws IOException {
+        return csv(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path csv(byte[] conteudo) throws IOException {
+        Path arquivo = pasta.resolve("dados.csv");
+        Files.write(arquivo, conteudo);
+        return arquivo;
+    }
+
+    // ========== LINHAS CURTAS ==========
+
+    @Test
+    void linhaCurtaIgnoradaEmQualquerProjecao() throws IOException {
+        Path arquivo = csv("id,nome,cpf,prioridade,data\n"
+                + "1,Ana,123,2,2024-01-02\n"
+                + "2,Bia,456\n"
+                + "3,Caio,789,1,2024-01-03\n");
+
+        TabelaColunar idPrioridade = LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV, "id", "prioridade");
+        TabelaColunar idCpf = LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV, "id", "cpf");
+        TabelaColunar completa = LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV);
+
+        assertArrayEquals(new int[]{1, 3}, idPrioridade.colunaInt("id"));
+        assertArrayEquals(new int[]{2, 1}, idPrioridade.colunaInt("prioridade"));
+        assertArrayEquals(new int[]{1, 3}, idCpf.colunaInt("id"));
+        assertArrayEquals(new String[]{"123", "789"}, idCpf.colunaTexto("cpf"));
+        assertArrayEquals(new int[]{1, 3}, completa.colunaInt("id"));
+    }
+
+    @Test
+    void linhaVaziaEUltimaLinhaSemQuebra() throws IOException {
+        Path arquivo = csv("id,nome,cpf,prioridade,data\n"
+                + "1,Ana,123,2,2024-01-02\n"
+                + "\n"
+                + "2,Bia,456,3,2024-01-05");
+
+        TabelaColunar t = LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV, "id", "data");
+
+        assertArrayEquals(new int[]{1, 2}, t.colunaInt("id"));
+        assertArrayEquals(new int[]{Registro.diaEpoch("2024-01-02"), Registro.diaEpoch("2024-01-05")},
+                t.colunaInt("data"));
+    }
+
+    // ========== CRLF E BOM ==========
+
+    @Test
+    void quebrasCRLF() throws IOException {
+        Path arquivo = csv("id,nome,cpf,prioridade,data\r\n"
+                + "1,Ana,123,2,2024-01-02\r\n"
+                + "2,Bia,456\r\n"
+                + "3,Caio,789,1,2024-01-03\r\n");
+
+        TabelaColunar t = LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV);
+
+        assertArrayEquals(new int[]{1, 3}, t.colunaInt("id"));
+        assertArrayEquals(new String[]{"Ana", "Caio"}, t.colunaTexto("nome"));
+        assertArrayEquals(new int[]{Registro.diaEpoch("2024-01-02"), Registro.diaEpoch("2024-01-03")},
+                t.colunaInt("data"));
+    }
+
+    @Test
+    void cabecalhoComBOM() throws IOException {
+        byte[] corpo = "id,nome,cpf,prioridade,data\n1,Ana,123,2,2024-01-02\n".getBytes(StandardCharsets.UTF_8);
+        byte[] conteudo = new byte[corpo.length + 3];
+        conteudo[0] = (byte) 0xEF;
+        conteudo[1] = (byte) 0xBB;
+        conteudo[2] = (byte) 0xBF;
+        System.arraycopy(corpo, 0, conteudo, 3, corpo.length);
+
+        TabelaColunar t = LeitorEsquema.ler(csv(conteudo), LeitorEsquema.GERAR_CSV, "id");
+
+        assertArrayEquals(new int[]{1}, t.colunaInt("id"));
+    }
+
+    // ========== ESQUEMA ==========
+
+    @Test
+    void apelidosECabecalhoForaDeOrdem() throws IOException {
+        Path arquivo = csv("data, Prioridade ,nome,id,cpf\n2024-01-02,4,Ana,7,123\n");
+
+        TabelaColunar t = LeitorEsquema.ler(arquivo, LeitorEsquema.MAIN);
+
+        assertArrayEquals(new int[]{7}, t.colunaInt("id"));
+        assertArrayEquals(new int[]{4}, t.colunaInt("valor"));
+        assertArrayEquals(new String[]{"Ana"}, t.colunaTexto("categoria"));
+        assertArrayEquals(new long[]{Registro.diaEpoch("2024-01-02") * 86_400L}, t.colunaLong("timestamp"));
+    }
+
+    @Test
+    void projecaoSoTemAsColunasPedidas() throws IOException {
+        Path arquivo = csv("id,nome,cpf,prioridade,data\n1,Ana,123,2,2024-01-02\n");
+
+        TabelaColunar t = LeitorEsquema.ler(arquivo, LeitorEsquema.GERAR_CSV, "prioridade");
+
+        assertEquals(1, t.tamanho());
+        assertFalse(t.temColuna("id"));
+        assertFalse(t.temColuna("nome"));
+    }
+
+    @Test
+    void temColunasOlhaSoOCabecalho() throws IOException {
+        Path arquivo = csv("id,valor,categoria,timestamp\n1x,5,A,2024-01-02\n");
+
+        assertTrue(LeitorEsquema.temColunas(arquivo, LeitorEsquema.MAIN, "id", "valor"));
+        assertFalse(LeitorEsquema.temColunas(arquivo, LeitorEsquema.GERAR_CSV, "id", "prioridade"));
+        assertFalse(LeitorEsquema.temColunas(arquivo, LeitorEsquema.MAIN, "inexistente"));
+    }
+
+    @Test
+    void erros() throws IOException {
+        Path semData = csv("id,nome,cpf,prioridade\n1,Ana,123,2\n");
+        assertThrows(IllegalArgumentException.class,
+                () -> LeitorEsquema.ler(semData, LeitorEsquema.GERAR_CSV, "data"));
+        assertThrows(IllegalArgumentException.class,
+                () -> LeitorEsquema.ler(semData, LeitorEsquema.GERAR_CSV, "inexistente"));
+
+        Path numeroRuim = csv("id,nome,cpf,prioridade,data\n1x,Ana,123,2,2024-01-02\n");
+        assertThrows(NumberFormatException.class,
+                () -> LeitorEsquema.ler(numeroRuim, LeitorEsquema.GERAR_CSV, "id"));
+    }
+}
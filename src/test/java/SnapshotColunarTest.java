@@ -0,0 +1,82 @@
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+// SnapshotColunar: aberturas projetadas leem só o pedido e não encolhem o .bin
+class SnapshotColunarTest {
+
+    @TempDir
+    Path pasta;
+
+    private Path csv;
+    private Path bin;
+
+    private void criarCsv() throws IOException {
+        csv = pasta.resolve("dados.csv");
+        bin = pasta.resolve("dados.bin");
+        Files.write(csv, ("id,nome,cpf,prioridade,data\n"
+                + "1,Ana,123,2,2024-01-02\n"
+                + "2,Bia,456,3,2024-01-05\n"
+                + "3,Caio,789,1,2024-01-03\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private SnapshotColunar abrir(SnapshotColunar.Validacao validacao, String... colunas) throws IOException {
+        return SnapshotColunar.abrir(csv, bin, validacao, LeitorEsquema.GERAR_CSV, colunas);
+    }
+
+    // ========== PROJEÇÃO ==========
+
+    @Test
+    void aberturaProjetadaDeSnapshotCompletoSoDecodificaOPedido() throws IOException {
+        criarCsv();
+        SnapshotColunar.abrir(csv, bin, SnapshotColunar.Validacao.TAMANHO_E_DATA);
+
+        SnapshotColunar s = abrir(SnapshotColunar.Validacao.TAMANHO_E_DATA, "id", "nome");
+
+        assertTrue(s.doCache());
+        assertArrayEquals(new int[]{1, 2, 3}, s.tabela().colunaInt("id"));
+        assertArrayEquals(new String[]{"Ana", "Bia", "Caio"}, s.tabela().colunaTexto("nome"));
+        assertFalse(s.tabela().temColuna("cpf"));
+        assertFalse(s.tabela().temColuna("data"));
+    }
+
+    @Test
+    void colunasQueFaltamSaoSomadasAoSnapshot() throws IOException {
+        criarCsv();
+        SnapshotColunar primeiro = abrir(SnapshotColunar.Validacao.TAMANHO_E_DATA, "id", "prioridade");
+        assertArrayEquals(new int[]{2, 0, 1}, primeiro.permutacao("prioridade"));
+
+        SnapshotColunar segundo = abrir(SnapshotColunar.Validacao.TAMANHO_E_DATA, "nome", "data");
+        assertFalse(segundo.doCache());
+
+        SnapshotColunar completo = abrir(SnapshotColunar.Validacao.TAMANHO_E_DATA,
+                "id", "nome", "prioridade", "data");
+        assertTrue(completo.doCache());
+        assertTrue(completo.temPermutacao("prioridade"));
+        assertArrayEquals(new int[]{2, 0, 1}, completo.permutacao("prioridade"));
+        assertArrayEquals(new int[]{2, 3, 1}, completo.tabela().colunaInt("prioridade"));
+        assertArrayEquals(new String[]{"Ana", "Bia", "Caio"}, completo.tabela().colunaTexto("nome"));
+    }
+
+    @Test
+    void csvAlteradoDescartaColunasAntigas() throws IOException {
+        criarCsv();
+        abrir(SnapshotColunar.Validacao.CONTEUDO, "id", "nome");
+        Files.write(csv, ("id,nome,cpf,prioridade,data\n"
+                + "1,Ana,123,2,2024-01-02\n").getBytes(StandardCharsets.UTF_8));
+
+        abrir(SnapshotColunar.Validacao.CONTEUDO, "prioridade");
+        SnapshotColunar s = abrir(SnapshotColunar.Validacao.CONTEUDO, "id", "nome");
+
+        assertFalse(s.doCache());
+        assertArrayEquals(new int[]{1}, s.tabela().colunaInt("id"));
+    }
+}